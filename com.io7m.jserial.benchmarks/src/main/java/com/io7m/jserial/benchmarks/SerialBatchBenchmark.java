@@ -0,0 +1,205 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.benchmarks;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.vector.SerialBatchIntType;
+import com.io7m.jserial.vector.SerialBatchLongType;
+import com.io7m.jserial.vector.SerialBatches;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks comparing the scalar and Vector API batch implementations.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Thread)
+public class SerialBatchBenchmark
+{
+  private static final int SIZE = 4096;
+
+  @Param({"true", "false"})
+  public boolean vector;
+
+  private SerialBatchIntType intBatch;
+  private SerialBatchLongType longBatch;
+  private int[] intX;
+  private int[] intY;
+  private int[] intOut;
+  private long[] longX;
+  private long[] longY;
+  private long[] longOut;
+  private boolean[] inRangeOut;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public SerialBatchBenchmark()
+  {
+
+  }
+
+  /**
+   * Set up the benchmark state.
+   */
+
+  @Setup
+  public void setup()
+  {
+    if (this.vector) {
+      if (!SerialBatches.isVectorAvailable()) {
+        throw new IllegalStateException("The Vector API is not available.");
+      }
+      this.intBatch = SerialBatches.ofInt(SerialNumber16.get());
+      this.longBatch = SerialBatches.ofLong(SerialNumber32.get());
+    } else {
+      this.intBatch = SerialBatches.scalarOfInt(SerialNumber16.get());
+      this.longBatch = SerialBatches.scalarOfLong(SerialNumber32.get());
+    }
+
+    final Random random = new Random(0x5e7a1L);
+    this.intX = new int[SIZE];
+    this.intY = new int[SIZE];
+    this.intOut = new int[SIZE];
+    this.longX = new long[SIZE];
+    this.longY = new long[SIZE];
+    this.longOut = new long[SIZE];
+    this.inRangeOut = new boolean[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      this.intX[index] = random.nextInt(1 << 16);
+      this.intY[index] = random.nextInt(1 << 16);
+      this.longX[index] = random.nextLong(1L << 32);
+      this.longY[index] = random.nextLong(1L << 32);
+    }
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] intAdd()
+  {
+    this.intBatch.add(this.intX, 1, this.intOut, 0, SIZE);
+    return this.intOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] intDistance()
+  {
+    this.intBatch.distance(this.intY[0], this.intX, this.intOut, 0, SIZE);
+    return this.intOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] intCompare()
+  {
+    this.intBatch.compare(this.intX, this.intY, this.intOut, 0, SIZE);
+    return this.intOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public boolean[] intInRange()
+  {
+    this.intBatch.inRange(this.intX, this.inRangeOut, 0, SIZE);
+    return this.inRangeOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] longAdd()
+  {
+    this.longBatch.add(this.longX, 1L, this.longOut, 0, SIZE);
+    return this.longOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] longDistance()
+  {
+    this.longBatch.distance(this.longY[0], this.longX, this.longOut, 0, SIZE);
+    return this.longOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] longCompare()
+  {
+    this.longBatch.compare(this.longX, this.longY, this.longOut, 0, SIZE);
+    return this.longOut;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public boolean[] longInRange()
+  {
+    this.longBatch.inRange(this.longX, this.inRangeOut, 0, SIZE);
+    return this.inRangeOut;
+  }
+}
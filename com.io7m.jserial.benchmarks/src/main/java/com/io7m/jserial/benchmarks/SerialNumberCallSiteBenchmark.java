@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.benchmarks;
+
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumberLongType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for call sites that see one, two, or many implementations of
+ * {@link SerialNumberIntType} and {@link SerialNumberLongType}.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerialNumberCallSiteBenchmark
+{
+  private static final int SIZE = SerialNumberIntBenchmark.SIZE;
+
+  /**
+   * The shape of a call site.
+   */
+
+  public enum Shape
+  {
+    /**
+     * The call site sees exactly one receiver type.
+     */
+
+    MONOMORPHIC,
+
+    /**
+     * The call site sees exactly two receiver types.
+     */
+
+    BIMORPHIC,
+
+    /**
+     * The call site sees three or more receiver types.
+     */
+
+    MEGAMORPHIC
+  }
+
+  private static final int[] INT_BITS = {8, 16, 24};
+  private static final int[] LONG_BITS = {32, 40, 48, 56, 62};
+
+  @Param({"MONOMORPHIC", "BIMORPHIC", "MEGAMORPHIC"})
+  public Shape shape;
+
+  private SerialNumberIntType[] intSerials;
+  private int[] intX;
+  private int[] intY;
+  private SerialNumberLongType[] longSerials;
+  private long[] longX;
+  private long[] longY;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public SerialNumberCallSiteBenchmark()
+  {
+
+  }
+
+  private static int receivers(
+    final Shape shape,
+    final int available)
+  {
+    return switch (shape) {
+      case MONOMORPHIC -> 1;
+      case BIMORPHIC -> 2;
+      case MEGAMORPHIC -> available;
+    };
+  }
+
+  /**
+   * Set up the benchmark state.
+   */
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random(0x5e7a1L);
+
+    final int intReceivers = receivers(this.shape, INT_BITS.length);
+    this.intSerials = new SerialNumberIntType[SIZE];
+    this.intX = new int[SIZE];
+    this.intY = new int[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      final int bits = INT_BITS[index % intReceivers];
+      this.intSerials[index] = SerialNumberIntBenchmark.calculator(bits);
+      this.intX[index] = random.nextInt(1 << bits);
+      this.intY[index] = random.nextInt(1 << bits);
+    }
+
+    final int longReceivers = receivers(this.shape, LONG_BITS.length);
+    this.longSerials = new SerialNumberLongType[SIZE];
+    this.longX = new long[SIZE];
+    this.longY = new long[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      final int bits = LONG_BITS[index % longReceivers];
+      this.longSerials[index] = SerialNumberLongBenchmark.calculator(bits);
+      this.longX[index] = random.nextLong(1L << bits);
+      this.longY[index] = random.nextLong(1L << bits);
+    }
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int intAdd()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += this.intSerials[index].add(this.intX[index], this.intY[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int intDistance()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += this.intSerials[index].distance(this.intX[index], this.intY[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int intCompare()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += Integer.signum(
+        this.intSerials[index].compare(this.intX[index], this.intY[index]));
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int intInRange()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      if (this.intSerials[index].inRange(this.intX[index])) {
+        ++r;
+      }
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long longAdd()
+  {
+    long r = 0L;
+    for (int index = 0; index < SIZE; ++index) {
+      r += this.longSerials[index].add(this.longX[index], this.longY[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long longDistance()
+  {
+    long r = 0L;
+    for (int index = 0; index < SIZE; ++index) {
+      r += this.longSerials[index].distance(
+        this.longX[index], this.longY[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int longCompare()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += Long.signum(
+        this.longSerials[index].compare(this.longX[index], this.longY[index]));
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int longInRange()
+  {
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      if (this.longSerials[index].inRange(this.longX[index])) {
+        ++r;
+      }
+    }
+    return r;
+  }
+}
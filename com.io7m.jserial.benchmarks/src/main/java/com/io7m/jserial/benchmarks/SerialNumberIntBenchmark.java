@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.benchmarks;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link SerialNumberIntType} implementations. Each fork
+ * only ever sees a single implementation, so all call sites are monomorphic.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerialNumberIntBenchmark
+{
+  static final int SIZE = 1024;
+
+  @Param({"8", "16", "24"})
+  public int bits;
+
+  private SerialNumberIntType serial;
+  private int[] x;
+  private int[] y;
+  private int[] out;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public SerialNumberIntBenchmark()
+  {
+
+  }
+
+  static SerialNumberIntType calculator(
+    final int bits)
+  {
+    return switch (bits) {
+      case 8 -> SerialNumber8.get();
+      case 16 -> SerialNumber16.get();
+      case 24 -> SerialNumber24.get();
+      default -> throw new IllegalArgumentException(
+        "Unsupported bit width: " + bits);
+    };
+  }
+
+  static int[] values(
+    final Random random,
+    final int bits)
+  {
+    final int[] r = new int[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      r[index] = random.nextInt(1 << bits);
+    }
+    return r;
+  }
+
+  /**
+   * Set up the benchmark state.
+   */
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random(0x5e7a1L);
+    this.serial = calculator(this.bits);
+    this.x = values(random, this.bits);
+    this.y = values(random, this.bits);
+    this.out = new int[SIZE];
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int add()
+  {
+    final SerialNumberIntType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += s.add(this.x[index], this.y[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int distance()
+  {
+    final SerialNumberIntType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += s.distance(this.x[index], this.y[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int compare()
+  {
+    final SerialNumberIntType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += Integer.signum(s.compare(this.x[index], this.y[index]));
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int inRange()
+  {
+    final SerialNumberIntType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      if (s.inRange(this.x[index])) {
+        ++r;
+      }
+    }
+    return r;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] addBulk()
+  {
+    this.serial.add(this.x, this.y[0], this.out, 0, SIZE);
+    return this.out;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] distanceBulk()
+  {
+    this.serial.distance(this.y[0], this.x, this.out, 0, SIZE);
+    return this.out;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int[] compareBulk()
+  {
+    this.serial.compare(this.x, this.y, this.out, 0, SIZE);
+    return this.out;
+  }
+}
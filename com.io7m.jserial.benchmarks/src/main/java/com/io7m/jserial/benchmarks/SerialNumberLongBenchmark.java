@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.benchmarks;
+
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber40;
+import com.io7m.jserial.core.SerialNumber48;
+import com.io7m.jserial.core.SerialNumber56;
+import com.io7m.jserial.core.SerialNumber62;
+import com.io7m.jserial.core.SerialNumberLongType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the {@link SerialNumberLongType} implementations. Each fork
+ * only ever sees a single implementation, so all call sites are monomorphic.
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerialNumberLongBenchmark
+{
+  static final int SIZE = 1024;
+
+  @Param({"32", "40", "48", "56", "62"})
+  public int bits;
+
+  private SerialNumberLongType serial;
+  private long[] x;
+  private long[] y;
+  private long[] out;
+
+  /**
+   * Construct a benchmark.
+   */
+
+  public SerialNumberLongBenchmark()
+  {
+
+  }
+
+  static SerialNumberLongType calculator(
+    final int bits)
+  {
+    return switch (bits) {
+      case 32 -> SerialNumber32.get();
+      case 40 -> SerialNumber40.get();
+      case 48 -> SerialNumber48.get();
+      case 56 -> SerialNumber56.get();
+      case 62 -> SerialNumber62.get();
+      default -> throw new IllegalArgumentException(
+        "Unsupported bit width: " + bits);
+    };
+  }
+
+  static long[] values(
+    final Random random,
+    final int bits)
+  {
+    final long[] r = new long[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      r[index] = random.nextLong(1L << bits);
+    }
+    return r;
+  }
+
+  /**
+   * Set up the benchmark state.
+   */
+
+  @Setup
+  public void setup()
+  {
+    final Random random = new Random(0x5e7a1L);
+    this.serial = calculator(this.bits);
+    this.x = values(random, this.bits);
+    this.y = values(random, this.bits);
+    this.out = new long[SIZE];
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long add()
+  {
+    final SerialNumberLongType s = this.serial;
+    long r = 0L;
+    for (int index = 0; index < SIZE; ++index) {
+      r += s.add(this.x[index], this.y[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long distance()
+  {
+    final SerialNumberLongType s = this.serial;
+    long r = 0L;
+    for (int index = 0; index < SIZE; ++index) {
+      r += s.distance(this.x[index], this.y[index]);
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int compare()
+  {
+    final SerialNumberLongType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      r += Long.signum(s.compare(this.x[index], this.y[index]));
+    }
+    return r;
+  }
+
+  /**
+   * @return The accumulated results
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public int inRange()
+  {
+    final SerialNumberLongType s = this.serial;
+    int r = 0;
+    for (int index = 0; index < SIZE; ++index) {
+      if (s.inRange(this.x[index])) {
+        ++r;
+      }
+    }
+    return r;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] addBulk()
+  {
+    this.serial.add(this.x, this.y[0], this.out, 0, SIZE);
+    return this.out;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] distanceBulk()
+  {
+    this.serial.distance(this.y[0], this.x, this.out, 0, SIZE);
+    return this.out;
+  }
+
+  /**
+   * @return The output array
+   */
+
+  @Benchmark
+  @OperationsPerInvocation(SIZE)
+  public long[] compareBulk()
+  {
+    this.serial.compare(this.x, this.y, this.out, 0, SIZE);
+    return this.out;
+  }
+}
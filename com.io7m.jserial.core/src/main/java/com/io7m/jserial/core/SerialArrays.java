@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+
+/**
+ * Bulk serial number operations over array slices.
+ */
+
+final class SerialArrays
+{
+  private SerialArrays()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  static void checkSlice(
+    final int offset,
+    final int length,
+    final int inputLength,
+    final int outputLength)
+  {
+    Objects.checkFromIndexSize(offset, length, inputLength);
+    Objects.checkFromIndexSize(offset, length, outputLength);
+  }
+
+  static void add(
+    final int[] in,
+    final int delta,
+    final int[] out,
+    final int offset,
+    final int length,
+    final int mask)
+  {
+    checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = (in[index] + delta) & mask;
+    }
+  }
+
+  static void distance(
+    final int base,
+    final int[] in,
+    final int[] out,
+    final int offset,
+    final int length,
+    final int bits)
+  {
+    checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = SerialDistance.distance(base, in[index], bits);
+    }
+  }
+
+  static void compare(
+    final int[] a,
+    final int[] b,
+    final int[] out,
+    final int offset,
+    final int length,
+    final int bits)
+  {
+    checkSlice(offset, length, a.length, out.length);
+    checkSlice(offset, length, b.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = -SerialDistance.distance(a[index], b[index], bits);
+    }
+  }
+
+  static void addL(
+    final long[] in,
+    final long delta,
+    final long[] out,
+    final int offset,
+    final int length,
+    final long mask)
+  {
+    checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = (in[index] + delta) & mask;
+    }
+  }
+
+  static void distanceL(
+    final long base,
+    final long[] in,
+    final long[] out,
+    final int offset,
+    final int length,
+    final int bits)
+  {
+    checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = SerialDistance.distanceL(base, in[index], bits);
+    }
+  }
+
+  static void compareL(
+    final long[] a,
+    final long[] b,
+    final long[] out,
+    final int offset,
+    final int length,
+    final int bits)
+  {
+    checkSlice(offset, length, a.length, out.length);
+    checkSlice(offset, length, b.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = -SerialDistance.distanceL(a[index], b[index], bits);
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * <p>An atomic serial number counter of a width given by a
+ * {@link SerialNumberIntType}.</p>
+ *
+ * <p>The counter holds a raw {@code int} that is incremented with a single
+ * atomic {@code getAndAdd}, and the current serial number is the raw value
+ * masked to the width of the serial number space. Because every serial
+ * number space is a power of two in size, the raw value wraps consistently
+ * with the serial number arithmetic, and the counter never needs to lock or
+ * retry in order to wrap.</p>
+ */
+
+public final class SerialAtomicInt
+{
+  private static final VarHandle RAW;
+
+  static {
+    try {
+      RAW = MethodHandles.lookup()
+        .findVarHandle(SerialAtomicInt.class, "raw", int.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final SerialNumberIntType serial;
+  private final int mask;
+
+  /**
+   * The raw counter value. Only the low {@code serial.bits()} bits are
+   * significant.
+   */
+
+  private volatile int raw;
+
+  private SerialAtomicInt(
+    final SerialNumberIntType inSerial,
+    final int initial)
+  {
+    this.serial = inSerial;
+    this.mask = (int) ((1L << inSerial.bits()) - 1L);
+    this.raw = initial;
+  }
+
+  private static void checkValue(
+    final SerialNumberIntType serial,
+    final int value)
+  {
+    if (!serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Integer.valueOf(value),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * Create a counter.
+   *
+   * @param serial  The serial number arithmetic
+   * @param initial The initial serial number
+   *
+   * @return A counter
+   *
+   * @throws IllegalArgumentException If {@code initial} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialAtomicInt create(
+    final SerialNumberIntType serial,
+    final int initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkValue(serial, initial);
+    return new SerialAtomicInt(serial, initial);
+  }
+
+  /**
+   * @return The current serial number
+   */
+
+  public int get()
+  {
+    return this.raw & this.mask;
+  }
+
+  /**
+   * Set the current serial number.
+   *
+   * @param value The serial number
+   *
+   * @throws IllegalArgumentException If {@code value} is not a valid serial
+   *                                  number
+   */
+
+  public void set(
+    final int value)
+  {
+    checkValue(this.serial, value);
+    this.raw = value;
+  }
+
+  /**
+   * Atomically increment the counter.
+   *
+   * @return The serial number before the increment
+   */
+
+  public int getAndIncrement()
+  {
+    return (int) RAW.getAndAdd(this, 1) & this.mask;
+  }
+
+  /**
+   * Atomically increment the counter.
+   *
+   * @return The serial number after the increment
+   */
+
+  public int incrementAndGet()
+  {
+    return ((int) RAW.getAndAdd(this, 1) + 1) & this.mask;
+  }
+
+  /**
+   * Atomically add {@code n} to the counter. This is typically used to
+   * reserve a block of {@code n} consecutive serial numbers.
+   *
+   * @param n The value to add
+   *
+   * @return The serial number before the addition
+   *
+   * @throws IllegalArgumentException If {@code n} is not a valid serial
+   *                                  number
+   */
+
+  public int getAndAdd(
+    final int n)
+  {
+    checkValue(this.serial, n);
+    return (int) RAW.getAndAdd(this, n) & this.mask;
+  }
+
+  /**
+   * Atomically set the counter to {@code seq} if {@code seq} is newer than
+   * the current serial number according to the serial number arithmetic.
+   *
+   * @param seq The serial number
+   *
+   * @return {@code true} if the counter was advanced to {@code seq}
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean compareAndAdvanceIfNewer(
+    final int seq)
+  {
+    checkValue(this.serial, seq);
+    while (true) {
+      final int current = this.raw;
+      if (this.serial.compare(seq, current & this.mask) <= 0) {
+        return false;
+      }
+      if (RAW.compareAndSet(this, current, seq)) {
+        return true;
+      }
+    }
+  }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import static com.io7m.jserial.core.SerialBitmapBits.CONTAINER_SIZE;
+import static com.io7m.jserial.core.SerialBitmapBits.WORDS;
+
+/**
+ * <p>A compressed bitmap of serial numbers, in the style of Roaring
+ * bitmaps.</p>
+ *
+ * <p>The serial number space is divided into chunks of {@code 65536} serial
+ * numbers, and the members of each non-empty chunk are held in whichever of
+ * a sorted array, a run-length encoded list, or a plain bitmap is the
+ * smallest. Because the bitmap is keyed directly by serial number, a window
+ * of serial numbers that straddles the wrap point of the serial number space
+ * is represented as naturally as any other, and operations that are
+ * described in terms of serial number order, such as
+ * {@link #firstMissingAfter(int)} and {@link #addRange(int, int)}, wrap
+ * around the end of the space.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+
+public final class SerialBitmap
+{
+  private final SerialNumberIntType serial;
+  private final int lowLimit;
+  private final int keyCount;
+  private final long spaceMask;
+  private int[] keys;
+  private SerialBitmapContainerType[] containers;
+  private int count;
+
+  private SerialBitmap(
+    final SerialNumberIntType inSerial)
+  {
+    this.serial = inSerial;
+    this.spaceMask = (1L << inSerial.bits()) - 1L;
+    this.lowLimit = (int) Math.min(CONTAINER_SIZE, this.spaceMask + 1L);
+    this.keyCount = (int) Math.max(1L, (this.spaceMask + 1L) >>> 16);
+    this.keys = new int[4];
+    this.containers = new SerialBitmapContainerType[4];
+  }
+
+  /**
+   * Create an empty bitmap.
+   *
+   * @param serial The serial number arithmetic
+   *
+   * @return An empty bitmap
+   */
+
+  public static SerialBitmap create(
+    final SerialNumberIntType serial)
+  {
+    return new SerialBitmap(Objects.requireNonNull(serial, "serial"));
+  }
+
+  private void checkValue(
+    final int value)
+  {
+    if (!this.serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Integer.valueOf(value),
+          Integer.valueOf(this.serial.bits())));
+    }
+  }
+
+  private void checkCompatible(
+    final SerialBitmap other)
+  {
+    Objects.requireNonNull(other, "other");
+    if (other.serial.bits() != this.serial.bits()) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Cannot combine a %d-bit bitmap with a %d-bit bitmap",
+          Integer.valueOf(this.serial.bits()),
+          Integer.valueOf(other.serial.bits())));
+    }
+  }
+
+  private int findKey(
+    final int key)
+  {
+    return Arrays.binarySearch(this.keys, 0, this.count, key);
+  }
+
+  private void insertContainer(
+    final int index,
+    final int key,
+    final SerialBitmapContainerType container)
+  {
+    if (this.count == this.keys.length) {
+      this.keys = Arrays.copyOf(this.keys, this.count * 2);
+      this.containers = Arrays.copyOf(this.containers, this.count * 2);
+    }
+    System.arraycopy(
+      this.keys, index, this.keys, index + 1, this.count - index);
+    System.arraycopy(
+      this.containers, index, this.containers, index + 1, this.count - index);
+    this.keys[index] = key;
+    this.containers[index] = container;
+    ++this.count;
+  }
+
+  private void removeContainer(
+    final int index)
+  {
+    System.arraycopy(
+      this.keys, index + 1, this.keys, index, this.count - index - 1);
+    System.arraycopy(
+      this.containers,
+      index + 1,
+      this.containers,
+      index,
+      this.count - index - 1);
+    --this.count;
+    this.containers[this.count] = null;
+  }
+
+  /**
+   * Replace the container for {@code key} with {@code container}, removing
+   * it if {@code container} is empty.
+   */
+
+  private void setContainer(
+    final int key,
+    final SerialBitmapContainerType container)
+  {
+    final int index = this.findKey(key);
+    final boolean empty = container.cardinality() == 0;
+    if (index >= 0) {
+      if (empty) {
+        this.removeContainer(index);
+      } else {
+        this.containers[index] = container;
+      }
+    } else if (!empty) {
+      this.insertContainer(-(index + 1), key, container);
+    }
+  }
+
+  /**
+   * Write the members of the chunk {@code key} into {@code words}, replacing
+   * its existing contents.
+   */
+
+  private void toWords(
+    final int key,
+    final long[] words)
+  {
+    Arrays.fill(words, 0L);
+    final int index = this.findKey(key);
+    if (index >= 0) {
+      this.containers[index].orInto(words);
+    }
+  }
+
+  /**
+   * @return {@code true} if the bitmap is empty
+   */
+
+  public boolean isEmpty()
+  {
+    return this.count == 0;
+  }
+
+  /**
+   * @return The number of serial numbers in the bitmap
+   */
+
+  public long cardinality()
+  {
+    long total = 0L;
+    for (int index = 0; index < this.count; ++index) {
+      total += this.containers[index].cardinality();
+    }
+    return total;
+  }
+
+  /**
+   * Remove every serial number from the bitmap.
+   */
+
+  public void clear()
+  {
+    Arrays.fill(this.containers, 0, this.count, null);
+    this.count = 0;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} is in the bitmap
+   */
+
+  public boolean contains(
+    final int seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    final int index = this.findKey(seq >>> 16);
+    return index >= 0 && this.containers[index].contains(seq & 0xffff);
+  }
+
+  /**
+   * Add {@code seq} to the bitmap.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was not already in the bitmap
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean add(
+    final int seq)
+  {
+    this.checkValue(seq);
+
+    final int key = seq >>> 16;
+    final int index = this.findKey(key);
+    if (index < 0) {
+      this.insertContainer(
+        -(index + 1), key, new SerialBitmapArray().add(seq & 0xffff));
+      return true;
+    }
+
+    final SerialBitmapContainerType container = this.containers[index];
+    final int before = container.cardinality();
+    final SerialBitmapContainerType result = container.add(seq & 0xffff);
+    this.containers[index] = result;
+    return result.cardinality() != before;
+  }
+
+  /**
+   * Remove {@code seq} from the bitmap.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was in the bitmap
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean remove(
+    final int seq)
+  {
+    this.checkValue(seq);
+
+    final int index = this.findKey(seq >>> 16);
+    if (index < 0) {
+      return false;
+    }
+
+    final SerialBitmapContainerType container = this.containers[index];
+    final int before = container.cardinality();
+    final SerialBitmapContainerType result = container.remove(seq & 0xffff);
+    if (result.cardinality() == 0) {
+      this.removeContainer(index);
+    } else {
+      this.containers[index] = result;
+    }
+    return result.cardinality() != before;
+  }
+
+  /**
+   * Add the serial numbers from {@code first} to {@code last} inclusive, in
+   * serial number order, to the bitmap. The range may wrap around the end
+   * of the serial number space.
+   *
+   * @param first The first serial number
+   * @param last  The last serial number
+   *
+   * @throws IllegalArgumentException If {@code first} or {@code last} are not
+   *                                  valid serial numbers, or {@code last}
+   *                                  precedes {@code first}
+   */
+
+  public void addRange(
+    final int first,
+    final int last)
+  {
+    this.updateRange(first, last, true);
+  }
+
+  /**
+   * Remove the serial numbers from {@code first} to {@code last} inclusive,
+   * in serial number order, from the bitmap. The range may wrap around the
+   * end of the serial number space.
+   *
+   * @param first The first serial number
+   * @param last  The last serial number
+   *
+   * @throws IllegalArgumentException If {@code first} or {@code last} are not
+   *                                  valid serial numbers, or {@code last}
+   *                                  precedes {@code first}
+   */
+
+  public void removeRange(
+    final int first,
+    final int last)
+  {
+    this.updateRange(first, last, false);
+  }
+
+  private void updateRange(
+    final int first,
+    final int last,
+    final boolean set)
+  {
+    this.checkValue(first);
+    this.checkValue(last);
+
+    final int d = this.serial.distance(first, last);
+    if (d < 0) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Range end %d precedes range start %d",
+          Integer.valueOf(last),
+          Integer.valueOf(first)));
+    }
+
+    final long[] words = new long[WORDS];
+    long remaining = (long) d + 1L;
+    long value = first;
+    while (remaining > 0L) {
+      final int key = (int) (value >>> 16);
+      final int low = (int) (value & 0xffffL);
+      final int span = (int) Math.min(remaining, this.lowLimit - low);
+
+      this.toWords(key, words);
+      if (set) {
+        SerialBitmapBits.setRange(words, low, low + span);
+      } else {
+        SerialBitmapBits.clearRange(words, low, low + span);
+      }
+      this.setContainer(key, SerialBitmapContainers.optimize(words));
+
+      remaining -= span;
+      value = (value + span) & this.spaceMask;
+    }
+  }
+
+  /**
+   * Add every serial number in {@code other} to this bitmap.
+   *
+   * @param other The other bitmap
+   *
+   * @throws IllegalArgumentException If the bitmaps use serial numbers of
+   *                                  different widths
+   */
+
+  public void or(
+    final SerialBitmap other)
+  {
+    this.checkCompatible(other);
+
+    final long[] words = new long[WORDS];
+    for (int index = 0; index < other.count; ++index) {
+      final int key = other.keys[index];
+      this.toWords(key, words);
+      other.containers[index].orInto(words);
+      this.setContainer(key, SerialBitmapContainers.optimize(words));
+    }
+  }
+
+  /**
+   * Remove every serial number from this bitmap that is not in
+   * {@code other}.
+   *
+   * @param other The other bitmap
+   *
+   * @throws IllegalArgumentException If the bitmaps use serial numbers of
+   *                                  different widths
+   */
+
+  public void and(
+    final SerialBitmap other)
+  {
+    this.checkCompatible(other);
+    this.combine(other, false);
+  }
+
+  /**
+   * Remove every serial number in {@code other} from this bitmap.
+   *
+   * @param other The other bitmap
+   *
+   * @throws IllegalArgumentException If the bitmaps use serial numbers of
+   *                                  different widths
+   */
+
+  public void andNot(
+    final SerialBitmap other)
+  {
+    this.checkCompatible(other);
+    this.combine(other, true);
+  }
+
+  private void combine(
+    final SerialBitmap other,
+    final boolean invert)
+  {
+    final long[] words = new long[WORDS];
+    final long[] otherWords = new long[WORDS];
+
+    int index = 0;
+    while (index < this.count) {
+      final int otherIndex = other.findKey(this.keys[index]);
+
+      if (otherIndex < 0) {
+        if (invert) {
+          ++index;
+        } else {
+          this.removeContainer(index);
+        }
+        continue;
+      }
+
+      Arrays.fill(words, 0L);
+      this.containers[index].orInto(words);
+      Arrays.fill(otherWords, 0L);
+      other.containers[otherIndex].orInto(otherWords);
+      for (int word = 0; word < WORDS; ++word) {
+        final long mask = invert ? ~otherWords[word] : otherWords[word];
+        words[word] &= mask;
+      }
+
+      final SerialBitmapContainerType result =
+        SerialBitmapContainers.optimize(words);
+      if (result.cardinality() == 0) {
+        this.removeContainer(index);
+      } else {
+        this.containers[index] = result;
+        ++index;
+      }
+    }
+  }
+
+  /**
+   * Convert each container to its smallest representation. Containers are
+   * converted automatically by range and bulk operations, but a container
+   * built up by many calls to {@link #add(int)} may benefit from run-length
+   * encoding.
+   */
+
+  public void optimize()
+  {
+    final long[] words = new long[WORDS];
+    for (int index = 0; index < this.count; ++index) {
+      Arrays.fill(words, 0L);
+      this.containers[index].orInto(words);
+      this.containers[index] = SerialBitmapContainers.optimize(words);
+    }
+  }
+
+  /**
+   * Find the first serial number that follows {@code seq} in serial number
+   * order and that is not in the bitmap. The search wraps around the end of
+   * the serial number space, and may return {@code seq} itself if every
+   * other serial number is present.
+   *
+   * @param seq A serial number
+   *
+   * @return The first missing serial number after {@code seq}
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   * @throws NoSuchElementException   If every serial number is present
+   */
+
+  public int firstMissingAfter(
+    final int seq)
+  {
+    this.checkValue(seq);
+
+    long value = ((long) seq + 1L) & this.spaceMask;
+    for (int step = 0; step <= this.keyCount; ++step) {
+      final int key = (int) (value >>> 16);
+      final int low = (int) (value & 0xffffL);
+      final int index = this.findKey(key);
+      if (index < 0) {
+        return (int) value;
+      }
+      final int absent = this.containers[index].nextAbsent(low);
+      if (absent < this.lowLimit) {
+        return (key << 16) | absent;
+      }
+      value = ((long) (key + 1) << 16) & this.spaceMask;
+    }
+
+    throw new NoSuchElementException(
+      String.format(
+        "Every %d-bit serial number is present",
+        Integer.valueOf(this.serial.bits())));
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+
+/**
+ * A container holding a sorted array of values.
+ */
+
+final class SerialBitmapArray implements SerialBitmapContainerType
+{
+  private char[] values;
+  private int size;
+
+  SerialBitmapArray(
+    final char[] inValues,
+    final int inSize)
+  {
+    this.values = inValues;
+    this.size = inSize;
+  }
+
+  SerialBitmapArray()
+  {
+    this(new char[4], 0);
+  }
+
+  private int search(
+    final int low)
+  {
+    return Arrays.binarySearch(this.values, 0, this.size, (char) low);
+  }
+
+  @Override
+  public int cardinality()
+  {
+    return this.size;
+  }
+
+  @Override
+  public boolean contains(
+    final int low)
+  {
+    return this.search(low) >= 0;
+  }
+
+  @Override
+  public SerialBitmapContainerType add(
+    final int low)
+  {
+    final int index = this.search(low);
+    if (index >= 0) {
+      return this;
+    }
+
+    if (this.size >= SerialBitmapBits.ARRAY_MAX) {
+      final long[] words = new long[SerialBitmapBits.WORDS];
+      this.orInto(words);
+      return new SerialBitmapWords(words, this.size).add(low);
+    }
+
+    final int insert = -(index + 1);
+    if (this.size == this.values.length) {
+      this.values = Arrays.copyOf(
+        this.values,
+        Math.min(this.size * 2, SerialBitmapBits.ARRAY_MAX));
+    }
+    System.arraycopy(
+      this.values, insert, this.values, insert + 1, this.size - insert);
+    this.values[insert] = (char) low;
+    ++this.size;
+    return this;
+  }
+
+  @Override
+  public SerialBitmapContainerType remove(
+    final int low)
+  {
+    final int index = this.search(low);
+    if (index < 0) {
+      return this;
+    }
+    System.arraycopy(
+      this.values, index + 1, this.values, index, this.size - index - 1);
+    --this.size;
+    return this;
+  }
+
+  @Override
+  public void orInto(
+    final long[] words)
+  {
+    for (int index = 0; index < this.size; ++index) {
+      final int value = this.values[index];
+      words[value >>> 6] |= 1L << value;
+    }
+  }
+
+  @Override
+  public int nextAbsent(
+    final int from)
+  {
+    int index = this.search(from);
+    if (index < 0) {
+      return from;
+    }
+    int value = from;
+    while (index + 1 < this.size && this.values[index + 1] == value + 1) {
+      ++index;
+      ++value;
+    }
+    return value + 1;
+  }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Bit manipulation functions and constants shared by the {@link SerialBitmap}
+ * containers, the replay windows, the ring buffers, and the gap tracker.
+ */
+
+final class SerialBitmapBits
+{
+  /**
+   * The number of values that a single container can hold.
+   */
+
+  static final int CONTAINER_SIZE = 1 << 16;
+
+  /**
+   * The number of words in a bitmap container.
+   */
+
+  static final int WORDS = CONTAINER_SIZE / Long.SIZE;
+
+  /**
+   * The largest number of values held in an array container. Beyond this
+   * size, a bitmap container is smaller.
+   */
+
+  static final int ARRAY_MAX = 4096;
+
+  private SerialBitmapBits()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static long firstMask(
+    final int from)
+  {
+    return -1L << from;
+  }
+
+  private static long lastMask(
+    final int to)
+  {
+    return -1L >>> (Long.SIZE - 1 - ((to - 1) & 63));
+  }
+
+  /**
+   * Set the bits in the range {@code [from, to)} of the given bitmap, where
+   * {@code from < to}.
+   *
+   * @param words The bitmap
+   * @param from  The first bit
+   * @param to    The bit after the last bit
+   */
+
+  static void setRange(
+    final long[] words,
+    final int from,
+    final int to)
+  {
+    final int firstWord = from >>> 6;
+    final int lastWord = (to - 1) >>> 6;
+    final long firstMask = firstMask(from);
+    final long lastMask = lastMask(to);
+
+    if (firstWord == lastWord) {
+      words[firstWord] |= firstMask & lastMask;
+      return;
+    }
+
+    words[firstWord] |= firstMask;
+    for (int word = firstWord + 1; word < lastWord; ++word) {
+      words[word] = -1L;
+    }
+    words[lastWord] |= lastMask;
+  }
+
+  /**
+   * @param words The bitmap
+   * @param from  The first bit to examine
+   *
+   * @return The index of the first clear bit at or after {@code from}, or
+   * {@link #CONTAINER_SIZE} if there is none
+   */
+
+  static int nextClear(
+    final long[] words,
+    final int from)
+  {
+    int index = from >>> 6;
+    long word = ~words[index] & (-1L << from);
+    while (word == 0L) {
+      ++index;
+      if (index == WORDS) {
+        return CONTAINER_SIZE;
+      }
+      word = ~words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+  /**
+   * Count the set bits in the range {@code [from, to)} of the given bitmap,
+   * where {@code from < to}.
+   *
+   * @param bitmap The bitmap
+   * @param from   The first bit
+   * @param to     The bit after the last bit
+   *
+   * @return The number of set bits
+   */
+
+  static int countRange(
+    final long[] bitmap,
+    final int from,
+    final int to)
+  {
+    final int firstWord = from >>> 6;
+    final int lastWord = (to - 1) >>> 6;
+    final long firstMask = firstMask(from);
+    final long lastMask = lastMask(to);
+
+    if (firstWord == lastWord) {
+      return Long.bitCount(bitmap[firstWord] & firstMask & lastMask);
+    }
+
+    int count = Long.bitCount(bitmap[firstWord] & firstMask);
+    for (int word = firstWord + 1; word < lastWord; ++word) {
+      count += Long.bitCount(bitmap[word]);
+    }
+    return count + Long.bitCount(bitmap[lastWord] & lastMask);
+  }
+
+  /**
+   * Clear the bits in the range {@code [from, to)} of the given bitmap,
+   * where {@code from < to}.
+   *
+   * @param bitmap The bitmap
+   * @param from   The first bit
+   * @param to     The bit after the last bit
+   */
+
+  static void clearRange(
+    final long[] bitmap,
+    final int from,
+    final int to)
+  {
+    final int firstWord = from >>> 6;
+    final int lastWord = (to - 1) >>> 6;
+    final long firstMask = firstMask(from);
+    final long lastMask = lastMask(to);
+
+    if (firstWord == lastWord) {
+      bitmap[firstWord] &= ~(firstMask & lastMask);
+      return;
+    }
+
+    bitmap[firstWord] &= ~firstMask;
+    for (int word = firstWord + 1; word < lastWord; ++word) {
+      bitmap[word] = 0L;
+    }
+    bitmap[lastWord] &= ~lastMask;
+  }
+
+  /*
+   * Functions on window bitmaps. A window bitmap of {@code windowBits} bits
+   * records the most recent {@code windowBits} positions of an unbounded
+   * sequence, with position {@code p} held in bit {@code p mod windowBits}.
+   * The window size is always a power of two and a multiple of 64.
+   */
+
+  /**
+   * @param bitmap   The window bitmap
+   * @param position A position
+   *
+   * @return {@code true} if the bit for {@code position} is set
+   */
+
+  static boolean isSet(
+    final long[] bitmap,
+    final long position)
+  {
+    final int index = (int) position & ((bitmap.length << 6) - 1);
+    return (bitmap[index >>> 6] & (1L << index)) != 0L;
+  }
+
+  /**
+   * Set the bit for {@code position}.
+   *
+   * @param bitmap   The window bitmap
+   * @param position A position
+   *
+   * @return {@code true} if the bit was previously clear
+   */
+
+  static boolean testAndSet(
+    final long[] bitmap,
+    final long position)
+  {
+    final int index = (int) position & ((bitmap.length << 6) - 1);
+    final int word = index >>> 6;
+    final long bit = 1L << index;
+    final long current = bitmap[word];
+    if ((current & bit) != 0L) {
+      return false;
+    }
+    bitmap[word] = current | bit;
+    return true;
+  }
+
+  /**
+   * Clear the bits for the {@code count} positions following
+   * {@code position}, as the window advances over them.
+   *
+   * @param bitmap   The window bitmap
+   * @param position The newest position before the window advances
+   * @param count    The number of positions to advance by, at least 1
+   */
+
+  static void clearAfter(
+    final long[] bitmap,
+    final long position,
+    final long count)
+  {
+    final int windowBits = bitmap.length << 6;
+    if (count >= windowBits) {
+      Arrays.fill(bitmap, 0L);
+      return;
+    }
+
+    final int start = (int) (position + 1L) & (windowBits - 1);
+    final int end = start + (int) count;
+    if (end <= windowBits) {
+      clearRange(bitmap, start, end);
+    } else {
+      clearRange(bitmap, start, windowBits);
+      clearRange(bitmap, 0, end - windowBits);
+    }
+  }
+
+  /**
+   * Count the set bits for the {@code count} positions starting at
+   * {@code position}.
+   *
+   * @param bitmap   The window bitmap
+   * @param position The first position
+   * @param count    The number of positions, in {@code [1, windowBits]}
+   *
+   * @return The number of set bits
+   */
+
+  static int countFrom(
+    final long[] bitmap,
+    final long position,
+    final int count)
+  {
+    final int windowBits = bitmap.length << 6;
+    final int start = (int) position & (windowBits - 1);
+    final int end = start + count;
+    if (end <= windowBits) {
+      return countRange(bitmap, start, end);
+    }
+    return countRange(bitmap, start, windowBits)
+      + countRange(bitmap, 0, end - windowBits);
+  }
+
+  /**
+   * @param buffer     The buffer
+   * @param offset     The byte offset of the window bitmap
+   * @param windowBits The window size in bits
+   * @param position   A position
+   *
+   * @return {@code true} if the bit for {@code position} is set
+   *
+   * @see #isSet(long[], long)
+   */
+
+  static boolean isSet(
+    final ByteBuffer buffer,
+    final int offset,
+    final int windowBits,
+    final long position)
+  {
+    final int index = (int) position & (windowBits - 1);
+    return (buffer.getLong(offset + ((index >>> 6) << 3)) & (1L << index)) != 0L;
+  }
+
+  /**
+   * Set the bit for {@code position}.
+   *
+   * @param buffer     The buffer
+   * @param offset     The byte offset of the window bitmap
+   * @param windowBits The window size in bits
+   * @param position   A position
+   *
+   * @return {@code true} if the bit was previously clear
+   *
+   * @see #testAndSet(long[], long)
+   */
+
+  static boolean testAndSet(
+    final ByteBuffer buffer,
+    final int offset,
+    final int windowBits,
+    final long position)
+  {
+    final int index = (int) position & (windowBits - 1);
+    final int wordOffset = offset + ((index >>> 6) << 3);
+    final long bit = 1L << index;
+    final long current = buffer.getLong(wordOffset);
+    if ((current & bit) != 0L) {
+      return false;
+    }
+    buffer.putLong(wordOffset, current | bit);
+    return true;
+  }
+
+  /**
+   * Clear the bits for the {@code count} positions following
+   * {@code position}, as the window advances over them.
+   *
+   * @param buffer     The buffer
+   * @param offset     The byte offset of the window bitmap
+   * @param windowBits The window size in bits
+   * @param position   The newest position before the window advances
+   * @param count      The number of positions to advance by, at least 1
+   *
+   * @see #clearAfter(long[], long, long)
+   */
+
+  static void clearAfter(
+    final ByteBuffer buffer,
+    final int offset,
+    final int windowBits,
+    final long position,
+    final long count)
+  {
+    if (count >= windowBits) {
+      clearRange(buffer, offset, 0, windowBits);
+      return;
+    }
+
+    final int start = (int) (position + 1L) & (windowBits - 1);
+    final int end = start + (int) count;
+    if (end <= windowBits) {
+      clearRange(buffer, offset, start, end);
+    } else {
+      clearRange(buffer, offset, start, windowBits);
+      clearRange(buffer, offset, 0, end - windowBits);
+    }
+  }
+
+  /**
+   * Count the set bits for the {@code count} positions starting at
+   * {@code position}.
+   *
+   * @param buffer     The buffer
+   * @param offset     The byte offset of the window bitmap
+   * @param windowBits The window size in bits
+   * @param position   The first position
+   * @param count      The number of positions, in {@code [1, windowBits]}
+   *
+   * @return The number of set bits
+   *
+   * @see #countFrom(long[], long, int)
+   */
+
+  static int countFrom(
+    final ByteBuffer buffer,
+    final int offset,
+    final int windowBits,
+    final long position,
+    final int count)
+  {
+    final int start = (int) position & (windowBits - 1);
+    final int end = start + count;
+    if (end <= windowBits) {
+      return countRange(buffer, offset, start, end);
+    }
+    return countRange(buffer, offset, start, windowBits)
+      + countRange(buffer, offset, 0, end - windowBits);
+  }
+
+  private static int countRange(
+    final ByteBuffer buffer,
+    final int offset,
+    final int from,
+    final int to)
+  {
+    final int firstWord = from >>> 6;
+    final int lastWord = (to - 1) >>> 6;
+    final long firstMask = firstMask(from);
+    final long lastMask = lastMask(to);
+
+    if (firstWord == lastWord) {
+      final long word = buffer.getLong(offset + (firstWord << 3));
+      return Long.bitCount(word & firstMask & lastMask);
+    }
+
+    int count = Long.bitCount(buffer.getLong(offset + (firstWord << 3)) & firstMask);
+    for (int word = firstWord + 1; word < lastWord; ++word) {
+      count += Long.bitCount(buffer.getLong(offset + (word << 3)));
+    }
+    return count + Long.bitCount(buffer.getLong(offset + (lastWord << 3)) & lastMask);
+  }
+
+  /**
+   * Clear the bits in the range {@code [from, to)} of the bitmap at
+   * {@code offset} in the given buffer, where {@code from < to}.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset of the bitmap
+   * @param from   The first bit
+   * @param to     The bit after the last bit
+   *
+   * @see #clearRange(long[], int, int)
+   */
+
+  static void clearRange(
+    final ByteBuffer buffer,
+    final int offset,
+    final int from,
+    final int to)
+  {
+    final int firstWord = from >>> 6;
+    final int lastWord = (to - 1) >>> 6;
+    final long firstMask = firstMask(from);
+    final long lastMask = lastMask(to);
+
+    if (firstWord == lastWord) {
+      andWord(buffer, offset + (firstWord << 3), ~(firstMask & lastMask));
+      return;
+    }
+
+    andWord(buffer, offset + (firstWord << 3), ~firstMask);
+    for (int word = firstWord + 1; word < lastWord; ++word) {
+      buffer.putLong(offset + (word << 3), 0L);
+    }
+    andWord(buffer, offset + (lastWord << 3), ~lastMask);
+  }
+
+  private static void andWord(
+    final ByteBuffer buffer,
+    final int wordOffset,
+    final long mask)
+  {
+    buffer.putLong(wordOffset, buffer.getLong(wordOffset) & mask);
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * A container holding the low 16 bits of the members of a
+ * {@link SerialBitmap} that share the same high bits.
+ */
+
+sealed interface SerialBitmapContainerType
+  permits SerialBitmapArray, SerialBitmapRuns, SerialBitmapWords
+{
+  /**
+   * @return The number of values in the container
+   */
+
+  int cardinality();
+
+  /**
+   * @param low A value in the range {@code [0, 65535]}
+   *
+   * @return {@code true} if the container holds {@code low}
+   */
+
+  boolean contains(int low);
+
+  /**
+   * Add a value, possibly converting the container to a different
+   * representation.
+   *
+   * @param low A value in the range {@code [0, 65535]}
+   *
+   * @return The container holding the result
+   */
+
+  SerialBitmapContainerType add(int low);
+
+  /**
+   * Remove a value, possibly converting the container to a different
+   * representation.
+   *
+   * @param low A value in the range {@code [0, 65535]}
+   *
+   * @return The container holding the result
+   */
+
+  SerialBitmapContainerType remove(int low);
+
+  /**
+   * Set the bits for each value held in the container in a bitmap of
+   * {@link SerialBitmapBits#WORDS} words.
+   *
+   * @param words The bitmap
+   */
+
+  void orInto(long[] words);
+
+  /**
+   * @param from A value in the range {@code [0, 65535]}
+   *
+   * @return The smallest value not less than {@code from} that is not held
+   * in the container, or {@code 65536} if there is no such value
+   */
+
+  int nextAbsent(int from);
+}
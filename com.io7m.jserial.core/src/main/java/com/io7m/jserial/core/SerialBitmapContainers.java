@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import static com.io7m.jserial.core.SerialBitmapBits.ARRAY_MAX;
+import static com.io7m.jserial.core.SerialBitmapBits.CONTAINER_SIZE;
+import static com.io7m.jserial.core.SerialBitmapBits.WORDS;
+
+/**
+ * Functions that build {@link SerialBitmap} containers from bitmaps.
+ */
+
+final class SerialBitmapContainers
+{
+  private SerialBitmapContainers()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Build the smallest container holding the values set in a bitmap.
+   *
+   * @param words The bitmap
+   *
+   * @return A container, which is empty if the bitmap is empty
+   */
+
+  static SerialBitmapContainerType optimize(
+    final long[] words)
+  {
+    int cardinality = 0;
+    int runs = 0;
+    long carry = 0L;
+    for (final long word : words) {
+      cardinality += Long.bitCount(word);
+      runs += Long.bitCount(word & ~((word << 1) | carry));
+      carry = word >>> 63;
+    }
+
+    final int arrayBytes = cardinality * Character.BYTES;
+    final int runBytes = runs * 2 * Character.BYTES;
+    final int wordBytes = WORDS * Long.BYTES;
+
+    if (runBytes < arrayBytes && runBytes < wordBytes) {
+      return toRuns(words, runs, cardinality);
+    }
+    if (cardinality <= ARRAY_MAX) {
+      return toArray(words, cardinality);
+    }
+    return new SerialBitmapWords(words.clone(), cardinality);
+  }
+
+  private static SerialBitmapArray toArray(
+    final long[] words,
+    final int cardinality)
+  {
+    final char[] values = new char[Math.max(cardinality, 4)];
+    int size = 0;
+    for (int index = 0; index < words.length; ++index) {
+      long word = words[index];
+      while (word != 0L) {
+        values[size] =
+          (char) ((index << 6) + Long.numberOfTrailingZeros(word));
+        ++size;
+        word &= word - 1L;
+      }
+    }
+    return new SerialBitmapArray(values, size);
+  }
+
+  private static SerialBitmapRuns toRuns(
+    final long[] words,
+    final int runs,
+    final int cardinality)
+  {
+    final char[] pairs = new char[runs * 2];
+    int count = 0;
+    int value = 0;
+    while (value < CONTAINER_SIZE) {
+      final int start = nextSet(words, value);
+      if (start == CONTAINER_SIZE) {
+        break;
+      }
+      final int end = SerialBitmapBits.nextClear(words, start);
+      pairs[count * 2] = (char) start;
+      pairs[count * 2 + 1] = (char) (end - 1 - start);
+      ++count;
+      value = end;
+    }
+    return new SerialBitmapRuns(pairs, count, cardinality);
+  }
+
+  private static int nextSet(
+    final long[] words,
+    final int from)
+  {
+    int index = from >>> 6;
+    long word = words[index] & (-1L << from);
+    while (word == 0L) {
+      ++index;
+      if (index == WORDS) {
+        return CONTAINER_SIZE;
+      }
+      word = words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word);
+  }
+
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+
+/**
+ * A container holding sorted, maximal runs of values. Each run is stored as
+ * a pair of its first value and its length minus one.
+ */
+
+final class SerialBitmapRuns implements SerialBitmapContainerType
+{
+  private char[] runs;
+  private int runCount;
+  private int cardinality;
+
+  SerialBitmapRuns(
+    final char[] inRuns,
+    final int inRunCount,
+    final int inCardinality)
+  {
+    this.runs = inRuns;
+    this.runCount = inRunCount;
+    this.cardinality = inCardinality;
+  }
+
+  private int start(
+    final int index)
+  {
+    return this.runs[index * 2];
+  }
+
+  private int end(
+    final int index)
+  {
+    return this.runs[index * 2] + this.runs[index * 2 + 1];
+  }
+
+  private void setRun(
+    final int index,
+    final int start,
+    final int end)
+  {
+    this.runs[index * 2] = (char) start;
+    this.runs[index * 2 + 1] = (char) (end - start);
+  }
+
+  private void insertRun(
+    final int index,
+    final int start,
+    final int end)
+  {
+    if (this.runCount * 2 == this.runs.length) {
+      this.runs = Arrays.copyOf(this.runs, Math.max(4, this.runs.length * 2));
+    }
+    System.arraycopy(
+      this.runs,
+      index * 2,
+      this.runs,
+      (index + 1) * 2,
+      (this.runCount - index) * 2);
+    ++this.runCount;
+    this.setRun(index, start, end);
+  }
+
+  private void removeRun(
+    final int index)
+  {
+    System.arraycopy(
+      this.runs,
+      (index + 1) * 2,
+      this.runs,
+      index * 2,
+      (this.runCount - index - 1) * 2);
+    --this.runCount;
+  }
+
+  /**
+   * @return The index of the last run starting at or before {@code low}, or
+   * {@code -1} if there is none
+   */
+
+  private int floor(
+    final int low)
+  {
+    int lowIndex = 0;
+    int highIndex = this.runCount - 1;
+    int result = -1;
+    while (lowIndex <= highIndex) {
+      final int middle = (lowIndex + highIndex) >>> 1;
+      if (this.start(middle) <= low) {
+        result = middle;
+        lowIndex = middle + 1;
+      } else {
+        highIndex = middle - 1;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int cardinality()
+  {
+    return this.cardinality;
+  }
+
+  @Override
+  public boolean contains(
+    final int low)
+  {
+    final int index = this.floor(low);
+    return index >= 0 && this.end(index) >= low;
+  }
+
+  @Override
+  public SerialBitmapContainerType add(
+    final int low)
+  {
+    final int index = this.floor(low);
+    if (index >= 0 && this.end(index) >= low) {
+      return this;
+    }
+
+    final boolean joinLeft = index >= 0 && this.end(index) + 1 == low;
+    final boolean joinRight =
+      index + 1 < this.runCount && this.start(index + 1) == low + 1;
+
+    if (joinLeft && joinRight) {
+      this.setRun(index, this.start(index), this.end(index + 1));
+      this.removeRun(index + 1);
+    } else if (joinLeft) {
+      this.setRun(index, this.start(index), low);
+    } else if (joinRight) {
+      this.setRun(index + 1, low, this.end(index + 1));
+    } else {
+      this.insertRun(index + 1, low, low);
+    }
+    ++this.cardinality;
+    return this;
+  }
+
+  @Override
+  public SerialBitmapContainerType remove(
+    final int low)
+  {
+    final int index = this.floor(low);
+    if (index < 0 || this.end(index) < low) {
+      return this;
+    }
+
+    final int start = this.start(index);
+    final int end = this.end(index);
+    if (start == end) {
+      this.removeRun(index);
+    } else if (low == start) {
+      this.setRun(index, start + 1, end);
+    } else if (low == end) {
+      this.setRun(index, start, end - 1);
+    } else {
+      this.setRun(index, start, low - 1);
+      this.insertRun(index + 1, low + 1, end);
+    }
+    --this.cardinality;
+    return this;
+  }
+
+  @Override
+  public void orInto(
+    final long[] words)
+  {
+    for (int index = 0; index < this.runCount; ++index) {
+      SerialBitmapBits.setRange(
+        words, this.start(index), this.end(index) + 1);
+    }
+  }
+
+  @Override
+  public int nextAbsent(
+    final int from)
+  {
+    final int index = this.floor(from);
+    if (index < 0 || this.end(index) < from) {
+      return from;
+    }
+    return this.end(index) + 1;
+  }
+}
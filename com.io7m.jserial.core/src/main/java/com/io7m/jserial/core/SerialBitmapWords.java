@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * A container holding a bitmap of all {@code 65536} possible values.
+ */
+
+final class SerialBitmapWords implements SerialBitmapContainerType
+{
+  private final long[] words;
+  private int cardinality;
+
+  SerialBitmapWords(
+    final long[] inWords,
+    final int inCardinality)
+  {
+    this.words = inWords;
+    this.cardinality = inCardinality;
+  }
+
+  @Override
+  public int cardinality()
+  {
+    return this.cardinality;
+  }
+
+  @Override
+  public boolean contains(
+    final int low)
+  {
+    return (this.words[low >>> 6] & (1L << low)) != 0L;
+  }
+
+  @Override
+  public SerialBitmapContainerType add(
+    final int low)
+  {
+    final int index = low >>> 6;
+    final long word = this.words[index];
+    final long updated = word | (1L << low);
+    if (updated != word) {
+      this.words[index] = updated;
+      ++this.cardinality;
+    }
+    return this;
+  }
+
+  @Override
+  public SerialBitmapContainerType remove(
+    final int low)
+  {
+    final int index = low >>> 6;
+    final long word = this.words[index];
+    final long updated = word & ~(1L << low);
+    if (updated == word) {
+      return this;
+    }
+    this.words[index] = updated;
+    --this.cardinality;
+    return this;
+  }
+
+  @Override
+  public void orInto(
+    final long[] target)
+  {
+    for (int index = 0; index < target.length; ++index) {
+      target[index] |= this.words[index];
+    }
+  }
+
+  @Override
+  public int nextAbsent(
+    final int from)
+  {
+    return SerialBitmapBits.nextClear(this.words, from);
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.NoSuchElementException;
+
+/**
+ * <p>A block of consecutive serial numbers claimed from a
+ * {@link SerialBlockAllocator}.</p>
+ *
+ * <p>A block is intended to be owned by a single thread, which hands out the
+ * serial numbers in the block without any synchronization. Blocks are
+ * reusable: an exhausted block may be passed back to
+ * {@link SerialBlockAllocator#claim(SerialBlock)} to be refilled. Instances
+ * are not thread-safe.</p>
+ */
+
+public final class SerialBlock
+{
+  /**
+   * The raw end value used for blocks that do not end at a position of the
+   * allocator's counter, and so can never be returned to the counter.
+   */
+
+  static final long NO_RAW_END = Long.MIN_VALUE;
+
+  private final SerialNumberLongType serial;
+  private long cursor;
+  private long remaining;
+  private long rawEnd;
+
+  SerialBlock(
+    final SerialNumberLongType inSerial)
+  {
+    this.serial = inSerial;
+    this.rawEnd = NO_RAW_END;
+  }
+
+  void fill(
+    final long inStart,
+    final long inSize,
+    final long inRawEnd)
+  {
+    this.cursor = inStart;
+    this.remaining = inSize;
+    this.rawEnd = inRawEnd;
+  }
+
+  long cursor()
+  {
+    return this.cursor;
+  }
+
+  long rawEnd()
+  {
+    return this.rawEnd;
+  }
+
+  void clear()
+  {
+    this.remaining = 0L;
+    this.rawEnd = NO_RAW_END;
+  }
+
+  /**
+   * @return The number of serial numbers remaining in the block
+   */
+
+  public long remaining()
+  {
+    return this.remaining;
+  }
+
+  /**
+   * @return {@code true} if serial numbers remain in the block
+   */
+
+  public boolean hasNext()
+  {
+    return this.remaining > 0L;
+  }
+
+  /**
+   * @return The next serial number in the block
+   *
+   * @throws NoSuchElementException If the block is exhausted
+   */
+
+  public long next()
+  {
+    if (this.remaining == 0L) {
+      throw new NoSuchElementException(
+        String.format(
+          "The %d-bit serial number block is exhausted",
+          Integer.valueOf(this.serial.bits())));
+    }
+    final long result = this.cursor;
+    this.cursor = this.serial.add(this.cursor, 1L);
+    --this.remaining;
+    return result;
+  }
+}
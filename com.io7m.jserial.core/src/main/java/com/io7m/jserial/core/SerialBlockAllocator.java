@@ -0,0 +1,267 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * <p>An allocator that hands out serial numbers to many threads in blocks.</p>
+ *
+ * <p>A thread claims a block of consecutive serial numbers from a shared
+ * counter with a single atomic {@code getAndAdd}, and then hands out the
+ * serial numbers in the block locally without contention. The shared
+ * counter is padded so that it does not share a cache line with any other
+ * frequently written data.</p>
+ *
+ * <p>The unused tail of a block may be released with
+ * {@link #release(SerialBlock)}. If no other block has been claimed since,
+ * the tail is returned to the shared counter so that no serial numbers are
+ * skipped. Otherwise, the tail is either discarded or, if the allocator was
+ * created with fragment reuse enabled, queued so that it is handed out by a
+ * later claim. Note that reused fragments are handed out after serial
+ * numbers that follow them; the allocator only guarantees that each serial
+ * number is handed out once per lap of the serial number space.</p>
+ */
+
+public final class SerialBlockAllocator
+{
+  private static final VarHandle COUNTER =
+    MethodHandles.arrayElementVarHandle(long[].class);
+
+  /**
+   * The counter lives in the middle of a padded array so that it occupies a
+   * cache line on its own.
+   */
+
+  private static final int COUNTER_PADDING = 16;
+  private static final int COUNTER_INDEX = COUNTER_PADDING / 2;
+
+  private final SerialNumberLongType serial;
+  private final long blockSize;
+  private final long mask;
+  private final long[] counter;
+  private final Queue<SerialBlock> fragments;
+  private final ThreadLocal<SerialBlock> local;
+
+  private SerialBlockAllocator(
+    final SerialNumberLongType inSerial,
+    final long initial,
+    final long inBlockSize,
+    final boolean reuseFragments)
+  {
+    this.serial = inSerial;
+    this.blockSize = inBlockSize;
+    this.mask = -1L >>> (Long.SIZE - inSerial.bits());
+    this.counter = new long[COUNTER_PADDING];
+    this.counter[COUNTER_INDEX] = initial;
+    this.fragments = reuseFragments ? new ConcurrentLinkedQueue<>() : null;
+    this.local = ThreadLocal.withInitial(this::newBlock);
+  }
+
+  /**
+   * Create an allocator.
+   *
+   * @param serial         The serial number arithmetic
+   * @param initial        The first serial number to hand out
+   * @param blockSize      The number of serial numbers in each block; at
+   *                       least one, and no larger than half of the serial
+   *                       number space
+   * @param reuseFragments {@code true} if released tails that cannot be
+   *                       returned to the shared counter should be handed
+   *                       out again by later claims
+   *
+   * @return An allocator
+   *
+   * @throws IllegalArgumentException If {@code initial} or {@code blockSize}
+   *                                  is not valid
+   */
+
+  public static SerialBlockAllocator create(
+    final SerialNumberLongType serial,
+    final long initial,
+    final long blockSize,
+    final boolean reuseFragments)
+  {
+    Objects.requireNonNull(serial, "serial");
+    if (!serial.inRange(initial)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Initial value %d is not a valid %d-bit serial number",
+          Long.valueOf(initial),
+          Integer.valueOf(serial.bits())));
+    }
+    if (blockSize < 1L || blockSize > 1L << (serial.bits() - 1)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Block size %d must be in the range [1, 2^%d]",
+          Long.valueOf(blockSize),
+          Integer.valueOf(serial.bits() - 1)));
+    }
+    return new SerialBlockAllocator(serial, initial, blockSize, reuseFragments);
+  }
+
+  /**
+   * Create an allocator.
+   *
+   * @param serial         The serial number arithmetic
+   * @param initial        The first serial number to hand out
+   * @param blockSize      The number of serial numbers in each block; at
+   *                       least one, and no larger than half of the serial
+   *                       number space
+   * @param reuseFragments {@code true} if released tails that cannot be
+   *                       returned to the shared counter should be handed
+   *                       out again by later claims
+   *
+   * @return An allocator
+   *
+   * @throws IllegalArgumentException If {@code initial} or {@code blockSize}
+   *                                  is not valid
+   */
+
+  public static SerialBlockAllocator create(
+    final SerialNumberIntType serial,
+    final long initial,
+    final long blockSize,
+    final boolean reuseFragments)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(
+      SerialNumbers.ofBitsLong(serial.bits()),
+      initial,
+      blockSize,
+      reuseFragments);
+  }
+
+  /**
+   * @return The number of serial numbers in each claimed block
+   */
+
+  public long blockSize()
+  {
+    return this.blockSize;
+  }
+
+  /**
+   * @return A new, empty block that may be filled with
+   * {@link #claim(SerialBlock)}
+   */
+
+  public SerialBlock newBlock()
+  {
+    return new SerialBlock(this.serial);
+  }
+
+  /**
+   * Refill {@code block} with a newly claimed block of serial numbers. Any
+   * serial numbers remaining in {@code block} are discarded; use
+   * {@link #release(SerialBlock)} first to avoid skipping them.
+   *
+   * @param block The block to fill
+   */
+
+  public void claim(
+    final SerialBlock block)
+  {
+    Objects.requireNonNull(block, "block");
+
+    if (this.fragments != null) {
+      final SerialBlock fragment = this.fragments.poll();
+      if (fragment != null) {
+        block.fill(
+          fragment.cursor(),
+          fragment.remaining(),
+          SerialBlock.NO_RAW_END);
+        return;
+      }
+    }
+
+    final long raw =
+      (long) COUNTER.getAndAdd(this.counter, COUNTER_INDEX, this.blockSize);
+    block.fill(raw & this.mask, this.blockSize, raw + this.blockSize);
+  }
+
+  /**
+   * Release the serial numbers remaining in {@code block}, leaving it empty.
+   *
+   * @param block The block
+   *
+   * @return {@code true} if the remaining serial numbers were returned to the
+   * shared counter, and so will be handed out by the next claim
+   */
+
+  public boolean release(
+    final SerialBlock block)
+  {
+    Objects.requireNonNull(block, "block");
+
+    final long remaining = block.remaining();
+    if (remaining == 0L) {
+      block.clear();
+      return false;
+    }
+
+    final long rawEnd = block.rawEnd();
+    if (rawEnd != SerialBlock.NO_RAW_END
+      && COUNTER.compareAndSet(
+      this.counter, COUNTER_INDEX, rawEnd, rawEnd - remaining)) {
+      block.clear();
+      return true;
+    }
+
+    if (this.fragments != null) {
+      final SerialBlock fragment = this.newBlock();
+      fragment.fill(block.cursor(), remaining, SerialBlock.NO_RAW_END);
+      this.fragments.add(fragment);
+    }
+    block.clear();
+    return false;
+  }
+
+  /**
+   * Hand out the next serial number from the calling thread's own block,
+   * claiming a new block when it is exhausted.
+   *
+   * @return A serial number
+   */
+
+  public long next()
+  {
+    final SerialBlock block = this.local.get();
+    if (!block.hasNext()) {
+      this.claim(block);
+    }
+    return block.next();
+  }
+
+  /**
+   * Release the serial numbers remaining in the calling thread's own block.
+   *
+   * @return {@code true} if the remaining serial numbers were returned to the
+   * shared counter
+   *
+   * @see #release(SerialBlock)
+   */
+
+  public boolean releaseLocal()
+  {
+    return this.release(this.local.get());
+  }
+}
@@ -0,0 +1,514 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.zip.CRC32C;
+
+/**
+ * <p>A persistent store of serial number checkpoints, keyed by stream, held
+ * in a memory-mapped file.</p>
+ *
+ * <p>The file consists of a header followed by a fixed number of slots. Each
+ * slot holds a stream key and two copies of the checkpoint, each with a
+ * generation number and a CRC32C checksum. An update is always written to
+ * the older of the two copies, and so a crash part of the way through an
+ * update leaves the other copy intact. When a checkpoint is read, the valid
+ * copy with the newest generation is used.</p>
+ *
+ * <p>Updates are writes to mapped memory, separated by release fences so
+ * that they reach the mapping in order. The key of a new slot is written
+ * before the slot is marked as used. The checksum of a copy is cleared
+ * before its value and generation are written, and it is written again
+ * only after them. If the process crashes, the operating system still
+ * writes back every update made before the crash, in that order, and so
+ * every slot marked as used has its key, and every copy with a matching
+ * checksum is complete.</p>
+ *
+ * <p>If the operating system crashes or power is lost, only the updates
+ * made before the last {@link #flush()} are guaranteed to be durable. The
+ * order in which the operating system writes back dirty pages is not
+ * specified. A later update may be torn, or may be lost entirely, and
+ * then the checksums cause the torn copy to be ignored in favour of the
+ * other copy. Flushing forces every update to the storage device, so the
+ * cost of synchronous writes is paid once per batch of updates rather than
+ * once per update.</p>
+ *
+ * <p>On restart, {@link #resume(long, long, long)} returns the stored
+ * checkpoint advanced by a configurable jump, so that serial numbers that
+ * may have been issued after the last flush are not issued again.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+
+public final class SerialCheckpointStore implements Closeable
+{
+  private static final long MAGIC = 0x4a53_4552_4348_4b31L;
+  private static final int VERSION = 1;
+
+  private static final int HEADER_OFFSET_MAGIC = 0;
+  private static final int HEADER_OFFSET_VERSION = 8;
+  private static final int HEADER_OFFSET_SLOTS = 12;
+  private static final int HEADER_OFFSET_BITS = 16;
+  private static final int HEADER_SIZE = 64;
+
+  private static final int SLOT_OFFSET_KEY = 0;
+  private static final int SLOT_OFFSET_USED = 8;
+  private static final int SLOT_OFFSET_COPIES = 16;
+  private static final int COPY_OFFSET_VALUE = 0;
+  private static final int COPY_OFFSET_GENERATION = 8;
+  private static final int COPY_OFFSET_CRC = 16;
+  private static final int COPY_SIZE = 24;
+  private static final int SLOT_SIZE = 64;
+
+  private final SerialNumberLongType serial;
+  private final FileChannel channel;
+  private final MappedByteBuffer map;
+  private final int slotCount;
+  private final CRC32C crc;
+  private final ByteBuffer crcScratch;
+
+  private SerialCheckpointStore(
+    final SerialNumberLongType inSerial,
+    final FileChannel inChannel,
+    final MappedByteBuffer inMap,
+    final int inSlotCount)
+  {
+    this.serial = inSerial;
+    this.channel = inChannel;
+    this.map = inMap;
+    this.slotCount = inSlotCount;
+    this.crc = new CRC32C();
+    this.crcScratch = ByteBuffer.allocate(COPY_OFFSET_CRC + Long.BYTES);
+  }
+
+  /**
+   * Open or create a checkpoint store. If the file does not exist, or is
+   * empty, it is created with {@code slotCount} slots. A file of the expected
+   * size whose magic number is zero is the remains of a creation that was
+   * interrupted before the header was complete, and is initialized again.
+   * Otherwise, the file must have been created with the same number of slots
+   * and the same serial number width.
+   *
+   * @param file      The file
+   * @param serial    The serial number arithmetic
+   * @param slotCount The number of slots; a power of two, and the maximum
+   *                  number of streams that can be stored
+   *
+   * @return A checkpoint store
+   *
+   * @throws IOException              On I/O errors, or if the file is not a
+   *                                  compatible checkpoint store
+   * @throws IllegalArgumentException If {@code slotCount} is not valid
+   */
+
+  public static SerialCheckpointStore open(
+    final Path file,
+    final SerialNumberLongType serial,
+    final int slotCount)
+    throws IOException
+  {
+    Objects.requireNonNull(file, "file");
+    Objects.requireNonNull(serial, "serial");
+
+    final long maxSlots = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+    if (slotCount < 1 || Integer.bitCount(slotCount) != 1 || slotCount > maxSlots) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Slot count %d must be a power of two in the range [1, %d]",
+          Integer.valueOf(slotCount),
+          Long.valueOf(maxSlots)));
+    }
+
+    final long size = HEADER_SIZE + (long) slotCount * SLOT_SIZE;
+    final FileChannel channel = FileChannel.open(
+      file,
+      StandardOpenOption.CREATE,
+      StandardOpenOption.READ,
+      StandardOpenOption.WRITE);
+
+    try {
+      final long existing = channel.size();
+      if (existing != 0L && existing != size) {
+        throw new IOException(
+          String.format(
+            "Checkpoint file %s has size %d, but %d slots require %d bytes",
+            file,
+            Long.valueOf(existing),
+            Integer.valueOf(slotCount),
+            Long.valueOf(size)));
+      }
+
+      final MappedByteBuffer map =
+        channel.map(FileChannel.MapMode.READ_WRITE, 0L, size);
+
+      if (existing == 0L) {
+        initialize(map, serial, slotCount);
+      } else if (map.getLong(HEADER_OFFSET_MAGIC) == 0L) {
+        clearSlots(map, slotCount);
+        initialize(map, serial, slotCount);
+      } else {
+        checkHeader(file, map, serial, slotCount);
+      }
+
+      return new SerialCheckpointStore(serial, channel, map, slotCount);
+    } catch (final IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Write the header. The other header fields are forced before the magic
+   * number is written, so that the magic number is only ever present in a
+   * file with a complete header.
+   */
+
+  private static void initialize(
+    final MappedByteBuffer map,
+    final SerialNumberLongType serial,
+    final int slotCount)
+  {
+    writeHeaderFields(map, serial, slotCount);
+    map.putLong(HEADER_OFFSET_MAGIC, MAGIC);
+    map.force();
+  }
+
+  /**
+   * Zero every slot of a file whose creation was interrupted. No slot can
+   * have been written by this class before the magic number was present,
+   * but the file contents are otherwise unknown.
+   */
+
+  private static void clearSlots(
+    final MappedByteBuffer map,
+    final int slotCount)
+  {
+    final int end = HEADER_SIZE + slotCount * SLOT_SIZE;
+    for (int offset = HEADER_SIZE; offset < end; offset += Long.BYTES) {
+      map.putLong(offset, 0L);
+    }
+  }
+
+  private static void writeHeaderFields(
+    final MappedByteBuffer map,
+    final SerialNumberLongType serial,
+    final int slotCount)
+  {
+    map.putInt(HEADER_OFFSET_VERSION, VERSION);
+    map.putInt(HEADER_OFFSET_SLOTS, slotCount);
+    map.putInt(HEADER_OFFSET_BITS, serial.bits());
+    map.force();
+  }
+
+  private static void checkHeader(
+    final Path file,
+    final MappedByteBuffer map,
+    final SerialNumberLongType serial,
+    final int slotCount)
+    throws IOException
+  {
+    final long magic = map.getLong(HEADER_OFFSET_MAGIC);
+    if (magic != MAGIC) {
+      throw new IOException(
+        String.format(
+          "Checkpoint file %s has magic number 0x%016x, expected 0x%016x",
+          file,
+          Long.valueOf(magic),
+          Long.valueOf(MAGIC)));
+    }
+
+    final int version = map.getInt(HEADER_OFFSET_VERSION);
+    final int slots = map.getInt(HEADER_OFFSET_SLOTS);
+    final int bits = map.getInt(HEADER_OFFSET_BITS);
+    if (version != VERSION || slots != slotCount || bits != serial.bits()) {
+      throw new IOException(
+        String.format(
+          "Checkpoint file %s has version %d, %d slots, %d-bit serial numbers; "
+            + "expected version %d, %d slots, %d-bit serial numbers",
+          file,
+          Integer.valueOf(version),
+          Integer.valueOf(slots),
+          Integer.valueOf(bits),
+          Integer.valueOf(VERSION),
+          Integer.valueOf(slotCount),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * @return The number of slots in the store
+   */
+
+  public int slotCount()
+  {
+    return this.slotCount;
+  }
+
+  private static int hash(
+    final long key)
+  {
+    long h = key * 0x9e37_79b9_7f4a_7c15L;
+    h ^= h >>> 32;
+    return (int) h;
+  }
+
+  private int slotOffset(
+    final int slot)
+  {
+    return HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+  private int copyOffset(
+    final int slotOffset,
+    final int copy)
+  {
+    return slotOffset + SLOT_OFFSET_COPIES + copy * COPY_SIZE;
+  }
+
+  /**
+   * @return The offset of the slot holding {@code key}, or the complement of
+   * the offset of the first free slot if no slot holds {@code key}, or
+   * {@link Integer#MIN_VALUE} if the store is full
+   */
+
+  private int find(
+    final long key)
+  {
+    final int mask = this.slotCount - 1;
+    int slot = hash(key) & mask;
+    for (int probe = 0; probe < this.slotCount; ++probe) {
+      final int offset = this.slotOffset(slot);
+      if (this.map.getLong(offset + SLOT_OFFSET_USED) == 0L) {
+        return ~offset;
+      }
+      if (this.map.getLong(offset + SLOT_OFFSET_KEY) == key) {
+        return offset;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return Integer.MIN_VALUE;
+  }
+
+  private int checksum(
+    final long key,
+    final long value,
+    final long generation)
+  {
+    this.crcScratch.clear();
+    this.crcScratch.putLong(key);
+    this.crcScratch.putLong(value);
+    this.crcScratch.putLong(generation);
+    this.crcScratch.flip();
+    this.crc.reset();
+    this.crc.update(this.crcScratch);
+    return (int) this.crc.getValue();
+  }
+
+  /**
+   * @return The generation of the copy, or {@code 0} if the copy is not
+   * valid
+   */
+
+  private long validGeneration(
+    final long key,
+    final int copyOffset)
+  {
+    final long generation =
+      this.map.getLong(copyOffset + COPY_OFFSET_GENERATION);
+    if (generation == 0L) {
+      return 0L;
+    }
+    final long value = this.map.getLong(copyOffset + COPY_OFFSET_VALUE);
+    final int stored = this.map.getInt(copyOffset + COPY_OFFSET_CRC);
+    if (stored != this.checksum(key, value, generation)) {
+      return 0L;
+    }
+    return generation;
+  }
+
+  /**
+   * @return The offset of the newest valid copy in the slot, or {@code -1}
+   * if neither copy is valid
+   */
+
+  private int newestCopy(
+    final long key,
+    final int slotOffset)
+  {
+    final int copy0 = this.copyOffset(slotOffset, 0);
+    final int copy1 = this.copyOffset(slotOffset, 1);
+    final long generation0 = this.validGeneration(key, copy0);
+    final long generation1 = this.validGeneration(key, copy1);
+    if (generation0 == 0L && generation1 == 0L) {
+      return -1;
+    }
+    return Long.compareUnsigned(generation0, generation1) >= 0 ? copy0 : copy1;
+  }
+
+  /**
+   * @param key The stream key
+   *
+   * @return The checkpoint stored for {@code key}, if any
+   */
+
+  public OptionalLong get(
+    final long key)
+  {
+    final int offset = this.find(key);
+    if (offset >= 0) {
+      final int copy = this.newestCopy(key, offset);
+      if (copy >= 0) {
+        return OptionalLong.of(this.map.getLong(copy + COPY_OFFSET_VALUE));
+      }
+    }
+    return OptionalLong.empty();
+  }
+
+  /**
+   * Store a checkpoint for {@code key}. The update is not guaranteed to be
+   * durable until {@link #flush()} is called.
+   *
+   * @param key   The stream key
+   * @param value The serial number
+   *
+   * @throws IllegalArgumentException If {@code value} is not a valid serial
+   *                                  number
+   * @throws IllegalStateException    If {@code key} is not in the store and
+   *                                  every slot is in use
+   */
+
+  public void put(
+    final long key,
+    final long value)
+  {
+    if (!this.serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Long.valueOf(value),
+          Integer.valueOf(this.serial.bits())));
+    }
+
+    int offset = this.find(key);
+    if (offset == Integer.MIN_VALUE) {
+      throw new IllegalStateException(
+        String.format(
+          "All %d checkpoint slots are in use",
+          Integer.valueOf(this.slotCount)));
+    }
+    if (offset < 0) {
+      offset = ~offset;
+      this.map.putLong(offset + SLOT_OFFSET_KEY, key);
+      VarHandle.releaseFence();
+      this.map.putLong(offset + SLOT_OFFSET_USED, 1L);
+    }
+
+    final int copy0 = this.copyOffset(offset, 0);
+    final int copy1 = this.copyOffset(offset, 1);
+    final long generation0 = this.validGeneration(key, copy0);
+    final long generation1 = this.validGeneration(key, copy1);
+
+    final int target;
+    final long generation;
+    if (Long.compareUnsigned(generation0, generation1) >= 0) {
+      target = copy1;
+      generation = generation0 + 1L;
+    } else {
+      target = copy0;
+      generation = generation1 + 1L;
+    }
+
+    this.map.putInt(target + COPY_OFFSET_CRC, 0);
+    VarHandle.releaseFence();
+    this.map.putLong(target + COPY_OFFSET_VALUE, value);
+    this.map.putLong(target + COPY_OFFSET_GENERATION, generation);
+    VarHandle.releaseFence();
+    this.map.putInt(
+      target + COPY_OFFSET_CRC,
+      this.checksum(key, value, generation));
+  }
+
+  /**
+   * Resume the stream {@code key} after a restart. If a checkpoint is stored
+   * for {@code key}, the result is the checkpoint advanced by {@code jump};
+   * otherwise, the result is {@code initial}. The result is stored as the
+   * new checkpoint for {@code key}.
+   *
+   * @param key     The stream key
+   * @param jump    The distance to advance a stored checkpoint
+   * @param initial The serial number used if no checkpoint is stored
+   *
+   * @return The serial number from which to resume
+   *
+   * @throws IllegalArgumentException If {@code jump} or {@code initial} is not
+   *                                  a valid serial number
+   */
+
+  public long resume(
+    final long key,
+    final long jump,
+    final long initial)
+  {
+    if (!this.serial.inRange(jump)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Jump %d is not a valid %d-bit serial number",
+          Long.valueOf(jump),
+          Integer.valueOf(this.serial.bits())));
+    }
+
+    final OptionalLong stored = this.get(key);
+    final long result;
+    if (stored.isPresent()) {
+      result = this.serial.add(stored.getAsLong(), jump);
+    } else {
+      result = initial;
+    }
+    this.put(key, result);
+    return result;
+  }
+
+  /**
+   * Force all updates to the storage device.
+   */
+
+  public void flush()
+  {
+    this.map.force();
+  }
+
+  @Override
+  public void close()
+    throws IOException
+  {
+    try {
+      this.map.force();
+    } finally {
+      this.channel.close();
+    }
+  }
+}
@@ -0,0 +1,543 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Objects;
+
+/**
+ * <p>Functions to read and write serial numbers of various widths in
+ * {@link ByteBuffer}s.</p>
+ *
+ * <p>A serial number of {@code n} bits occupies {@code ceil(n / 8)} bytes.
+ * All functions use absolute offsets, respect the byte order of the buffer,
+ * and do not allocate. Writes reject values that do not fit in the field,
+ * and reads of fields whose width is not a multiple of eight ignore the
+ * unused high bits.</p>
+ */
+
+public final class SerialCodec
+{
+  private static final long MASK_24 = 0xff_ffffL;
+  private static final long MASK_32 = 0xffff_ffffL;
+  private static final long MASK_40 = 0xff_ffff_ffffL;
+  private static final long MASK_48 = 0xffff_ffff_ffffL;
+  private static final long MASK_56 = 0xff_ffff_ffff_ffffL;
+  private static final long MASK_62 = 0x3fff_ffff_ffff_ffffL;
+
+  private SerialCodec()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static boolean isBig(
+    final ByteBuffer buffer)
+  {
+    return buffer.order() == ByteOrder.BIG_ENDIAN;
+  }
+
+  private static void checkValue(
+    final long value,
+    final long mask,
+    final int bits)
+  {
+    if ((value & ~mask) != 0L) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %s does not fit in a %d-bit field",
+          Long.toUnsignedString(value),
+          Integer.valueOf(bits)));
+    }
+  }
+
+  /**
+   * @param bits A width in bits
+   *
+   * @return The number of bytes occupied by a serial number of the given
+   * width
+   */
+
+  public static int bytesFor(
+    final int bits)
+  {
+    if (bits < 1 || bits > 63) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Width %d must be in the range [1, 63]",
+          Integer.valueOf(bits)));
+    }
+    return (bits + 7) >>> 3;
+  }
+
+  /**
+   * Read an 8-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static int get8(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return buffer.get(offset) & 0xff;
+  }
+
+  /**
+   * Write an 8-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put8(
+    final ByteBuffer buffer,
+    final int offset,
+    final int value)
+  {
+    checkValue(value, 0xffL, 8);
+    buffer.put(offset, (byte) value);
+  }
+
+  /**
+   * Read a 16-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static int get16(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return buffer.getShort(offset) & 0xffff;
+  }
+
+  /**
+   * Write a 16-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put16(
+    final ByteBuffer buffer,
+    final int offset,
+    final int value)
+  {
+    checkValue(value, 0xffffL, 16);
+    buffer.putShort(offset, (short) value);
+  }
+
+  /**
+   * Read a 24-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static int get24(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, 3, buffer.limit());
+    if (isBig(buffer)) {
+      return ((buffer.get(offset) & 0xff) << 16)
+        | (buffer.getShort(offset + 1) & 0xffff);
+    }
+    return (buffer.getShort(offset) & 0xffff)
+      | ((buffer.get(offset + 2) & 0xff) << 16);
+  }
+
+  /**
+   * Write a 24-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put24(
+    final ByteBuffer buffer,
+    final int offset,
+    final int value)
+  {
+    checkValue(value, MASK_24, 24);
+    Objects.checkFromIndexSize(offset, 3, buffer.limit());
+    if (isBig(buffer)) {
+      buffer.put(offset, (byte) (value >>> 16));
+      buffer.putShort(offset + 1, (short) value);
+    } else {
+      buffer.putShort(offset, (short) value);
+      buffer.put(offset + 2, (byte) (value >>> 16));
+    }
+  }
+
+  /**
+   * Read a 32-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get32(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return buffer.getInt(offset) & MASK_32;
+  }
+
+  /**
+   * Write a 32-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put32(
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    checkValue(value, MASK_32, 32);
+    buffer.putInt(offset, (int) value);
+  }
+
+  /**
+   * Read a 40-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get40(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, 5, buffer.limit());
+    if (isBig(buffer)) {
+      return ((buffer.get(offset) & 0xffL) << 32)
+        | (buffer.getInt(offset + 1) & MASK_32);
+    }
+    return (buffer.getInt(offset) & MASK_32)
+      | ((buffer.get(offset + 4) & 0xffL) << 32);
+  }
+
+  /**
+   * Write a 40-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put40(
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    checkValue(value, MASK_40, 40);
+    Objects.checkFromIndexSize(offset, 5, buffer.limit());
+    if (isBig(buffer)) {
+      buffer.put(offset, (byte) (value >>> 32));
+      buffer.putInt(offset + 1, (int) value);
+    } else {
+      buffer.putInt(offset, (int) value);
+      buffer.put(offset + 4, (byte) (value >>> 32));
+    }
+  }
+
+  /**
+   * Read a 48-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get48(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, 6, buffer.limit());
+    if (isBig(buffer)) {
+      return ((buffer.getShort(offset) & 0xffffL) << 32)
+        | (buffer.getInt(offset + 2) & MASK_32);
+    }
+    return (buffer.getInt(offset) & MASK_32)
+      | ((buffer.getShort(offset + 4) & 0xffffL) << 32);
+  }
+
+  /**
+   * Write a 48-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put48(
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    checkValue(value, MASK_48, 48);
+    Objects.checkFromIndexSize(offset, 6, buffer.limit());
+    if (isBig(buffer)) {
+      buffer.putShort(offset, (short) (value >>> 32));
+      buffer.putInt(offset + 2, (int) value);
+    } else {
+      buffer.putInt(offset, (int) value);
+      buffer.putShort(offset + 4, (short) (value >>> 32));
+    }
+  }
+
+  /**
+   * Read a 56-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get56(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, 7, buffer.limit());
+    final long high;
+    final long middle;
+    final long low;
+    if (isBig(buffer)) {
+      high = buffer.get(offset) & 0xffL;
+      middle = buffer.getShort(offset + 1) & 0xffffL;
+      low = buffer.getInt(offset + 3) & MASK_32;
+    } else {
+      low = buffer.getInt(offset) & MASK_32;
+      middle = buffer.getShort(offset + 4) & 0xffffL;
+      high = buffer.get(offset + 6) & 0xffL;
+    }
+    return (high << 48) | (middle << 32) | low;
+  }
+
+  /**
+   * Write a 56-bit serial number.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put56(
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    checkValue(value, MASK_56, 56);
+    Objects.checkFromIndexSize(offset, 7, buffer.limit());
+    if (isBig(buffer)) {
+      buffer.put(offset, (byte) (value >>> 48));
+      buffer.putShort(offset + 1, (short) (value >>> 32));
+      buffer.putInt(offset + 3, (int) value);
+    } else {
+      buffer.putInt(offset, (int) value);
+      buffer.putShort(offset + 4, (short) (value >>> 32));
+      buffer.put(offset + 6, (byte) (value >>> 48));
+    }
+  }
+
+  /**
+   * Read a 62-bit serial number. The field occupies eight bytes.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get62(
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return buffer.getLong(offset) & MASK_62;
+  }
+
+  /**
+   * Write a 62-bit serial number. The field occupies eight bytes.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put62(
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    checkValue(value, MASK_62, 62);
+    buffer.putLong(offset, value);
+  }
+
+  /**
+   * Read a serial number of any width in {@code [1, 63]}.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param bits   The width of the serial number
+   *
+   * @return The serial number
+   */
+
+  public static long getBits(
+    final ByteBuffer buffer,
+    final int offset,
+    final int bits)
+  {
+    final long mask = -1L >>> (Long.SIZE - bits);
+    final long raw = switch (bytesFor(bits)) {
+      case 1 -> get8(buffer, offset);
+      case 2 -> get16(buffer, offset);
+      case 3 -> get24(buffer, offset);
+      case 4 -> get32(buffer, offset);
+      case 5 -> get40(buffer, offset);
+      case 6 -> get48(buffer, offset);
+      case 7 -> get56(buffer, offset);
+      default -> buffer.getLong(offset);
+    };
+    return raw & mask;
+  }
+
+  /**
+   * Write a serial number of any width in {@code [1, 63]}.
+   *
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param bits   The width of the serial number
+   * @param value  The serial number
+   */
+
+  public static void putBits(
+    final ByteBuffer buffer,
+    final int offset,
+    final int bits,
+    final long value)
+  {
+    final int bytes = bytesFor(bits);
+    checkValue(value, -1L >>> (Long.SIZE - bits), bits);
+    switch (bytes) {
+      case 1 -> put8(buffer, offset, (int) value);
+      case 2 -> put16(buffer, offset, (int) value);
+      case 3 -> put24(buffer, offset, (int) value);
+      case 4 -> put32(buffer, offset, value);
+      case 5 -> put40(buffer, offset, value);
+      case 6 -> put48(buffer, offset, value);
+      case 7 -> put56(buffer, offset, value);
+      default -> buffer.putLong(offset, value);
+    }
+  }
+
+  /**
+   * Read a serial number of the width used by {@code serial}.
+   *
+   * @param serial The serial number arithmetic
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static int get(
+    final SerialNumberIntType serial,
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return (int) getBits(buffer, offset, serial.bits());
+  }
+
+  /**
+   * Write a serial number of the width used by {@code serial}.
+   *
+   * @param serial The serial number arithmetic
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put(
+    final SerialNumberIntType serial,
+    final ByteBuffer buffer,
+    final int offset,
+    final int value)
+  {
+    putBits(buffer, offset, serial.bits(), Integer.toUnsignedLong(value));
+  }
+
+  /**
+   * Read a serial number of the width used by {@code serial}.
+   *
+   * @param serial The serial number arithmetic
+   * @param buffer The buffer
+   * @param offset The byte offset
+   *
+   * @return The serial number
+   */
+
+  public static long get(
+    final SerialNumberLongType serial,
+    final ByteBuffer buffer,
+    final int offset)
+  {
+    return getBits(buffer, offset, serial.bits());
+  }
+
+  /**
+   * Write a serial number of the width used by {@code serial}.
+   *
+   * @param serial The serial number arithmetic
+   * @param buffer The buffer
+   * @param offset The byte offset
+   * @param value  The serial number
+   */
+
+  public static void put(
+    final SerialNumberLongType serial,
+    final ByteBuffer buffer,
+    final int offset,
+    final long value)
+  {
+    putBits(buffer, offset, serial.bits(), value);
+  }
+}
@@ -25,75 +25,58 @@ final class SerialDistance
     throw new UnreachableCodeException();
   }
 
-  private static int sign(
-    final int x)
-  {
-    return x > 0 ? 1 : -1;
-  }
+  /**
+   * Calculate the signed distance between {@code s0} and {@code s1} in a
+   * serial number space of {@code 2 ^ bits} values.
+   *
+   * The difference between the two numbers is sign-extended from
+   * {@code bits} bits, which yields the shortest route around the number
+   * line in the range {@code [-2 ^ (bits - 1), 2 ^ (bits - 1))}. The only
+   * ambiguous case is a difference of exactly {@code 2 ^ (bits - 1)}, where
+   * both routes are the same length; the direct (non-wrapping) route is
+   * taken, preserving the sign of {@code s1 - s0}.
+   *
+   * @param s0   A serial number
+   * @param s1   A serial number
+   * @param bits The number of bits in the serial number space
+   *
+   * @return The distance
+   */
 
   static int distance(
     final int s0,
     final int s1,
-    final int max)
+    final int bits)
   {
-    final int lower = Math.min(s0, s1);
-    final int higher = Math.max(s0, s1);
-
-    // Non-serial distance from higher number to 256.
-    final int to_end = max - higher;
-
-    // Non-serial distance going directly between inputs.
-    final int inner = higher - lower;
-
-    // Non-serial distance the way that wraps around on the number line.
-    final int outer = lower + to_end;
-
-    // Attempt to find the shortest distance.
-    final int direction;
-    if (Math.abs(inner) <= Math.abs(outer)) {
-      // The inner route; go right on the number line if s1 > s0.
-      direction = sign(s1 - s0);
-      return inner * direction;
-    }
-
-    // The outer route that wraps around; go left on the number line if s0 < s1.
-    direction = sign(s0 - s1);
-    return outer * direction;
+    final int shift = Integer.SIZE - bits;
+    final int half = 1 << (bits - 1);
+    final int inner = s1 - s0;
+    final int shortest = (inner << shift) >> shift;
+    return inner == half ? half : shortest;
   }
 
-  private static long signL(
-    final long x)
-  {
-    return x > 0L ? 1L : -1L;
-  }
+  /**
+   * Calculate the signed distance between {@code s0} and {@code s1} in a
+   * serial number space of {@code 2 ^ bits} values.
+   *
+   * @param s0   A serial number
+   * @param s1   A serial number
+   * @param bits The number of bits in the serial number space
+   *
+   * @return The distance
+   *
+   * @see #distance(int, int, int)
+   */
 
   static long distanceL(
     final long s0,
     final long s1,
-    final long max)
+    final int bits)
   {
-    final long lower = Math.min(s0, s1);
-    final long higher = Math.max(s0, s1);
-
-    // Non-serial distance from higher number to 256.
-    final long to_end = max - higher;
-
-    // Non-serial distance going directly between inputs.
-    final long inner = higher - lower;
-
-    // Non-serial distance the way that wraps around on the number line.
-    final long outer = lower + to_end;
-
-    // Attempt to find the shortest distance.
-    final long direction;
-    if (Math.abs(inner) <= Math.abs(outer)) {
-      // The inner route; go right on the number line if s1 > s0.
-      direction = signL(s1 - s0);
-      return inner * direction;
-    }
-
-    // The outer route that wraps around; go left on the number line if s0 < s1.
-    direction = signL(s0 - s1);
-    return outer * direction;
+    final int shift = Long.SIZE - bits;
+    final long half = 1L << (bits - 1);
+    final long inner = s1 - s0;
+    final long shortest = (inner << shift) >> shift;
+    return inner == half ? half : shortest;
   }
 }
@@ -0,0 +1,334 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+import java.util.Objects;
+
+/**
+ * <p>Functions to truncate 62-bit serial numbers for transmission, and to
+ * expand truncated serial numbers back to their full values.</p>
+ *
+ * <p>A sender transmits only the low 8, 16, 24, or 32 bits of a serial
+ * number. The receiver reconstructs the full value by choosing the candidate
+ * closest to the serial number following the largest it has seen. This is
+ * the packet number encoding used by QUIC (RFC 9000, appendix A). The sender
+ * picks a width large enough that the receiver cannot pick the wrong
+ * candidate, given the largest serial number the receiver is known to
+ * have seen.</p>
+ *
+ * <p>Full serial numbers are {@link SerialNumber62} values that, as with QUIC
+ * packet numbers, are never expected to wrap. Truncated serial numbers, on
+ * the other hand, wrap constantly, and the candidate closest to the expected
+ * serial number is found using serial number distance over the truncated
+ * width. The distance is computed inline with a mask, so that batch
+ * expansion runs without any interface dispatch per value.</p>
+ */
+
+public final class SerialExpander
+{
+  private SerialExpander()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static void checkTruncatedBits(
+    final int truncatedBits)
+  {
+    switch (truncatedBits) {
+      case 8, 16, 24, 32 -> {
+        // Valid
+      }
+      default -> throw new IllegalArgumentException(
+        String.format(
+          "Truncated width %d must be one of 8, 16, 24, or 32",
+          Integer.valueOf(truncatedBits)));
+    }
+  }
+
+  private static void checkFull(
+    final String name,
+    final long value)
+  {
+    if (!SerialNumber62.inRangeStatic(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "%s serial number %d is not a valid 62-bit serial number",
+          name,
+          Long.valueOf(value)));
+    }
+  }
+
+  /**
+   * Expand a truncated serial number to its full 62-bit value. The result is
+   * the value whose low {@code truncatedBits} bits are {@code truncated} and
+   * that is closest to {@code largestSeen + 1}. Ties are resolved in favour
+   * of the larger candidate, and the result is always a valid 62-bit serial
+   * number.
+   *
+   * @param largestSeen   The largest serial number received so far
+   * @param truncated     The truncated serial number
+   * @param truncatedBits The width of the truncated serial number; one of
+   *                      {@code 8}, {@code 16}, {@code 24}, or {@code 32}
+   *
+   * @return The full serial number
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static long expand(
+    final long largestSeen,
+    final long truncated,
+    final int truncatedBits)
+  {
+    checkTruncatedBits(truncatedBits);
+    checkFull("Largest", largestSeen);
+    final SerialNumberLongType narrow = SerialNumbers.ofBitsLong(truncatedBits);
+    if (!narrow.inRange(truncated)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Truncated serial number %d does not fit in %d bits",
+          Long.valueOf(truncated),
+          Integer.valueOf(truncatedBits)));
+    }
+    final long mask = (1L << truncatedBits) - 1L;
+    return expandUnchecked(mask, (mask >>> 1) + 1L, largestSeen, truncated);
+  }
+
+  /**
+   * <p>Expand a batch of truncated serial numbers. The values are expanded in
+   * order, each against the largest serial number seen so far including the
+   * values earlier in the batch, exactly as if {@link #expand(long, long, int)}
+   * had been called for each value in turn.</p>
+   *
+   * <p>The batch is validated before anything is written to {@code output}.
+   * The method does not allocate.</p>
+   *
+   * @param largestSeen     The largest serial number received before the
+   *                        batch
+   * @param truncated       The truncated serial numbers
+   * @param truncatedOffset The offset of the first value in {@code truncated}
+   * @param truncatedBits   The width of the truncated serial numbers; one of
+   *                        {@code 8}, {@code 16}, {@code 24}, or {@code 32}
+   * @param output          The array that will receive the full serial
+   *                        numbers
+   * @param outputOffset    The offset of the first value in {@code output}
+   * @param count           The number of values to expand
+   *
+   * @return The largest serial number seen after the batch
+   *
+   * @throws IllegalArgumentException  If any argument or value is out of
+   *                                   range
+   * @throws IndexOutOfBoundsException If either range is out of bounds
+   */
+
+  public static long expandAll(
+    final long largestSeen,
+    final long[] truncated,
+    final int truncatedOffset,
+    final int truncatedBits,
+    final long[] output,
+    final int outputOffset,
+    final int count)
+  {
+    checkTruncatedBits(truncatedBits);
+    checkFull("Largest", largestSeen);
+    Objects.checkFromIndexSize(truncatedOffset, count, truncated.length);
+    Objects.checkFromIndexSize(outputOffset, count, output.length);
+
+    final long outside = -1L << truncatedBits;
+    long bad = 0L;
+    for (int index = 0; index < count; ++index) {
+      bad |= truncated[truncatedOffset + index] & outside;
+    }
+    if (bad != 0L) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Batch of %d truncated serial numbers contains values that do not fit in %d bits",
+          Integer.valueOf(count),
+          Integer.valueOf(truncatedBits)));
+    }
+
+    final long mask = (1L << truncatedBits) - 1L;
+    final long halfWindow = (mask >>> 1) + 1L;
+    long largest = largestSeen;
+    for (int index = 0; index < count; ++index) {
+      final long full = expandUnchecked(
+        mask,
+        halfWindow,
+        largest,
+        truncated[truncatedOffset + index]);
+      output[outputOffset + index] = full;
+      largest = Math.max(largest, full);
+    }
+    return largest;
+  }
+
+  /**
+   * Expand a batch of truncated serial numbers.
+   *
+   * @param largestSeen   The largest serial number received before the batch
+   * @param truncated     The truncated serial numbers
+   * @param truncatedBits The width of the truncated serial numbers
+   * @param output        The array that will receive the full serial numbers;
+   *                      at least as long as {@code truncated}
+   *
+   * @return The largest serial number seen after the batch
+   *
+   * @see #expandAll(long, long[], int, int, long[], int, int)
+   */
+
+  public static long expandAll(
+    final long largestSeen,
+    final long[] truncated,
+    final int truncatedBits,
+    final long[] output)
+  {
+    return expandAll(
+      largestSeen,
+      truncated,
+      0,
+      truncatedBits,
+      output,
+      0,
+      truncated.length);
+  }
+
+  /**
+   * Expand {@code truncated} to the full serial number closest to
+   * {@code largestSeen + 1}. The signed serial number distance in the
+   * truncated space, from the expected serial number to {@code truncated},
+   * is the offset of the closest candidate. The distance is taken in the
+   * range {@code (-halfWindow, halfWindow]}, so that a distance of exactly
+   * half the truncated space, which is ambiguous, is resolved upwards as
+   * RFC 9000 does. A candidate outside of the 62-bit space is replaced by the
+   * nearest candidate inside it.
+   */
+
+  private static long expandUnchecked(
+    final long mask,
+    final long halfWindow,
+    final long largestSeen,
+    final long truncated)
+  {
+    final long expected = largestSeen + 1L;
+    final long d =
+      ((truncated - expected + halfWindow - 1L) & mask) - halfWindow + 1L;
+
+    final long candidate = expected + d;
+    if (SerialNumber62.inRangeStatic(candidate)) {
+      return candidate;
+    }
+    final long window = mask + 1L;
+    return candidate < 0L ? candidate + window : candidate - window;
+  }
+
+  /**
+   * Determine the smallest truncated width that allows a receiver that has
+   * seen at least {@code largestAcknowledged} to expand {@code full}
+   * correctly.
+   *
+   * @param full                The full serial number to send
+   * @param largestAcknowledged The largest serial number acknowledged by the
+   *                            receiver
+   *
+   * @return The truncated width; one of {@code 8}, {@code 16}, {@code 24},
+   * or {@code 32}
+   *
+   * @throws IllegalArgumentException If {@code full} is not newer than
+   *                                  {@code largestAcknowledged}, or is too
+   *                                  far ahead of it to be truncated
+   */
+
+  public static int truncatedBits(
+    final long full,
+    final long largestAcknowledged)
+  {
+    checkFull("Full", full);
+    checkFull("Acknowledged", largestAcknowledged);
+    if (full <= largestAcknowledged) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Serial number %d must be newer than the acknowledged serial number %d",
+          Long.valueOf(full),
+          Long.valueOf(largestAcknowledged)));
+    }
+    return truncatedBitsFor(full - largestAcknowledged);
+  }
+
+  /**
+   * Determine the smallest truncated width that allows a receiver that has
+   * not acknowledged any serial number to expand {@code full} correctly.
+   *
+   * @param full The full serial number to send
+   *
+   * @return The truncated width; one of {@code 8}, {@code 16}, {@code 24},
+   * or {@code 32}
+   *
+   * @throws IllegalArgumentException If {@code full} is too large to be
+   *                                  truncated
+   */
+
+  public static int truncatedBitsUnacknowledged(
+    final long full)
+  {
+    checkFull("Full", full);
+    return truncatedBitsFor(full + 1L);
+  }
+
+  private static int truncatedBitsFor(
+    final long unacknowledged)
+  {
+    /*
+     * RFC 9000, appendix A.2: at least log2(unacknowledged) + 1 bits, so that
+     * the receiver's window of half the truncated space covers the packet.
+     */
+
+    final int minimumBits =
+      Long.SIZE - Long.numberOfLeadingZeros(unacknowledged - 1L) + 1;
+    final int bits = (minimumBits + 7) & ~7;
+    if (bits > Integer.SIZE) {
+      throw new IllegalArgumentException(
+        String.format(
+          "%d unacknowledged serial numbers cannot be represented in 32 bits",
+          Long.valueOf(unacknowledged)));
+    }
+    return bits;
+  }
+
+  /**
+   * Truncate a full serial number to the given width.
+   *
+   * @param full          The full serial number
+   * @param truncatedBits The width of the truncated serial number; one of
+   *                      {@code 8}, {@code 16}, {@code 24}, or {@code 32}
+   *
+   * @return The low {@code truncatedBits} bits of {@code full}
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static long truncate(
+    final long full,
+    final int truncatedBits)
+  {
+    checkTruncatedBits(truncatedBits);
+    checkFull("Full", full);
+    return full & ((1L << truncatedBits) - 1L);
+  }
+}
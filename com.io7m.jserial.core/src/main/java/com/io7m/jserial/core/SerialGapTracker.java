@@ -0,0 +1,369 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A tracker of loss, reordering, and duplication in a stream of arriving
+ * serial numbers.</p>
+ *
+ * <p>The tracker is fed serial numbers in arrival order. It remembers which
+ * of the {@code windowBits} serial numbers up to and including the newest
+ * have arrived, and maintains the following statistics:</p>
+ *
+ * <ul>
+ *   <li>{@link #received()}: Serial numbers that arrived for the first
+ *   time.</li>
+ *   <li>{@link #missing()}: Serial numbers within the window that are older
+ *   than the newest serial number and have not arrived. These are the
+ *   currently open gaps.</li>
+ *   <li>{@link #lost()}: Serial numbers that left the window, or were skipped
+ *   over entirely, without arriving.</li>
+ *   <li>{@link #reordered()}: Serial numbers that arrived after a newer serial
+ *   number, but while still within the window. Each fills an open gap. Until
+ *   the window has filled, a serial number older than every serial number
+ *   that has arrived so far also counts as reordered, and the serial numbers
+ *   between it and the previous oldest become missing.</li>
+ *   <li>{@link #maxReorderDepth()}: The largest distance by which a
+ *   reordered serial number arrived behind the newest serial number.</li>
+ *   <li>{@link #duplicates()}: Serial numbers that arrived again while still
+ *   within the window.</li>
+ *   <li>{@link #late()}: Serial numbers that arrived {@code windowBits} or
+ *   more behind the newest serial number. A late serial number that is newer
+ *   than the oldest serial number the window has covered has already been
+ *   counted as received or lost; one that is older was never counted.</li>
+ * </ul>
+ *
+ * <p>The tracker does not allocate after construction. Instances are not
+ * thread-safe.</p>
+ */
+
+public final class SerialGapTracker
+{
+  private final SerialNumberLongType serial;
+  private final long[] bitmap;
+  private final int windowBits;
+  private long highest;
+  private int tracked;
+  private long received;
+  private long missing;
+  private long lost;
+  private long reordered;
+  private long maxReorderDepth;
+  private long duplicates;
+  private long late;
+
+  private SerialGapTracker(
+    final SerialNumberLongType inSerial,
+    final int inWindowBits)
+  {
+    this.serial = inSerial;
+    this.windowBits = inWindowBits;
+    this.bitmap = new long[inWindowBits / Long.SIZE];
+  }
+
+  /**
+   * Create a gap tracker.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A gap tracker
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialGapTracker create(
+    final SerialNumberLongType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    SerialReplayWindow.checkWindowBits(serial.bits(), windowBits);
+    return new SerialGapTracker(serial, windowBits);
+  }
+
+  /**
+   * Create a gap tracker.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A gap tracker
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialGapTracker create(
+    final SerialNumberIntType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), windowBits);
+  }
+
+  /**
+   * @return The window size in bits
+   */
+
+  public int windowBits()
+  {
+    return this.windowBits;
+  }
+
+  /**
+   * @return {@code true} if no serial number has arrived since the tracker
+   * was created or reset
+   */
+
+  public boolean isEmpty()
+  {
+    return this.tracked == 0;
+  }
+
+  /**
+   * @return The newest serial number that has arrived
+   *
+   * @throws IllegalStateException If no serial number has arrived
+   */
+
+  public long highest()
+  {
+    if (this.tracked == 0) {
+      throw new IllegalStateException(
+        String.format(
+          "No serial number has arrived at this %d-bit tracker",
+          Integer.valueOf(this.windowBits)));
+    }
+    return this.highest;
+  }
+
+  /**
+   * @return The number of serial numbers that arrived for the first time
+   */
+
+  public long received()
+  {
+    return this.received;
+  }
+
+  /**
+   * @return The number of serial numbers in currently open gaps
+   */
+
+  public long missing()
+  {
+    return this.missing;
+  }
+
+  /**
+   * @return The number of serial numbers that were given up as lost
+   */
+
+  public long lost()
+  {
+    return this.lost;
+  }
+
+  /**
+   * @return The number of serial numbers that arrived out of order
+   */
+
+  public long reordered()
+  {
+    return this.reordered;
+  }
+
+  /**
+   * @return The largest distance behind the newest serial number at which a
+   * reordered serial number arrived
+   */
+
+  public long maxReorderDepth()
+  {
+    return this.maxReorderDepth;
+  }
+
+  /**
+   * @return The number of duplicate serial numbers detected
+   */
+
+  public long duplicates()
+  {
+    return this.duplicates;
+  }
+
+  /**
+   * @return The number of serial numbers that arrived too far behind the
+   * newest serial number to be checked against the window
+   */
+
+  public long late()
+  {
+    return this.late;
+  }
+
+  /**
+   * Reset the tracker and all statistics to the initial empty state.
+   */
+
+  public void reset()
+  {
+    Arrays.fill(this.bitmap, 0L);
+    this.tracked = 0;
+    this.received = 0L;
+    this.missing = 0L;
+    this.lost = 0L;
+    this.reordered = 0L;
+    this.maxReorderDepth = 0L;
+    this.duplicates = 0L;
+    this.late = 0L;
+  }
+
+  /**
+   * Record the arrival of {@code seq}.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} arrived for the first time, and was
+   * not late
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean receive(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Serial number %d is not a valid %d-bit serial number",
+          Long.valueOf(seq),
+          Integer.valueOf(this.serial.bits())));
+    }
+
+    if (this.tracked == 0) {
+      this.highest = seq;
+      this.tracked = 1;
+      SerialBitmapBits.testAndSet(this.bitmap, seq);
+      ++this.received;
+      return true;
+    }
+
+    final long d = this.serial.distance(this.highest, seq);
+    if (d > 0L) {
+      this.advance(d);
+      this.highest = seq;
+      SerialBitmapBits.testAndSet(this.bitmap, seq);
+      ++this.received;
+      return true;
+    }
+
+    final long behind = -d;
+    if (behind >= this.windowBits) {
+      ++this.late;
+      return false;
+    }
+
+    /*
+     * The window has not yet filled, and seq is older than anything that
+     * has arrived. Extend the window backwards to cover it; the bits for the
+     * newly covered serial numbers have never been set since the last reset.
+     */
+
+    if (behind >= this.tracked) {
+      this.missing += behind + 1L - this.tracked;
+      this.tracked = (int) behind + 1;
+    }
+
+    if (!SerialBitmapBits.testAndSet(this.bitmap, seq)) {
+      ++this.duplicates;
+      return false;
+    }
+
+    ++this.received;
+    ++this.reordered;
+    --this.missing;
+    this.maxReorderDepth = Math.max(this.maxReorderDepth, behind);
+    return true;
+  }
+
+  /**
+   * Move the window forward by {@code d} serial numbers. Tracked serial
+   * numbers that leave the window without having arrived become lost, as do
+   * skipped serial numbers that do not fit in the window at all.
+   */
+
+  private void advance(
+    final long d)
+  {
+    final long skipped = d - 1L;
+    final long overflow = Math.max(0L, d - this.windowBits);
+    final int leaving = (int) Math.min(this.tracked, this.tracked + d - this.windowBits);
+
+    if (leaving > 0) {
+      final long oldest = this.highest - this.tracked + 1L;
+      final int unarrived =
+        leaving - SerialBitmapBits.countFrom(this.bitmap, oldest, leaving);
+      this.lost += unarrived;
+      this.missing -= unarrived;
+    }
+
+    this.lost += overflow;
+    this.missing += skipped - overflow;
+    this.tracked = (int) Math.min(this.windowBits, this.tracked + d);
+    SerialBitmapBits.clearAfter(this.bitmap, this.highest, d);
+  }
+
+  /**
+   * Pass each currently open gap to {@code consumer}, oldest first. Each gap
+   * is a maximal inclusive range of serial numbers within the window that
+   * are older than the newest serial number and have not arrived. A range
+   * may wrap around the end of the serial number space, in which case
+   * {@code first} is numerically greater than {@code last}.
+   *
+   * @param consumer The receiver of gaps
+   */
+
+  public void forEachOpenGap(
+    final SerialRangeConsumerType consumer)
+  {
+    Objects.requireNonNull(consumer, "consumer");
+
+    final long oldest = this.highest - this.tracked + 1L;
+    int offset = 0;
+    while (offset < this.tracked) {
+      if (SerialBitmapBits.isSet(this.bitmap, oldest + offset)) {
+        ++offset;
+        continue;
+      }
+      final int first = offset;
+      while (offset < this.tracked && !SerialBitmapBits.isSet(this.bitmap, oldest + offset)) {
+        ++offset;
+      }
+      consumer.accept(
+        this.serial.add(oldest, first),
+        this.serial.add(oldest, offset - 1L));
+    }
+  }
+}
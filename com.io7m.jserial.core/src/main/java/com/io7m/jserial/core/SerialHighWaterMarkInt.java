@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * <p>A lock-free tracker of the newest serial number seen, according to a
+ * {@link SerialNumberIntType}.</p>
+ *
+ * <p>The mark only ever moves forward in serial number order, and so it
+ * remains correct as the serial number space wraps around. Any number of
+ * threads may call {@link #advanceTo(int)} concurrently. Reads are
+ * acquire reads, and an attempt to advance the mark to a serial number that
+ * is not newer than the mark does not write to the mark at all.</p>
+ */
+
+public final class SerialHighWaterMarkInt
+{
+  private static final VarHandle MARK;
+
+  static {
+    try {
+      MARK = MethodHandles.lookup()
+        .findVarHandle(SerialHighWaterMarkInt.class, "mark", int.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final SerialNumberIntType serial;
+
+  private volatile int mark;
+
+  private SerialHighWaterMarkInt(
+    final SerialNumberIntType inSerial,
+    final int initial)
+  {
+    this.serial = inSerial;
+    this.mark = initial;
+  }
+
+  private static void checkValue(
+    final SerialNumberIntType serial,
+    final int value)
+  {
+    if (!serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Integer.valueOf(value),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * Create a high-water mark.
+   *
+   * @param serial  The serial number arithmetic
+   * @param initial The initial mark
+   *
+   * @return A high-water mark
+   *
+   * @throws IllegalArgumentException If {@code initial} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialHighWaterMarkInt create(
+    final SerialNumberIntType serial,
+    final int initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkValue(serial, initial);
+    return new SerialHighWaterMarkInt(serial, initial);
+  }
+
+  /**
+   * @return The newest serial number seen
+   */
+
+  public int get()
+  {
+    return this.mark;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} is newer than the current mark
+   */
+
+  public boolean isNewer(
+    final int seq)
+  {
+    return this.serial.compare(seq, (int) MARK.getAcquire(this)) > 0;
+  }
+
+  /**
+   * Advance the mark to {@code seq} if {@code seq} is newer than the current
+   * mark.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if the mark was advanced to {@code seq}
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean advanceTo(
+    final int seq)
+  {
+    checkValue(this.serial, seq);
+
+    int current = (int) MARK.getAcquire(this);
+    while (this.serial.compare(seq, current) > 0) {
+      final int witness =
+        (int) MARK.compareAndExchangeRelease(this, current, seq);
+      if (witness == current) {
+        return true;
+      }
+      current = witness;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * <p>A lock-free tracker of the newest serial number seen, according to a
+ * {@link SerialNumberLongType}.</p>
+ *
+ * <p>The mark only ever moves forward in serial number order, and so it
+ * remains correct as the serial number space wraps around. Any number of
+ * threads may call {@link #advanceTo(long)} concurrently. Reads are
+ * acquire reads, and an attempt to advance the mark to a serial number that
+ * is not newer than the mark does not write to the mark at all.</p>
+ */
+
+public final class SerialHighWaterMarkLong
+{
+  private static final VarHandle MARK;
+
+  static {
+    try {
+      MARK = MethodHandles.lookup()
+        .findVarHandle(SerialHighWaterMarkLong.class, "mark", long.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  private final SerialNumberLongType serial;
+
+  private volatile long mark;
+
+  private SerialHighWaterMarkLong(
+    final SerialNumberLongType inSerial,
+    final long initial)
+  {
+    this.serial = inSerial;
+    this.mark = initial;
+  }
+
+  private static void checkValue(
+    final SerialNumberLongType serial,
+    final long value)
+  {
+    if (!serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Long.valueOf(value),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * Create a high-water mark.
+   *
+   * @param serial  The serial number arithmetic
+   * @param initial The initial mark
+   *
+   * @return A high-water mark
+   *
+   * @throws IllegalArgumentException If {@code initial} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialHighWaterMarkLong create(
+    final SerialNumberLongType serial,
+    final long initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkValue(serial, initial);
+    return new SerialHighWaterMarkLong(serial, initial);
+  }
+
+  /**
+   * @return The newest serial number seen
+   */
+
+  public long get()
+  {
+    return this.mark;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} is newer than the current mark
+   */
+
+  public boolean isNewer(
+    final long seq)
+  {
+    return this.serial.compare(seq, (long) MARK.getAcquire(this)) > 0;
+  }
+
+  /**
+   * Advance the mark to {@code seq} if {@code seq} is newer than the current
+   * mark.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if the mark was advanced to {@code seq}
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean advanceTo(
+    final long seq)
+  {
+    checkValue(this.serial, seq);
+
+    long current = (long) MARK.getAcquire(this);
+    while (this.serial.compare(seq, current) > 0) {
+      final long witness =
+        (long) MARK.compareAndExchangeRelease(this, current, seq);
+      if (witness == current) {
+        return true;
+      }
+      current = witness;
+    }
+    return false;
+  }
+}
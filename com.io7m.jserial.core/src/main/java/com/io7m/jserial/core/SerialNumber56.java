@@ -42,12 +42,83 @@ public final class SerialNumber56 implements SerialNumberLongType
     return INSTANCE;
   }
 
+  /**
+   * Add serial numbers. This is equivalent to {@link #add(long, long)}, but
+   * can be bound at compile time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return {@code s0 + s1}
+   */
+
+  public static long addStatic(
+    final long s0,
+    final long s1)
+  {
+    return (s0 + s1) & 0xffffffffffffffL;
+  }
+
+  /**
+   * Calculate the signed distance between {@code s0} and {@code s1}. This
+   * is equivalent to {@link #distance(long, long)}, but can be bound at
+   * compile time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return The distance
+   */
+
+  public static long distanceStatic(
+    final long s0,
+    final long s1)
+  {
+    return SerialDistance.distanceL(s0, s1, 56);
+  }
+
+  /**
+   * Compare the serial numbers {@code s0} and {@code s1}. This is
+   * equivalent to {@link #compare(long, long)}, but can be bound at compile
+   * time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return {@code 0} if the serial numbers are equal, a value less than
+   * {@code 0} if {@code s0 < s1}, or a value greater than {@code 0} if
+   * {@code s0 > s1}
+   */
+
+  public static long compareStatic(
+    final long s0,
+    final long s1)
+  {
+    return -distanceStatic(s0, s1);
+  }
+
+  /**
+   * Determine serial number validity. This is equivalent to
+   * {@link #inRange(long)}, but can be bound at compile time.
+   *
+   * @param s0 A serial number
+   *
+   * @return {@code true} iff {@code s0} is in the range
+   * {@code [0, (2 ^ 56) - 1]}
+   */
+
+  public static boolean inRangeStatic(
+    final long s0)
+  {
+    return (s0 >= 0L) && (s0 < 72057594037927936L);
+  }
+
   @Override
   public long add(
     final long s0,
     final long s1)
   {
-    return (s0 + s1) % 72057594037927936L;
+    return addStatic(s0, s1);
   }
 
   @Override
@@ -61,7 +132,7 @@ public final class SerialNumber56 implements SerialNumberLongType
     final long s0,
     final long s1)
   {
-    return SerialDistance.distanceL(s0, s1, 72057594037927936L);
+    return distanceStatic(s0, s1);
   }
 
   @Override
@@ -69,13 +140,46 @@ public final class SerialNumber56 implements SerialNumberLongType
     final long s0,
     final long s1)
   {
-    return -this.distance(s0, s1);
+    return compareStatic(s0, s1);
   }
 
   @Override
   public boolean inRange(
     final long s0)
   {
-    return (s0 >= 0L) && (s0 < 72057594037927936L);
+    return inRangeStatic(s0);
+  }
+
+  @Override
+  public void add(
+    final long[] in,
+    final long delta,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.addL(in, delta, out, offset, length, 0xffffffffffffffL);
+  }
+
+  @Override
+  public void distance(
+    final long base,
+    final long[] in,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.distanceL(base, in, out, offset, length, 56);
+  }
+
+  @Override
+  public void compare(
+    final long[] a,
+    final long[] b,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.compareL(a, b, out, offset, length, 56);
   }
 }
@@ -42,12 +42,83 @@ public final class SerialNumber8 implements SerialNumberIntType
     return INSTANCE;
   }
 
+  /**
+   * Add serial numbers. This is equivalent to {@link #add(int, int)}, but
+   * can be bound at compile time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return {@code s0 + s1}
+   */
+
+  public static int addStatic(
+    final int s0,
+    final int s1)
+  {
+    return (s0 + s1) & 0xff;
+  }
+
+  /**
+   * Calculate the signed distance between {@code s0} and {@code s1}. This
+   * is equivalent to {@link #distance(int, int)}, but can be bound at
+   * compile time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return The distance
+   */
+
+  public static int distanceStatic(
+    final int s0,
+    final int s1)
+  {
+    return SerialDistance.distance(s0, s1, 8);
+  }
+
+  /**
+   * Compare the serial numbers {@code s0} and {@code s1}. This is
+   * equivalent to {@link #compare(int, int)}, but can be bound at compile
+   * time.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return {@code 0} if the serial numbers are equal, a value less than
+   * {@code 0} if {@code s0 < s1}, or a value greater than {@code 0} if
+   * {@code s0 > s1}
+   */
+
+  public static int compareStatic(
+    final int s0,
+    final int s1)
+  {
+    return -distanceStatic(s0, s1);
+  }
+
+  /**
+   * Determine serial number validity. This is equivalent to
+   * {@link #inRange(int)}, but can be bound at compile time.
+   *
+   * @param s0 A serial number
+   *
+   * @return {@code true} iff {@code s0} is in the range
+   * {@code [0, (2 ^ 8) - 1]}
+   */
+
+  public static boolean inRangeStatic(
+    final int s0)
+  {
+    return (s0 >= 0) && (s0 < 256);
+  }
+
   @Override
   public int add(
     final int s0,
     final int s1)
   {
-    return (s0 + s1) % 256;
+    return addStatic(s0, s1);
   }
 
   @Override
@@ -61,7 +132,7 @@ public final class SerialNumber8 implements SerialNumberIntType
     final int s0,
     final int s1)
   {
-    return SerialDistance.distance(s0, s1, 256);
+    return distanceStatic(s0, s1);
   }
 
   @Override
@@ -69,13 +140,46 @@ public final class SerialNumber8 implements SerialNumberIntType
     final int s0,
     final int s1)
   {
-    return -this.distance(s0, s1);
+    return compareStatic(s0, s1);
   }
 
   @Override
   public boolean inRange(
     final int s0)
   {
-    return (s0 >= 0) && (s0 < 256);
+    return inRangeStatic(s0);
+  }
+
+  @Override
+  public void add(
+    final int[] in,
+    final int delta,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.add(in, delta, out, offset, length, 0xff);
+  }
+
+  @Override
+  public void distance(
+    final int base,
+    final int[] in,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.distance(base, in, out, offset, length, 8);
+  }
+
+  @Override
+  public void compare(
+    final int[] a,
+    final int[] b,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.compare(a, b, out, offset, length, 8);
   }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * An implementation of serial number arithmetic for an arbitrary number of
+ * bits in the range {@code [1, 31]}.
+ */
+
+final class SerialNumberIntN implements SerialNumberIntType
+{
+  private final int bits;
+  private final int mask;
+
+  SerialNumberIntN(
+    final int inBits)
+  {
+    this.bits = inBits;
+    this.mask = (1 << inBits) - 1;
+  }
+
+  @Override
+  public int add(
+    final int s0,
+    final int s1)
+  {
+    return (s0 + s1) & this.mask;
+  }
+
+  @Override
+  public int bits()
+  {
+    return this.bits;
+  }
+
+  @Override
+  public int distance(
+    final int s0,
+    final int s1)
+  {
+    return SerialDistance.distance(s0, s1, this.bits);
+  }
+
+  @Override
+  public int compare(
+    final int s0,
+    final int s1)
+  {
+    return -this.distance(s0, s1);
+  }
+
+  @Override
+  public boolean inRange(
+    final int s0)
+  {
+    return (s0 & ~this.mask) == 0;
+  }
+
+  @Override
+  public void add(
+    final int[] in,
+    final int delta,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.add(in, delta, out, offset, length, this.mask);
+  }
+
+  @Override
+  public void distance(
+    final int base,
+    final int[] in,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.distance(base, in, out, offset, length, this.bits);
+  }
+
+  @Override
+  public void compare(
+    final int[] a,
+    final int[] b,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.compare(a, b, out, offset, length, this.bits);
+  }
+}
@@ -19,9 +19,17 @@ package com.io7m.jserial.core;
 /**
  * The type of serial number arithmetic functions that are implemented using
  * {@code 31} bits or fewer.
+ *
+ * The set of implementations is closed so that call sites that see several
+ * implementations can still be devirtualized. Implementations of any width
+ * can be obtained from {@link SerialNumbers}.
  */
 
-public interface SerialNumberIntType
+public sealed interface SerialNumberIntType
+  permits SerialNumber8,
+  SerialNumber16,
+  SerialNumber24,
+  SerialNumberIntN
 {
   /**
    * @param s0 A serial number
@@ -94,5 +102,92 @@ public interface SerialNumberIntType
    */
 
   boolean inRange(int s);
-}
 
+  /**
+   * Calculate {@code out[i] = add(in[i], delta)} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param in     The input serial numbers
+   * @param delta  The value added to each serial number
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  default void add(
+    final int[] in,
+    final int delta,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.add(in[index], delta);
+    }
+  }
+
+  /**
+   * Calculate {@code out[i] = distance(base, in[i])} for each {@code i}
+   * in {@code [offset, offset + length)}.
+   *
+   * @param base   The serial number from which distances are measured
+   * @param in     The input serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  default void distance(
+    final int base,
+    final int[] in,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.distance(base, in[index]);
+    }
+  }
+
+  /**
+   * Calculate {@code out[i] = compare(a[i], b[i])} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param a      The first serial numbers
+   * @param b      The second serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in all arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for any
+   *                                   array
+   */
+
+  default void compare(
+    final int[] a,
+    final int[] b,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, a.length, out.length);
+    SerialArrays.checkSlice(offset, length, b.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.compare(a[index], b[index]);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * An implementation of serial number arithmetic for an arbitrary number of
+ * bits in the range {@code [1, 63]}.
+ */
+
+final class SerialNumberLongN implements SerialNumberLongType
+{
+  private final int bits;
+  private final long mask;
+
+  SerialNumberLongN(
+    final int inBits)
+  {
+    this.bits = inBits;
+    this.mask = (1L << inBits) - 1L;
+  }
+
+  @Override
+  public long add(
+    final long s0,
+    final long s1)
+  {
+    return (s0 + s1) & this.mask;
+  }
+
+  @Override
+  public int bits()
+  {
+    return this.bits;
+  }
+
+  @Override
+  public long distance(
+    final long s0,
+    final long s1)
+  {
+    return SerialDistance.distanceL(s0, s1, this.bits);
+  }
+
+  @Override
+  public long compare(
+    final long s0,
+    final long s1)
+  {
+    return -this.distance(s0, s1);
+  }
+
+  @Override
+  public boolean inRange(
+    final long s0)
+  {
+    return (s0 & ~this.mask) == 0L;
+  }
+
+  @Override
+  public void add(
+    final long[] in,
+    final long delta,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.addL(in, delta, out, offset, length, this.mask);
+  }
+
+  @Override
+  public void distance(
+    final long base,
+    final long[] in,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.distanceL(base, in, out, offset, length, this.bits);
+  }
+
+  @Override
+  public void compare(
+    final long[] a,
+    final long[] b,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.compareL(a, b, out, offset, length, this.bits);
+  }
+}
@@ -19,9 +19,19 @@ package com.io7m.jserial.core;
 /**
  * The type of serial number arithmetic functions that are implemented using
  * {@code 63} bits or fewer.
+ *
+ * The set of implementations is closed so that call sites that see several
+ * implementations can still be devirtualized. Implementations of any width
+ * can be obtained from {@link SerialNumbers}.
  */
 
-public interface SerialNumberLongType
+public sealed interface SerialNumberLongType
+  permits SerialNumber32,
+  SerialNumber40,
+  SerialNumber48,
+  SerialNumber56,
+  SerialNumber62,
+  SerialNumberLongN
 {
   /**
    * @param s0 A serial number
@@ -93,5 +103,92 @@ public interface SerialNumberLongType
    */
 
   boolean inRange(long s);
-}
 
+  /**
+   * Calculate {@code out[i] = add(in[i], delta)} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param in     The input serial numbers
+   * @param delta  The value added to each serial number
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  default void add(
+    final long[] in,
+    final long delta,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.add(in[index], delta);
+    }
+  }
+
+  /**
+   * Calculate {@code out[i] = distance(base, in[i])} for each {@code i}
+   * in {@code [offset, offset + length)}.
+   *
+   * @param base   The serial number from which distances are measured
+   * @param in     The input serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  default void distance(
+    final long base,
+    final long[] in,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, in.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.distance(base, in[index]);
+    }
+  }
+
+  /**
+   * Calculate {@code out[i] = compare(a[i], b[i])} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param a      The first serial numbers
+   * @param b      The second serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in all arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for any
+   *                                   array
+   */
+
+  default void compare(
+    final long[] a,
+    final long[] b,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    SerialArrays.checkSlice(offset, length, a.length, out.length);
+    SerialArrays.checkSlice(offset, length, b.length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.compare(a[index], b[index]);
+    }
+  }
+}
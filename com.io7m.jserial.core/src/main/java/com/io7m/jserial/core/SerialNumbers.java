@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * Functions to obtain serial number arithmetic implementations for arbitrary
+ * bit widths. Implementations are created once and cached, so repeated
+ * lookups are cheap. The dedicated implementations (such as
+ * {@link SerialNumber16}) are returned for the widths that have them.
+ */
+
+public final class SerialNumbers
+{
+  private static final int INT_BITS_MAX = 31;
+  private static final int LONG_BITS_MAX = 63;
+
+  private static final SerialNumberIntType[] INTS;
+  private static final SerialNumberLongType[] LONGS;
+
+  static {
+    INTS = new SerialNumberIntType[INT_BITS_MAX + 1];
+    for (int bits = 1; bits <= INT_BITS_MAX; ++bits) {
+      INTS[bits] = switch (bits) {
+        case 8 -> SerialNumber8.get();
+        case 16 -> SerialNumber16.get();
+        case 24 -> SerialNumber24.get();
+        default -> new SerialNumberIntN(bits);
+      };
+    }
+
+    LONGS = new SerialNumberLongType[LONG_BITS_MAX + 1];
+    for (int bits = 1; bits <= LONG_BITS_MAX; ++bits) {
+      LONGS[bits] = switch (bits) {
+        case 32 -> SerialNumber32.get();
+        case 40 -> SerialNumber40.get();
+        case 48 -> SerialNumber48.get();
+        case 56 -> SerialNumber56.get();
+        case 62 -> SerialNumber62.get();
+        default -> new SerialNumberLongN(bits);
+      };
+    }
+  }
+
+  private SerialNumbers()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * Obtain {@code int} serial number arithmetic for the given number of bits.
+   *
+   * @param bits The number of bits in the range {@code [1, 31]}
+   *
+   * @return A serial number calculator
+   *
+   * @throws IllegalArgumentException If {@code bits} is out of range
+   */
+
+  public static SerialNumberIntType ofBitsInt(
+    final int bits)
+  {
+    if (bits < 1 || bits > INT_BITS_MAX) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Bit width %d must be in the range [1, %d]",
+          Integer.valueOf(bits),
+          Integer.valueOf(INT_BITS_MAX)));
+    }
+    return INTS[bits];
+  }
+
+  /**
+   * Obtain {@code long} serial number arithmetic for the given number of
+   * bits.
+   *
+   * @param bits The number of bits in the range {@code [1, 63]}
+   *
+   * @return A serial number calculator
+   *
+   * @throws IllegalArgumentException If {@code bits} is out of range
+   */
+
+  public static SerialNumberLongType ofBitsLong(
+    final int bits)
+  {
+    if (bits < 1 || bits > LONG_BITS_MAX) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Bit width %d must be in the range [1, %d]",
+          Integer.valueOf(bits),
+          Integer.valueOf(LONG_BITS_MAX)));
+    }
+    return LONGS[bits];
+  }
+}
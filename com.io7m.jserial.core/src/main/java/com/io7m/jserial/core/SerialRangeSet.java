@@ -0,0 +1,605 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A set of serial numbers stored as sorted, merged, inclusive
+ * intervals.</p>
+ *
+ * <p>Serial numbers are ordered relative to a <i>base</i>, typically the
+ * oldest serial number not yet cumulatively acknowledged. Each interval is
+ * stored as a pair of offsets from the base, and so the set holds no boxed
+ * values. Serial numbers that precede the base are ignored.</p>
+ *
+ * <p>The intervals are held in sorted chunks of at most {@code 256}
+ * intervals, each a {@code long[]}, and the chunks are indexed by a sorted
+ * directory. Membership tests are {@code O(log n)} in the number of
+ * intervals. An insertion is an {@code O(log n)} search followed by a copy
+ * within a single chunk, which is bounded by the chunk size rather than by
+ * the size of the set; only splitting a full chunk or removing an emptied
+ * one moves entries in the directory, which has one entry per {@code 256}
+ * intervals.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+
+public final class SerialRangeSet
+{
+  private static final int CHUNK_RANGES = 256;
+  private static final int INITIAL_CHUNKS = 4;
+
+  private final SerialNumberLongType serial;
+  private long base;
+  private long[][] chunks;
+  private int[] sizes;
+  private int chunkCount;
+  private int count;
+
+  private SerialRangeSet(
+    final SerialNumberLongType inSerial,
+    final long inBase)
+  {
+    this.serial = inSerial;
+    this.base = inBase;
+    this.chunks = new long[INITIAL_CHUNKS][];
+    this.sizes = new int[INITIAL_CHUNKS];
+  }
+
+  /**
+   * Create an empty set.
+   *
+   * @param serial The serial number arithmetic
+   * @param base   The base serial number
+   *
+   * @return An empty set
+   *
+   * @throws IllegalArgumentException If {@code base} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialRangeSet create(
+    final SerialNumberLongType serial,
+    final long base)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkValue(serial, base);
+    return new SerialRangeSet(serial, base);
+  }
+
+  /**
+   * Create an empty set.
+   *
+   * @param serial The serial number arithmetic
+   * @param base   The base serial number
+   *
+   * @return An empty set
+   *
+   * @throws IllegalArgumentException If {@code base} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialRangeSet create(
+    final SerialNumberIntType serial,
+    final long base)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), base);
+  }
+
+  private static void checkValue(
+    final SerialNumberLongType serial,
+    final long value)
+  {
+    if (!serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Value %d is not a valid %d-bit serial number",
+          Long.valueOf(value),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * @return The base serial number
+   */
+
+  public long base()
+  {
+    return this.base;
+  }
+
+  /**
+   * @return The number of disjoint intervals in the set
+   */
+
+  public int rangeCount()
+  {
+    return this.count;
+  }
+
+  /**
+   * @return {@code true} if the set is empty
+   */
+
+  public boolean isEmpty()
+  {
+    return this.count == 0;
+  }
+
+  /**
+   * @return The number of serial numbers in the set
+   */
+
+  public long cardinality()
+  {
+    long total = 0L;
+    for (int chunk = 0; chunk < this.chunkCount; ++chunk) {
+      final long[] ranges = this.chunks[chunk];
+      final int size = this.sizes[chunk];
+      for (int index = 0; index < size; ++index) {
+        total += ranges[index * 2 + 1] - ranges[index * 2] + 1L;
+      }
+    }
+    return total;
+  }
+
+  private long start(
+    final int chunk,
+    final int index)
+  {
+    return this.chunks[chunk][index * 2];
+  }
+
+  private long end(
+    final int chunk,
+    final int index)
+  {
+    return this.chunks[chunk][index * 2 + 1];
+  }
+
+  /**
+   * @return The index of the last chunk whose first interval does not start
+   * after {@code offset}, or {@code -1} if there is no such chunk
+   */
+
+  private int floorChunk(
+    final long offset)
+  {
+    int low = 0;
+    int high = this.chunkCount - 1;
+    int result = -1;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (this.start(middle, 0) <= offset) {
+        result = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return The index of the last interval in {@code chunk} whose start is
+   * not greater than {@code offset}; the chunk must be the one returned by
+   * {@link #floorChunk(long)}
+   */
+
+  private int floorIn(
+    final int chunk,
+    final long offset)
+  {
+    final long[] ranges = this.chunks[chunk];
+    int low = 0;
+    int high = this.sizes[chunk] - 1;
+    int result = 0;
+    while (low <= high) {
+      final int middle = (low + high) >>> 1;
+      if (ranges[middle * 2] <= offset) {
+        result = middle;
+        low = middle + 1;
+      } else {
+        high = middle - 1;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} is in the set
+   */
+
+  public boolean contains(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    final long offset = this.serial.distance(this.base, seq);
+    if (offset < 0L) {
+      return false;
+    }
+    final int chunk = this.floorChunk(offset);
+    return chunk >= 0 && this.end(chunk, this.floorIn(chunk, offset)) >= offset;
+  }
+
+  /**
+   * Add {@code seq} to the set. Serial numbers that precede the base are
+   * ignored.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was not already in the set
+   *
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean add(
+    final long seq)
+  {
+    return this.addRange(seq, seq);
+  }
+
+  /**
+   * Add the serial numbers from {@code first} to {@code last} inclusive to
+   * the set. Serial numbers that precede the base are ignored.
+   *
+   * @param first The first serial number
+   * @param last  The last serial number
+   *
+   * @return {@code true} if any of the serial numbers were not already in the
+   * set
+   *
+   * @throws IllegalArgumentException If {@code first} or {@code last} are not
+   *                                  valid serial numbers, or {@code last}
+   *                                  precedes {@code first}
+   */
+
+  public boolean addRange(
+    final long first,
+    final long last)
+  {
+    checkValue(this.serial, first);
+    checkValue(this.serial, last);
+
+    final long e = this.serial.distance(this.base, last);
+    final long s = Math.max(0L, this.serial.distance(this.base, first));
+    if (this.serial.distance(first, last) < 0L) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Range end %d precedes range start %d",
+          Long.valueOf(last),
+          Long.valueOf(first)));
+    }
+    if (e < 0L) {
+      return false;
+    }
+
+    final int leftChunk = this.floorChunk(s);
+    final int left = leftChunk < 0 ? -1 : this.floorIn(leftChunk, s);
+    if (left >= 0 && this.end(leftChunk, left) >= e) {
+      return false;
+    }
+
+    final long merged = this.firstMerged(leftChunk, left, s);
+    final int mergedChunk = (int) (merged >>> 32);
+    final int mergedIndex = (int) merged;
+
+    final int rightChunk = this.floorChunk(e + 1L);
+    final int right = rightChunk < 0 ? -1 : this.floorIn(rightChunk, e + 1L);
+    if (rightChunk < mergedChunk
+      || (rightChunk == mergedChunk && right < mergedIndex)) {
+      this.insertAfter(leftChunk, left, s, e);
+      return true;
+    }
+
+    final long newEnd = Math.max(e, this.end(rightChunk, right));
+    final long[] ranges = this.chunks[mergedChunk];
+    ranges[mergedIndex * 2] = Math.min(s, ranges[mergedIndex * 2]);
+    ranges[mergedIndex * 2 + 1] = newEnd;
+    this.removeMerged(mergedChunk, mergedIndex, rightChunk, right);
+    return true;
+  }
+
+  /**
+   * Find the first interval that could merge with an interval starting at
+   * {@code s}. This is the interval {@code left} of {@code leftChunk} if it
+   * ends at or after {@code s - 1}, and otherwise the interval following it,
+   * which may be past the end of the set.
+   *
+   * @return The chunk in the high 32 bits, and the index within the chunk in
+   * the low 32 bits
+   */
+
+  private long firstMerged(
+    final int leftChunk,
+    final int left,
+    final long s)
+  {
+    if (leftChunk < 0) {
+      return 0L;
+    }
+    if (this.end(leftChunk, left) >= s - 1L) {
+      return ((long) leftChunk << 32) | left;
+    }
+    if (left + 1 < this.sizes[leftChunk]) {
+      return ((long) leftChunk << 32) | (left + 1);
+    }
+    return (long) (leftChunk + 1) << 32;
+  }
+
+  /**
+   * Remove the intervals after {@code first} in {@code firstChunk}, up to
+   * and including {@code last} in {@code lastChunk}.
+   */
+
+  private void removeMerged(
+    final int firstChunk,
+    final int first,
+    final int lastChunk,
+    final int last)
+  {
+    if (firstChunk == lastChunk) {
+      this.removeIn(firstChunk, first + 1, last + 1);
+      return;
+    }
+
+    this.removeIn(lastChunk, 0, last + 1);
+    final int emptied = this.sizes[lastChunk] == 0 ? 1 : 0;
+    this.removeChunks(firstChunk + 1, lastChunk - firstChunk - 1 + emptied);
+    this.removeIn(firstChunk, first + 1, this.sizes[firstChunk]);
+  }
+
+  /**
+   * Remove the intervals {@code [from, to)} of {@code chunk}. The chunk is
+   * left in place even if it becomes empty.
+   */
+
+  private void removeIn(
+    final int chunk,
+    final int from,
+    final int to)
+  {
+    final int size = this.sizes[chunk];
+    final long[] ranges = this.chunks[chunk];
+    System.arraycopy(ranges, to * 2, ranges, from * 2, (size - to) * 2);
+    this.sizes[chunk] = size - (to - from);
+    this.count -= to - from;
+  }
+
+  /**
+   * Remove {@code n} whole chunks starting at {@code from}.
+   */
+
+  private void removeChunks(
+    final int from,
+    final int n)
+  {
+    if (n == 0) {
+      return;
+    }
+    for (int chunk = from; chunk < from + n; ++chunk) {
+      this.count -= this.sizes[chunk];
+    }
+    final int moved = this.chunkCount - from - n;
+    System.arraycopy(this.chunks, from + n, this.chunks, from, moved);
+    System.arraycopy(this.sizes, from + n, this.sizes, from, moved);
+    this.chunkCount -= n;
+    Arrays.fill(this.chunks, this.chunkCount, this.chunkCount + n, null);
+  }
+
+  /**
+   * Insert an empty chunk at {@code index} in the directory.
+   */
+
+  private void createChunk(
+    final int index)
+  {
+    if (this.chunkCount == this.chunks.length) {
+      this.chunks = Arrays.copyOf(this.chunks, this.chunkCount * 2);
+      this.sizes = Arrays.copyOf(this.sizes, this.chunkCount * 2);
+    }
+    long[] ranges = this.chunks[this.chunkCount];
+    if (ranges == null) {
+      ranges = new long[CHUNK_RANGES * 2];
+    }
+    final int moved = this.chunkCount - index;
+    System.arraycopy(this.chunks, index, this.chunks, index + 1, moved);
+    System.arraycopy(this.sizes, index, this.sizes, index + 1, moved);
+    this.chunks[index] = ranges;
+    this.sizes[index] = 0;
+    ++this.chunkCount;
+  }
+
+  /**
+   * Insert the interval {@code [s, e]} immediately after the interval
+   * {@code left} of {@code leftChunk}, or at the very start of the set if
+   * {@code leftChunk} is negative. A full chunk is split in half first.
+   */
+
+  private void insertAfter(
+    final int leftChunk,
+    final int left,
+    final long s,
+    final long e)
+  {
+    int chunk = Math.max(0, leftChunk);
+    int index = leftChunk < 0 ? 0 : left + 1;
+    if (this.chunkCount == 0) {
+      this.createChunk(0);
+    }
+
+    if (this.sizes[chunk] == CHUNK_RANGES) {
+      final int half = CHUNK_RANGES / 2;
+      this.createChunk(chunk + 1);
+      System.arraycopy(
+        this.chunks[chunk],
+        half * 2,
+        this.chunks[chunk + 1],
+        0,
+        half * 2);
+      this.sizes[chunk] = half;
+      this.sizes[chunk + 1] = half;
+      if (index > half) {
+        chunk += 1;
+        index -= half;
+      }
+    }
+
+    final long[] ranges = this.chunks[chunk];
+    final int size = this.sizes[chunk];
+    System.arraycopy(
+      ranges,
+      index * 2,
+      ranges,
+      (index + 1) * 2,
+      (size - index) * 2);
+    ranges[index * 2] = s;
+    ranges[index * 2 + 1] = e;
+    this.sizes[chunk] = size + 1;
+    ++this.count;
+  }
+
+  /**
+   * Advance the base to {@code newBase}, removing every serial number that
+   * precedes it. Nothing happens if {@code newBase} does not follow the
+   * current base.
+   *
+   * @param newBase The new base serial number
+   *
+   * @throws IllegalArgumentException If {@code newBase} is not a valid serial
+   *                                  number
+   */
+
+  public void removeBefore(
+    final long newBase)
+  {
+    checkValue(this.serial, newBase);
+
+    final long shift = this.serial.distance(this.base, newBase);
+    if (shift <= 0L) {
+      return;
+    }
+
+    int dropped = 0;
+    while (dropped < this.chunkCount
+      && this.end(dropped, this.sizes[dropped] - 1) < shift) {
+      ++dropped;
+    }
+    this.removeChunks(0, dropped);
+
+    if (this.chunkCount > 0) {
+      int leading = 0;
+      while (this.end(0, leading) < shift) {
+        ++leading;
+      }
+      this.removeIn(0, 0, leading);
+    }
+
+    /*
+     * Only the first remaining interval can start before the new base, and
+     * every end is at or after it, so clamping every offset is harmless.
+     */
+
+    for (int chunk = 0; chunk < this.chunkCount; ++chunk) {
+      final long[] ranges = this.chunks[chunk];
+      final int limit = this.sizes[chunk] * 2;
+      for (int index = 0; index < limit; ++index) {
+        ranges[index] = Math.max(0L, ranges[index] - shift);
+      }
+    }
+    this.base = newBase;
+  }
+
+  /**
+   * Remove every serial number from the set and set the base to
+   * {@code newBase}.
+   *
+   * @param newBase The new base serial number
+   *
+   * @throws IllegalArgumentException If {@code newBase} is not a valid serial
+   *                                  number
+   */
+
+  public void reset(
+    final long newBase)
+  {
+    checkValue(this.serial, newBase);
+    this.chunkCount = 0;
+    this.count = 0;
+    this.base = newBase;
+  }
+
+  /**
+   * Pass each interval in the set to {@code consumer}, in serial number
+   * order.
+   *
+   * @param consumer The consumer
+   */
+
+  public void forEachRange(
+    final SerialRangeConsumerType consumer)
+  {
+    Objects.requireNonNull(consumer, "consumer");
+    for (int chunk = 0; chunk < this.chunkCount; ++chunk) {
+      final long[] ranges = this.chunks[chunk];
+      final int size = this.sizes[chunk];
+      for (int index = 0; index < size; ++index) {
+        consumer.accept(
+          this.serial.add(this.base, ranges[index * 2]),
+          this.serial.add(this.base, ranges[index * 2 + 1]));
+      }
+    }
+  }
+
+  /**
+   * Pass each gap in the set to {@code consumer}, in serial number order. A
+   * gap is a maximal range of serial numbers that are not in the set, that
+   * begins at or after the base, and that precedes the newest serial number
+   * in the set. This is the list of serial numbers that would be reported in
+   * a negative acknowledgement.
+   *
+   * @param consumer The consumer
+   */
+
+  public void forEachGap(
+    final SerialRangeConsumerType consumer)
+  {
+    Objects.requireNonNull(consumer, "consumer");
+    long next = 0L;
+    for (int chunk = 0; chunk < this.chunkCount; ++chunk) {
+      final long[] ranges = this.chunks[chunk];
+      final int size = this.sizes[chunk];
+      for (int index = 0; index < size; ++index) {
+        final long s = ranges[index * 2];
+        if (s > next) {
+          consumer.accept(
+            this.serial.add(this.base, next),
+            this.serial.add(this.base, s - 1L));
+        }
+        next = ranges[index * 2 + 1] + 1L;
+      }
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A sliding anti-replay window, as used by protocols such as IPsec and
+ * DTLS.</p>
+ *
+ * <p>The window tracks the newest serial number seen so far, and a bitmap of
+ * the serial numbers seen within the {@code windowBits} serial numbers up to
+ * and including it. A serial number is accepted if it is newer than any
+ * serial number seen so far (in which case the window advances), or if it
+ * falls within the window and has not been seen before. Duplicate serial
+ * numbers, and serial numbers that are older than the window, are
+ * rejected.</p>
+ *
+ * <p>The window does not allocate after construction. Instances are not
+ * thread-safe.</p>
+ */
+
+public final class SerialReplayWindow
+{
+  /**
+   * The smallest supported window size in bits.
+   */
+
+  public static final int WINDOW_BITS_MIN = 64;
+
+  /**
+   * The largest supported window size in bits.
+   */
+
+  public static final int WINDOW_BITS_MAX = 65536;
+
+  private final SerialNumberLongType serial;
+  private final long[] bitmap;
+  private final int windowBits;
+  private long highest;
+  private boolean empty;
+
+  private SerialReplayWindow(
+    final SerialNumberLongType inSerial,
+    final int inWindowBits)
+  {
+    this.serial = inSerial;
+    this.windowBits = inWindowBits;
+    this.bitmap = new long[inWindowBits / Long.SIZE];
+    this.empty = true;
+  }
+
+  static void checkWindowBits(
+    final int serialBits,
+    final int windowBits)
+  {
+    if (windowBits < WINDOW_BITS_MIN
+      || windowBits > WINDOW_BITS_MAX
+      || Integer.bitCount(windowBits) != 1) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Window size %d must be a power of two in the range [%d, %d]",
+          Integer.valueOf(windowBits),
+          Integer.valueOf(WINDOW_BITS_MIN),
+          Integer.valueOf(WINDOW_BITS_MAX)));
+    }
+
+    final int halfBits = serialBits - 1;
+    if (halfBits < Integer.SIZE - 1 && windowBits > 1 << halfBits) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Window size %d must not exceed half of the %d-bit serial number space",
+          Integer.valueOf(windowBits),
+          Integer.valueOf(serialBits)));
+    }
+  }
+
+  /**
+   * Create a replay window.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A replay window
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialReplayWindow create(
+    final SerialNumberLongType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkWindowBits(serial.bits(), windowBits);
+    return new SerialReplayWindow(serial, windowBits);
+  }
+
+  /**
+   * Create a replay window.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A replay window
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialReplayWindow create(
+    final SerialNumberIntType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), windowBits);
+  }
+
+  /**
+   * @return The window size in bits
+   */
+
+  public int windowBits()
+  {
+    return this.windowBits;
+  }
+
+  /**
+   * @return {@code true} if no serial number has been accepted since the
+   * window was created or reset
+   */
+
+  public boolean isEmpty()
+  {
+    return this.empty;
+  }
+
+  /**
+   * @return The newest serial number accepted so far
+   *
+   * @throws IllegalStateException If no serial number has been accepted
+   */
+
+  public long highest()
+  {
+    if (this.empty) {
+      throw new IllegalStateException(
+        String.format(
+          "No serial number has been accepted by this %d-bit window",
+          Integer.valueOf(this.windowBits)));
+    }
+    return this.highest;
+  }
+
+  /**
+   * Reset the window to its initial empty state.
+   */
+
+  public void reset()
+  {
+    Arrays.fill(this.bitmap, 0L);
+    this.empty = true;
+  }
+
+  /**
+   * Determine whether {@code seq} would be accepted, without marking it.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@link #acceptAndMark(long)} would accept
+   * {@code seq}
+   */
+
+  public boolean check(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    if (this.empty) {
+      return true;
+    }
+
+    final long d = this.serial.distance(this.highest, seq);
+    if (d > 0L) {
+      return true;
+    }
+    if (-d >= this.windowBits) {
+      return false;
+    }
+
+    return !SerialBitmapBits.isSet(this.bitmap, seq);
+  }
+
+  /**
+   * Accept and mark {@code seq} if it is newer than every serial number seen
+   * so far, or if it falls within the window and has not been seen before.
+   * Serial numbers that are not valid for the serial number arithmetic are
+   * rejected.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was accepted
+   */
+
+  public boolean acceptAndMark(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+
+    if (this.empty) {
+      this.empty = false;
+      this.highest = seq;
+      SerialBitmapBits.testAndSet(this.bitmap, seq);
+      return true;
+    }
+
+    final long d = this.serial.distance(this.highest, seq);
+    if (d > 0L) {
+      SerialBitmapBits.clearAfter(this.bitmap, this.highest, d);
+      this.highest = seq;
+      SerialBitmapBits.testAndSet(this.bitmap, seq);
+      return true;
+    }
+    if (-d >= this.windowBits) {
+      return false;
+    }
+    return SerialBitmapBits.testAndSet(this.bitmap, seq);
+  }
+}
@@ -0,0 +1,321 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Objects;
+
+/**
+ * <p>A lock-free sliding anti-replay window that may be shared between
+ * threads.</p>
+ *
+ * <p>The window has the same acceptance rules as {@link SerialReplayWindow}:
+ * a serial number is accepted exactly once if it is newer than any serial
+ * number seen so far, or if it falls within the window and has not been seen
+ * before. Any number of threads may call {@link #acceptAndMark(long)}
+ * concurrently; if several threads present the same serial number, exactly
+ * one of them will see it accepted.</p>
+ *
+ * <p>The window is divided into blocks of 32 serial numbers. Each block is
+ * stored in a single {@code long} that packs the block's bitmap together
+ * with a tag identifying the block, so that a block can be marked or
+ * recycled with a single compare-and-set and the window never needs to be
+ * cleared as it advances. Twice as many blocks as are needed to cover the
+ * window are kept so that a block is never recycled while it is still inside
+ * the window.</p>
+ *
+ * <p>Tags are taken from an extended position that counts every serial
+ * number the window has advanced over, rather than from the serial number
+ * itself, so that a block left untouched while the serial number space wraps
+ * around is not mistaken for a live block. Extended positions are kept modulo
+ * {@code 2^63}, which preserves the block and tag arithmetic because every
+ * block boundary divides it, and keeps them non-negative. Tags are 31 bits
+ * wide, and so a block would have to be left untouched for {@code 2^36}
+ * serial numbers for its tag to be reused.</p>
+ */
+
+public final class SerialReplayWindowConcurrent
+{
+  private static final VarHandle SLOTS =
+    MethodHandles.arrayElementVarHandle(long[].class);
+  private static final VarHandle HIGHEST;
+
+  static {
+    try {
+      HIGHEST = MethodHandles.lookup()
+        .findVarHandle(SerialReplayWindowConcurrent.class, "highest", long.class);
+    } catch (final NoSuchFieldException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * The mask applied to extended positions. Positions are never negative, and
+   * so the negative values {@link #EMPTY} and {@link #REJECTED} can never be
+   * confused with a position.
+   */
+
+  private static final long POSITION_MASK = Long.MAX_VALUE;
+
+  /**
+   * The value of {@link #highest} when the window is empty.
+   */
+
+  private static final long EMPTY = -1L;
+
+  /**
+   * The value returned by {@link #advanceOrCheck(long)} for a serial number
+   * that is older than the window.
+   */
+
+  private static final long REJECTED = Long.MIN_VALUE;
+  private static final int BLOCK_SHIFT = 5;
+  private static final int TAG_SHIFT = 32;
+  private static final int TAG_BITS = 31;
+  private static final long VALID = 1L << 63;
+  private static final long BITMAP_MASK = 0xffff_ffffL;
+
+  private final SerialNumberLongType serial;
+  private final SerialNumberLongType tags;
+  private final long[] slots;
+  private final int windowBits;
+  private final int slotMask;
+  private final long tagMask;
+  private final long serialMask;
+
+  /**
+   * The extended position of the newest serial number, or {@link #EMPTY}.
+   */
+
+  private volatile long highest;
+
+  private SerialReplayWindowConcurrent(
+    final SerialNumberLongType inSerial,
+    final int inWindowBits)
+  {
+    this.serial = inSerial;
+    this.windowBits = inWindowBits;
+    this.serialMask = -1L >>> (Long.SIZE - inSerial.bits());
+    this.tags = SerialNumbers.ofBitsLong(TAG_BITS);
+    this.tagMask = (1L << TAG_BITS) - 1L;
+
+    final int slotCount = (inWindowBits * 2) >>> BLOCK_SHIFT;
+    this.slots = new long[slotCount];
+    this.slotMask = slotCount - 1;
+    this.highest = EMPTY;
+  }
+
+  /**
+   * Create a replay window.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A replay window
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialReplayWindowConcurrent create(
+    final SerialNumberLongType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    SerialReplayWindow.checkWindowBits(serial.bits(), windowBits);
+    return new SerialReplayWindowConcurrent(serial, windowBits);
+  }
+
+  /**
+   * Create a replay window.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   *
+   * @return A replay window
+   *
+   * @throws IllegalArgumentException If the window size is not valid
+   */
+
+  public static SerialReplayWindowConcurrent create(
+    final SerialNumberIntType serial,
+    final int windowBits)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), windowBits);
+  }
+
+  /**
+   * @return The window size in bits
+   */
+
+  public int windowBits()
+  {
+    return this.windowBits;
+  }
+
+  /**
+   * @return {@code true} if no serial number has been accepted since the
+   * window was created or reset
+   */
+
+  public boolean isEmpty()
+  {
+    return this.highest == EMPTY;
+  }
+
+  /**
+   * @return The newest serial number accepted so far
+   *
+   * @throws IllegalStateException If no serial number has been accepted
+   */
+
+  public long highest()
+  {
+    final long h = this.highest;
+    if (h == EMPTY) {
+      throw new IllegalStateException(
+        String.format(
+          "No serial number has been accepted by this %d-bit window",
+          Integer.valueOf(this.windowBits)));
+    }
+    return h & this.serialMask;
+  }
+
+  /**
+   * Reset the window to its initial empty state. This method must not be
+   * called concurrently with any other method of the window.
+   */
+
+  public void reset()
+  {
+    for (int index = 0; index < this.slots.length; ++index) {
+      SLOTS.setVolatile(this.slots, index, 0L);
+    }
+    this.highest = EMPTY;
+  }
+
+  /**
+   * Accept and mark {@code seq} if it is newer than every serial number seen
+   * so far, or if it falls within the window and has not been seen before.
+   * Serial numbers that are not valid for the serial number arithmetic are
+   * rejected.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was accepted
+   */
+
+  public boolean acceptAndMark(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    final long position = this.advanceOrCheck(seq);
+    if (position == REJECTED) {
+      return false;
+    }
+    return this.mark(position);
+  }
+
+  /**
+   * Advance the newest serial number to {@code seq} if {@code seq} is newer,
+   * or otherwise check that {@code seq} falls within the window.
+   *
+   * @return The extended position of {@code seq}, or {@link #REJECTED} if
+   * {@code seq} is older than the window
+   */
+
+  private long advanceOrCheck(
+    final long seq)
+  {
+    while (true) {
+      final long h = this.highest;
+      if (h == EMPTY) {
+        if (HIGHEST.compareAndSet(this, EMPTY, seq)) {
+          return seq;
+        }
+        continue;
+      }
+
+      final long d = this.serial.distance(h & this.serialMask, seq);
+      final long position = (h + d) & POSITION_MASK;
+      if (d <= 0L) {
+        return -d < this.windowBits ? position : REJECTED;
+      }
+      if (HIGHEST.compareAndSet(this, h, position)) {
+        return position;
+      }
+    }
+  }
+
+  private boolean mark(
+    final long position)
+  {
+    final long block = position >>> BLOCK_SHIFT;
+    final long tag = block & this.tagMask;
+    final int index = (int) block & this.slotMask;
+    final long bit = 1L << (position & 31L);
+    final long fresh = VALID | (tag << TAG_SHIFT) | bit;
+
+    while (true) {
+      final long current = (long) SLOTS.getVolatile(this.slots, index);
+      final long currentTag = (current >>> TAG_SHIFT) & this.tagMask;
+
+      if ((current & VALID) != 0L && currentTag == tag) {
+        if ((current & bit) != 0L) {
+          return false;
+        }
+        if (SLOTS.compareAndSet(this.slots, index, current, current | bit)) {
+          return true;
+        }
+        continue;
+      }
+
+      if ((current & VALID) != 0L && this.isLiveNewer(tag, currentTag)) {
+        return false;
+      }
+      if (SLOTS.compareAndSet(this.slots, index, current, fresh)) {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Determine whether the block tagged {@code slotTag} is newer than the
+   * block tagged {@code tag} and is not newer than the block holding the
+   * newest serial number. A slot can only hold such a block if the window
+   * advanced past {@code tag} after it was checked, and so the serial number
+   * must be rejected. Any other block is stale and may be recycled.
+   */
+
+  private boolean isLiveNewer(
+    final long tag,
+    final long slotTag)
+  {
+    final long highestTag =
+      (this.highest >>> BLOCK_SHIFT) & this.tagMask;
+
+    final long toSlot = this.tags.distance(tag, slotTag);
+    return toSlot > 0L && toSlot <= this.tags.distance(tag, highestTag);
+  }
+}
@@ -0,0 +1,293 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * <p>A flyweight that operates on {@link SerialReplayWindow}-style anti-replay
+ * windows stored in a {@link ByteBuffer}.</p>
+ *
+ * <p>Storing windows outside of the Java heap allows very large numbers of
+ * windows (one per session, for example) to be held in a single direct or
+ * memory-mapped buffer, without a Java object or array per window. A single
+ * flyweight is positioned at a window with {@link #wrap(int)}, and then
+ * operated on exactly as a {@link SerialReplayWindow} would be. Each window
+ * occupies {@link #sizeInBytes(int)} bytes. A window whose bytes are all zero
+ * is empty, and so freshly allocated or mapped memory does not need to be
+ * initialized.</p>
+ *
+ * <p>All values are read and written using the byte order of the buffer.
+ * Instances are not thread-safe.</p>
+ */
+
+public final class SerialReplayWindowFlyweight
+{
+  private static final int OFFSET_HIGHEST = 0;
+  private static final int OFFSET_FLAGS = 8;
+  private static final int OFFSET_BITMAP = 16;
+  private static final int HEADER_SIZE = OFFSET_BITMAP;
+  private static final long FLAG_NOT_EMPTY = 1L;
+
+  private final SerialNumberLongType serial;
+  private final ByteBuffer buffer;
+  private final int windowBits;
+  private final int size;
+  private int base;
+
+  private SerialReplayWindowFlyweight(
+    final SerialNumberLongType inSerial,
+    final int inWindowBits,
+    final ByteBuffer inBuffer)
+  {
+    this.serial = inSerial;
+    this.windowBits = inWindowBits;
+    this.buffer = inBuffer;
+    this.size = sizeInBytes(inWindowBits);
+    this.base = 0;
+  }
+
+  /**
+   * @param windowBits The window size in bits
+   *
+   * @return The number of bytes occupied by a window of the given size
+   */
+
+  public static int sizeInBytes(
+    final int windowBits)
+  {
+    return HEADER_SIZE + (windowBits / Byte.SIZE);
+  }
+
+  /**
+   * Create a flyweight. The flyweight is initially positioned at offset
+   * {@code 0} of {@code buffer}.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   * @param buffer     The buffer holding the windows
+   *
+   * @return A flyweight
+   *
+   * @throws IllegalArgumentException If the window size is not valid, or the
+   *                                  buffer cannot hold a single window
+   */
+
+  public static SerialReplayWindowFlyweight create(
+    final SerialNumberLongType serial,
+    final int windowBits,
+    final ByteBuffer buffer)
+  {
+    Objects.requireNonNull(serial, "serial");
+    Objects.requireNonNull(buffer, "buffer");
+    SerialReplayWindow.checkWindowBits(serial.bits(), windowBits);
+
+    final SerialReplayWindowFlyweight flyweight =
+      new SerialReplayWindowFlyweight(serial, windowBits, buffer);
+    flyweight.wrap(0);
+    return flyweight;
+  }
+
+  /**
+   * Create a flyweight. The flyweight is initially positioned at offset
+   * {@code 0} of {@code buffer}.
+   *
+   * @param serial     The serial number arithmetic
+   * @param windowBits The window size in bits; a power of two in the range
+   *                   {@code [64, 65536]} that is no larger than half of the
+   *                   serial number space
+   * @param buffer     The buffer holding the windows
+   *
+   * @return A flyweight
+   *
+   * @throws IllegalArgumentException If the window size is not valid, or the
+   *                                  buffer cannot hold a single window
+   */
+
+  public static SerialReplayWindowFlyweight create(
+    final SerialNumberIntType serial,
+    final int windowBits,
+    final ByteBuffer buffer)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), windowBits, buffer);
+  }
+
+  /**
+   * Position the flyweight at the window starting at byte {@code offset} of
+   * the buffer.
+   *
+   * @param offset The byte offset of the window
+   *
+   * @return this
+   *
+   * @throws IndexOutOfBoundsException If the window does not fit in the
+   *                                   buffer at {@code offset}
+   */
+
+  public SerialReplayWindowFlyweight wrap(
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, this.size, this.buffer.capacity());
+    this.base = offset;
+    return this;
+  }
+
+  /**
+   * @return The byte offset of the current window
+   */
+
+  public int offset()
+  {
+    return this.base;
+  }
+
+  /**
+   * @return The window size in bits
+   */
+
+  public int windowBits()
+  {
+    return this.windowBits;
+  }
+
+  /**
+   * @return {@code true} if no serial number has been accepted since the
+   * current window was created or reset
+   */
+
+  public boolean isEmpty()
+  {
+    return this.buffer.getLong(this.base + OFFSET_FLAGS) == 0L;
+  }
+
+  /**
+   * @return The newest serial number accepted by the current window
+   *
+   * @throws IllegalStateException If no serial number has been accepted
+   */
+
+  public long highest()
+  {
+    if (this.isEmpty()) {
+      throw new IllegalStateException(
+        String.format(
+          "No serial number has been accepted by the window at offset %d",
+          Integer.valueOf(this.base)));
+    }
+    return this.buffer.getLong(this.base + OFFSET_HIGHEST);
+  }
+
+  /**
+   * Reset the current window to its initial empty state.
+   */
+
+  public void reset()
+  {
+    for (int index = 0; index < this.size; index += Long.BYTES) {
+      this.buffer.putLong(this.base + index, 0L);
+    }
+  }
+
+  private int bitmapOffset()
+  {
+    return this.base + OFFSET_BITMAP;
+  }
+
+  /**
+   * Determine whether {@code seq} would be accepted by the current window,
+   * without marking it.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@link #acceptAndMark(long)} would accept
+   * {@code seq}
+   */
+
+  public boolean check(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    if (this.isEmpty()) {
+      return true;
+    }
+
+    final long highest = this.buffer.getLong(this.base + OFFSET_HIGHEST);
+    final long d = this.serial.distance(highest, seq);
+    if (d > 0L) {
+      return true;
+    }
+    if (-d >= this.windowBits) {
+      return false;
+    }
+
+    return !SerialBitmapBits.isSet(
+      this.buffer, this.bitmapOffset(), this.windowBits, seq);
+  }
+
+  /**
+   * Accept and mark {@code seq} in the current window if it is newer than
+   * every serial number seen so far, or if it falls within the window and has
+   * not been seen before. Serial numbers that are not valid for the serial
+   * number arithmetic are rejected.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if {@code seq} was accepted
+   */
+
+  public boolean acceptAndMark(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+
+    if (this.isEmpty()) {
+      this.buffer.putLong(this.base + OFFSET_FLAGS, FLAG_NOT_EMPTY);
+      this.buffer.putLong(this.base + OFFSET_HIGHEST, seq);
+      this.mark(seq);
+      return true;
+    }
+
+    final long highest = this.buffer.getLong(this.base + OFFSET_HIGHEST);
+    final long d = this.serial.distance(highest, seq);
+    if (d > 0L) {
+      SerialBitmapBits.clearAfter(
+        this.buffer, this.bitmapOffset(), this.windowBits, highest, d);
+      this.buffer.putLong(this.base + OFFSET_HIGHEST, seq);
+      this.mark(seq);
+      return true;
+    }
+    if (-d >= this.windowBits) {
+      return false;
+    }
+    return this.mark(seq);
+  }
+
+  private boolean mark(
+    final long seq)
+  {
+    return SerialBitmapBits.testAndSet(
+      this.buffer, this.bitmapOffset(), this.windowBits, seq);
+  }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>A ring buffer indexed by serial number, suitable for use as a reorder
+ * or jitter buffer.</p>
+ *
+ * <p>The buffer holds values for the {@code capacity} serial numbers
+ * starting at {@link #next()}. Values may be inserted in any order, and are
+ * removed in serial number order with {@link #poll()}. The slot for a serial
+ * number {@code s} is {@code s & (capacity - 1)}.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ *
+ * @param <T> The type of values
+ */
+
+public final class SerialRingBuffer<T>
+{
+  private final SerialNumberLongType serial;
+  private final Object[] slots;
+  private final int mask;
+  private long next;
+  private int size;
+
+  private SerialRingBuffer(
+    final SerialNumberLongType inSerial,
+    final int inCapacity,
+    final long inNext)
+  {
+    this.serial = inSerial;
+    this.slots = new Object[inCapacity];
+    this.mask = inCapacity - 1;
+    this.next = inNext;
+  }
+
+  static void checkCapacity(
+    final SerialNumberLongType serial,
+    final int capacity,
+    final long initial)
+  {
+    final int halfBits = serial.bits() - 1;
+    if (capacity < 1
+      || Integer.bitCount(capacity) != 1
+      || (halfBits < Integer.SIZE - 1 && capacity > 1 << halfBits)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Capacity %d must be a power of two no larger than half of the %d-bit serial number space",
+          Integer.valueOf(capacity),
+          Integer.valueOf(serial.bits())));
+    }
+    if (!serial.inRange(initial)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Initial serial number %s is not a valid %d-bit serial number",
+          Long.toUnsignedString(initial),
+          Integer.valueOf(serial.bits())));
+    }
+  }
+
+  /**
+   * Create a ring buffer.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param initial  The first serial number expected
+   * @param <T>      The type of values
+   *
+   * @return A ring buffer
+   *
+   * @throws IllegalArgumentException If the capacity or initial serial number
+   *                                  is not valid
+   */
+
+  public static <T> SerialRingBuffer<T> create(
+    final SerialNumberLongType serial,
+    final int capacity,
+    final long initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    checkCapacity(serial, capacity, initial);
+    return new SerialRingBuffer<>(serial, capacity, initial);
+  }
+
+  /**
+   * Create a ring buffer.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param initial  The first serial number expected
+   * @param <T>      The type of values
+   *
+   * @return A ring buffer
+   *
+   * @throws IllegalArgumentException If the capacity or initial serial number
+   *                                  is not valid
+   */
+
+  public static <T> SerialRingBuffer<T> create(
+    final SerialNumberIntType serial,
+    final int capacity,
+    final int initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(
+      SerialNumbers.ofBitsLong(serial.bits()),
+      capacity,
+      Integer.toUnsignedLong(initial));
+  }
+
+  /**
+   * @return The capacity of the buffer
+   */
+
+  public int capacity()
+  {
+    return this.slots.length;
+  }
+
+  /**
+   * @return The number of values currently held
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return {@code true} if the buffer holds no values
+   */
+
+  public boolean isEmpty()
+  {
+    return this.size == 0;
+  }
+
+  /**
+   * @return The next serial number that will be returned by {@link #poll()}
+   */
+
+  public long next()
+  {
+    return this.next;
+  }
+
+  /**
+   * Determine whether {@code seq} lies within the buffer's current range of
+   * {@code capacity} serial numbers starting at {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value for {@code seq} can be held
+   */
+
+  public boolean isInWindow(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return false;
+    }
+    final long d = this.serial.distance(this.next, seq);
+    return d >= 0L && d < this.slots.length;
+  }
+
+  /**
+   * Insert a value for {@code seq}. The value is not inserted if
+   * {@code seq} lies outside the buffer's current range, or if a value is
+   * already held for {@code seq}.
+   *
+   * @param seq   A serial number
+   * @param value The value
+   *
+   * @return {@code true} if the value was inserted
+   */
+
+  public boolean insert(
+    final long seq,
+    final T value)
+  {
+    Objects.requireNonNull(value, "value");
+    if (!this.isInWindow(seq)) {
+      return false;
+    }
+    final int index = (int) seq & this.mask;
+    if (this.slots[index] != null) {
+      return false;
+    }
+    this.slots[index] = value;
+    ++this.size;
+    return true;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value is held for {@code seq}
+   */
+
+  public boolean contains(
+    final long seq)
+  {
+    return this.slots[(int) seq & this.mask] != null && this.isInWindow(seq);
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return The value held for {@code seq}
+   *
+   * @throws NoSuchElementException If no value is held for {@code seq}
+   */
+
+  @SuppressWarnings("unchecked")
+  public T peek(
+    final long seq)
+  {
+    if (!this.contains(seq)) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(seq)));
+    }
+    return (T) this.slots[(int) seq & this.mask];
+  }
+
+  /**
+   * @return {@code true} if a value is held for {@link #next()}
+   */
+
+  public boolean isReady()
+  {
+    return this.slots[(int) this.next & this.mask] != null;
+  }
+
+  /**
+   * Remove and return the value held for {@link #next()}, advancing
+   * {@link #next()} by one.
+   *
+   * @return The value
+   *
+   * @throws NoSuchElementException If no value is held for {@link #next()}
+   * @see #isReady()
+   */
+
+  @SuppressWarnings("unchecked")
+  public T poll()
+  {
+    final int index = (int) this.next & this.mask;
+    final T value = (T) this.slots[index];
+    if (value == null) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(this.next)));
+    }
+    this.slots[index] = null;
+    --this.size;
+    this.next = this.serial.add(this.next, 1L);
+    return value;
+  }
+
+  /**
+   * Advance {@link #next()} to {@code seq}, discarding any values held for
+   * the serial numbers that are skipped. Nothing happens if {@code seq} is
+   * not newer than {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return The number of values discarded
+   */
+
+  public int advanceTo(
+    final long seq)
+  {
+    if (!this.serial.inRange(seq)) {
+      return 0;
+    }
+    final long d = this.serial.distance(this.next, seq);
+    if (d <= 0L) {
+      return 0;
+    }
+
+    final int before = this.size;
+    if (d >= this.slots.length) {
+      Arrays.fill(this.slots, null);
+      this.size = 0;
+    } else {
+      final int start = (int) this.next;
+      for (int index = 0; index < (int) d; ++index) {
+        final int slot = (start + index) & this.mask;
+        if (this.slots[slot] != null) {
+          this.slots[slot] = null;
+          --this.size;
+        }
+      }
+    }
+    this.next = seq;
+    return before - this.size;
+  }
+
+  /**
+   * Discard all values and reset {@link #next()} to {@code initial}.
+   *
+   * @param initial The first serial number expected
+   *
+   * @throws IllegalArgumentException If the serial number is not valid
+   */
+
+  public void reset(
+    final long initial)
+  {
+    checkCapacity(this.serial, this.slots.length, initial);
+    Arrays.fill(this.slots, null);
+    this.size = 0;
+    this.next = initial;
+  }
+}
@@ -0,0 +1,305 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>A ring buffer of {@code long} values indexed by serial number, suitable
+ * for use as a reorder or jitter buffer.</p>
+ *
+ * <p>This is the primitive specialization of {@link SerialRingBuffer}. The
+ * presence of a value for each slot is tracked in a bitmap, and so the
+ * buffer does not allocate after construction. The slot and window
+ * arithmetic is shared with {@link SerialRingBufferLongFlyweight}.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+
+public final class SerialRingBufferLong
+{
+  private final SerialNumberLongType serial;
+  private final long[] values;
+  private final long[] present;
+  private long next;
+  private int size;
+
+  private SerialRingBufferLong(
+    final SerialNumberLongType inSerial,
+    final int inCapacity,
+    final long inNext)
+  {
+    this.serial = inSerial;
+    this.values = new long[inCapacity];
+    this.present = new long[SerialRingBufferWindow.presentWords(inCapacity)];
+    this.next = inNext;
+  }
+
+  /**
+   * Create a ring buffer.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param initial  The first serial number expected
+   *
+   * @return A ring buffer
+   *
+   * @throws IllegalArgumentException If the capacity or initial serial number
+   *                                  is not valid
+   */
+
+  public static SerialRingBufferLong create(
+    final SerialNumberLongType serial,
+    final int capacity,
+    final long initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    SerialRingBuffer.checkCapacity(serial, capacity, initial);
+    return new SerialRingBufferLong(serial, capacity, initial);
+  }
+
+  /**
+   * Create a ring buffer.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param initial  The first serial number expected
+   *
+   * @return A ring buffer
+   *
+   * @throws IllegalArgumentException If the capacity or initial serial number
+   *                                  is not valid
+   */
+
+  public static SerialRingBufferLong create(
+    final SerialNumberIntType serial,
+    final int capacity,
+    final int initial)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(
+      SerialNumbers.ofBitsLong(serial.bits()),
+      capacity,
+      Integer.toUnsignedLong(initial));
+  }
+
+  /**
+   * @return The capacity of the buffer
+   */
+
+  public int capacity()
+  {
+    return this.values.length;
+  }
+
+  /**
+   * @return The number of values currently held
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return {@code true} if the buffer holds no values
+   */
+
+  public boolean isEmpty()
+  {
+    return this.size == 0;
+  }
+
+  /**
+   * @return The next serial number that will be returned by {@link #poll()}
+   */
+
+  public long next()
+  {
+    return this.next;
+  }
+
+  private int slot(
+    final long seq)
+  {
+    return SerialRingBufferWindow.slot(seq, this.values.length);
+  }
+
+  /**
+   * Determine whether {@code seq} lies within the buffer's current range of
+   * {@code capacity} serial numbers starting at {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value for {@code seq} can be held
+   */
+
+  public boolean isInWindow(
+    final long seq)
+  {
+    return SerialRingBufferWindow.isInWindow(
+      this.serial,
+      this.next,
+      this.values.length,
+      seq);
+  }
+
+  /**
+   * Insert a value for {@code seq}. The value is not inserted if
+   * {@code seq} lies outside the buffer's current range, or if a value is
+   * already held for {@code seq}.
+   *
+   * @param seq   A serial number
+   * @param value The value
+   *
+   * @return {@code true} if the value was inserted
+   */
+
+  public boolean insert(
+    final long seq,
+    final long value)
+  {
+    if (!this.isInWindow(seq)) {
+      return false;
+    }
+    if (!SerialBitmapBits.testAndSet(this.present, seq)) {
+      return false;
+    }
+    this.values[this.slot(seq)] = value;
+    ++this.size;
+    return true;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value is held for {@code seq}
+   */
+
+  public boolean contains(
+    final long seq)
+  {
+    return this.isInWindow(seq) && SerialBitmapBits.isSet(this.present, seq);
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return The value held for {@code seq}
+   *
+   * @throws NoSuchElementException If no value is held for {@code seq}
+   */
+
+  public long peek(
+    final long seq)
+  {
+    if (!this.contains(seq)) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(seq)));
+    }
+    return this.values[this.slot(seq)];
+  }
+
+  /**
+   * @return {@code true} if a value is held for {@link #next()}
+   */
+
+  public boolean isReady()
+  {
+    return SerialBitmapBits.isSet(this.present, this.next);
+  }
+
+  /**
+   * Remove and return the value held for {@link #next()}, advancing
+   * {@link #next()} by one.
+   *
+   * @return The value
+   *
+   * @throws NoSuchElementException If no value is held for {@link #next()}
+   * @see #isReady()
+   */
+
+  public long poll()
+  {
+    if (!SerialBitmapBits.isSet(this.present, this.next)) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(this.next)));
+    }
+    SerialBitmapBits.clearAfter(this.present, this.next - 1L, 1L);
+    --this.size;
+    final long value = this.values[this.slot(this.next)];
+    this.next = this.serial.add(this.next, 1L);
+    return value;
+  }
+
+  /**
+   * Advance {@link #next()} to {@code seq}, discarding any values held for
+   * the serial numbers that are skipped. Nothing happens if {@code seq} is
+   * not newer than {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return The number of values discarded
+   */
+
+  public int advanceTo(
+    final long seq)
+  {
+    final long d =
+      SerialRingBufferWindow.advanceDistance(this.serial, this.next, seq);
+    if (d == 0L) {
+      return 0;
+    }
+
+    final int discarded;
+    if (d >= this.values.length) {
+      discarded = this.size;
+      Arrays.fill(this.present, 0L);
+    } else {
+      discarded = SerialBitmapBits.countFrom(this.present, this.next, (int) d);
+      SerialBitmapBits.clearAfter(this.present, this.next - 1L, d);
+    }
+    this.size -= discarded;
+    this.next = seq;
+    return discarded;
+  }
+
+  /**
+   * Discard all values and reset {@link #next()} to {@code initial}.
+   *
+   * @param initial The first serial number expected
+   *
+   * @throws IllegalArgumentException If the serial number is not valid
+   */
+
+  public void reset(
+    final long initial)
+  {
+    SerialRingBuffer.checkCapacity(this.serial, this.values.length, initial);
+    Arrays.fill(this.present, 0L);
+    this.size = 0;
+    this.next = initial;
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.nio.ByteBuffer;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>A flyweight that operates on {@link SerialRingBufferLong}-style reorder
+ * buffers stored in a {@link ByteBuffer}.</p>
+ *
+ * <p>Storing reorder buffers outside of the Java heap allows very large
+ * numbers of them (one per session, for example) to be held in a single
+ * direct or memory-mapped buffer, without a Java object or array per
+ * session. A single flyweight is positioned at a reorder buffer with
+ * {@link #wrap(int)}, and then operated on exactly as a
+ * {@link SerialRingBufferLong} would be. Each reorder buffer occupies
+ * {@link #sizeInBytes(int)} bytes. A reorder buffer whose bytes are all zero
+ * is empty and expects serial number {@code 0} next; use
+ * {@link #reset(long)} to start from any other serial number.</p>
+ *
+ * <p>The slot and window arithmetic, and the layout of the presence bitmap,
+ * are shared with {@link SerialRingBufferLong}. All values are read and
+ * written using the byte order of the buffer. Instances are not
+ * thread-safe.</p>
+ */
+
+public final class SerialRingBufferLongFlyweight
+{
+  private static final int OFFSET_NEXT = 0;
+  private static final int OFFSET_SIZE = 8;
+  private static final int OFFSET_PRESENT = 16;
+
+  private final SerialNumberLongType serial;
+  private final ByteBuffer buffer;
+  private final int capacity;
+  private final int presentBits;
+  private final int offsetValues;
+  private final int size;
+  private int base;
+
+  private SerialRingBufferLongFlyweight(
+    final SerialNumberLongType inSerial,
+    final int inCapacity,
+    final ByteBuffer inBuffer)
+  {
+    this.serial = inSerial;
+    this.capacity = inCapacity;
+    this.buffer = inBuffer;
+    final int words = SerialRingBufferWindow.presentWords(inCapacity);
+    this.presentBits = words * Long.SIZE;
+    this.offsetValues = OFFSET_PRESENT + words * Long.BYTES;
+    this.size = sizeInBytes(inCapacity);
+  }
+
+  /**
+   * @param capacity The capacity of a reorder buffer
+   *
+   * @return The number of bytes occupied by a reorder buffer of the given
+   * capacity
+   */
+
+  public static int sizeInBytes(
+    final int capacity)
+  {
+    return OFFSET_PRESENT
+      + SerialRingBufferWindow.presentWords(capacity) * Long.BYTES
+      + capacity * Long.BYTES;
+  }
+
+  /**
+   * Create a flyweight. The flyweight is initially positioned at offset
+   * {@code 0} of {@code buffer}.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param buffer   The buffer holding the reorder buffers
+   *
+   * @return A flyweight
+   *
+   * @throws IllegalArgumentException If the capacity is not valid
+   */
+
+  public static SerialRingBufferLongFlyweight create(
+    final SerialNumberLongType serial,
+    final int capacity,
+    final ByteBuffer buffer)
+  {
+    Objects.requireNonNull(serial, "serial");
+    Objects.requireNonNull(buffer, "buffer");
+    SerialRingBuffer.checkCapacity(serial, capacity, 0L);
+
+    final SerialRingBufferLongFlyweight flyweight =
+      new SerialRingBufferLongFlyweight(serial, capacity, buffer);
+    flyweight.wrap(0);
+    return flyweight;
+  }
+
+  /**
+   * Create a flyweight. The flyweight is initially positioned at offset
+   * {@code 0} of {@code buffer}.
+   *
+   * @param serial   The serial number arithmetic
+   * @param capacity The capacity; a power of two no larger than half of the
+   *                 serial number space
+   * @param buffer   The buffer holding the reorder buffers
+   *
+   * @return A flyweight
+   *
+   * @throws IllegalArgumentException If the capacity is not valid
+   */
+
+  public static SerialRingBufferLongFlyweight create(
+    final SerialNumberIntType serial,
+    final int capacity,
+    final ByteBuffer buffer)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), capacity, buffer);
+  }
+
+  /**
+   * Position the flyweight at the reorder buffer starting at byte
+   * {@code offset} of the buffer.
+   *
+   * @param offset The byte offset of the reorder buffer
+   *
+   * @return this
+   *
+   * @throws IndexOutOfBoundsException If the reorder buffer does not fit in
+   *                                   the buffer at {@code offset}
+   */
+
+  public SerialRingBufferLongFlyweight wrap(
+    final int offset)
+  {
+    Objects.checkFromIndexSize(offset, this.size, this.buffer.capacity());
+    this.base = offset;
+    return this;
+  }
+
+  /**
+   * @return The byte offset of the current reorder buffer
+   */
+
+  public int offset()
+  {
+    return this.base;
+  }
+
+  /**
+   * @return The capacity of each reorder buffer
+   */
+
+  public int capacity()
+  {
+    return this.capacity;
+  }
+
+  /**
+   * @return The number of values held in the current reorder buffer
+   */
+
+  public int size()
+  {
+    return (int) this.buffer.getLong(this.base + OFFSET_SIZE);
+  }
+
+  /**
+   * @return {@code true} if the current reorder buffer holds no values
+   */
+
+  public boolean isEmpty()
+  {
+    return this.size() == 0;
+  }
+
+  /**
+   * @return The next serial number that will be returned by {@link #poll()}
+   */
+
+  public long next()
+  {
+    return this.buffer.getLong(this.base + OFFSET_NEXT);
+  }
+
+  private void addSize(
+    final long delta)
+  {
+    final int offset = this.base + OFFSET_SIZE;
+    this.buffer.putLong(offset, this.buffer.getLong(offset) + delta);
+  }
+
+  private int presentOffset()
+  {
+    return this.base + OFFSET_PRESENT;
+  }
+
+  private int valueOffset(
+    final long seq)
+  {
+    final int slot = SerialRingBufferWindow.slot(seq, this.capacity);
+    return this.base + this.offsetValues + (slot << 3);
+  }
+
+  private boolean isPresent(
+    final long seq)
+  {
+    return SerialBitmapBits.isSet(
+      this.buffer,
+      this.presentOffset(),
+      this.presentBits,
+      seq);
+  }
+
+  private void clearPresent()
+  {
+    SerialBitmapBits.clearRange(
+      this.buffer,
+      this.presentOffset(),
+      0,
+      this.presentBits);
+  }
+
+  /**
+   * Determine whether {@code seq} lies within the current reorder buffer's
+   * range of {@code capacity} serial numbers starting at {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value for {@code seq} can be held
+   */
+
+  public boolean isInWindow(
+    final long seq)
+  {
+    return SerialRingBufferWindow.isInWindow(
+      this.serial,
+      this.next(),
+      this.capacity,
+      seq);
+  }
+
+  /**
+   * Insert a value for {@code seq}. The value is not inserted if
+   * {@code seq} lies outside the current reorder buffer's range, or if a
+   * value is already held for {@code seq}.
+   *
+   * @param seq   A serial number
+   * @param value The value
+   *
+   * @return {@code true} if the value was inserted
+   */
+
+  public boolean insert(
+    final long seq,
+    final long value)
+  {
+    if (!this.isInWindow(seq)) {
+      return false;
+    }
+    final boolean fresh = SerialBitmapBits.testAndSet(
+      this.buffer,
+      this.presentOffset(),
+      this.presentBits,
+      seq);
+    if (!fresh) {
+      return false;
+    }
+    this.buffer.putLong(this.valueOffset(seq), value);
+    this.addSize(1L);
+    return true;
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return {@code true} if a value is held for {@code seq}
+   */
+
+  public boolean contains(
+    final long seq)
+  {
+    return this.isInWindow(seq) && this.isPresent(seq);
+  }
+
+  /**
+   * @param seq A serial number
+   *
+   * @return The value held for {@code seq}
+   *
+   * @throws NoSuchElementException If no value is held for {@code seq}
+   */
+
+  public long peek(
+    final long seq)
+  {
+    if (!this.contains(seq)) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(seq)));
+    }
+    return this.buffer.getLong(this.valueOffset(seq));
+  }
+
+  /**
+   * @return {@code true} if a value is held for {@link #next()}
+   */
+
+  public boolean isReady()
+  {
+    return this.isPresent(this.next());
+  }
+
+  /**
+   * Remove and return the value held for {@link #next()}, advancing
+   * {@link #next()} by one.
+   *
+   * @return The value
+   *
+   * @throws NoSuchElementException If no value is held for {@link #next()}
+   * @see #isReady()
+   */
+
+  public long poll()
+  {
+    final long next = this.next();
+    if (!this.isPresent(next)) {
+      throw new NoSuchElementException(
+        String.format(
+          "No value is held for serial number %s",
+          Long.toUnsignedString(next)));
+    }
+    SerialBitmapBits.clearAfter(
+      this.buffer,
+      this.presentOffset(),
+      this.presentBits,
+      next - 1L,
+      1L);
+    this.addSize(-1L);
+    this.buffer.putLong(this.base + OFFSET_NEXT, this.serial.add(next, 1L));
+    return this.buffer.getLong(this.valueOffset(next));
+  }
+
+  /**
+   * Advance {@link #next()} to {@code seq}, discarding any values held for
+   * the serial numbers that are skipped. Nothing happens if {@code seq} is
+   * not newer than {@link #next()}.
+   *
+   * @param seq A serial number
+   *
+   * @return The number of values discarded
+   */
+
+  public int advanceTo(
+    final long seq)
+  {
+    final long next = this.next();
+    final long d = SerialRingBufferWindow.advanceDistance(this.serial, next, seq);
+    if (d == 0L) {
+      return 0;
+    }
+
+    final int discarded;
+    if (d >= this.capacity) {
+      discarded = this.size();
+      this.clearPresent();
+    } else {
+      final int offset = this.presentOffset();
+      discarded = SerialBitmapBits.countFrom(
+        this.buffer, offset, this.presentBits, next, (int) d);
+      SerialBitmapBits.clearAfter(
+        this.buffer, offset, this.presentBits, next - 1L, d);
+    }
+    this.addSize(-discarded);
+    this.buffer.putLong(this.base + OFFSET_NEXT, seq);
+    return discarded;
+  }
+
+  /**
+   * Discard all values in the current reorder buffer and reset
+   * {@link #next()} to {@code initial}.
+   *
+   * @param initial The first serial number expected
+   *
+   * @throws IllegalArgumentException If the serial number is not valid
+   */
+
+  public void reset(
+    final long initial)
+  {
+    SerialRingBuffer.checkCapacity(this.serial, this.capacity, initial);
+    this.clearPresent();
+    this.buffer.putLong(this.base + OFFSET_SIZE, 0L);
+    this.buffer.putLong(this.base + OFFSET_NEXT, initial);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.jserial.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * <p>Slot and window arithmetic shared by the primitive ring buffers and the
+ * ring buffer flyweight.</p>
+ *
+ * <p>A ring buffer of capacity {@code c} holds values for the serial numbers
+ * in {@code [next, next + c)}, with the value for {@code seq} held in slot
+ * {@code seq mod c}. Whether a value is present is recorded in a window
+ * bitmap (see {@link SerialBitmapBits}) of {@link #presentWords(int)} words,
+ * at the position {@code seq} itself. The bitmap covers at least
+ * {@code c} positions, so the serial numbers in the window always have
+ * distinct bits.</p>
+ */
+
+final class SerialRingBufferWindow
+{
+  private SerialRingBufferWindow()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  /**
+   * @param capacity The capacity of a ring buffer
+   *
+   * @return The number of words in the presence bitmap of the ring buffer
+   */
+
+  static int presentWords(
+    final int capacity)
+  {
+    return Math.max(1, capacity / Long.SIZE);
+  }
+
+  /**
+   * @param seq      A serial number
+   * @param capacity The capacity of a ring buffer
+   *
+   * @return The slot that holds the value for {@code seq}
+   */
+
+  static int slot(
+    final long seq,
+    final int capacity)
+  {
+    return (int) seq & (capacity - 1);
+  }
+
+  /**
+   * @param serial   The serial number arithmetic
+   * @param next     The next serial number expected by the ring buffer
+   * @param capacity The capacity of the ring buffer
+   * @param seq      A serial number
+   *
+   * @return {@code true} if {@code seq} is valid and lies within
+   * {@code [next, next + capacity)}
+   */
+
+  static boolean isInWindow(
+    final SerialNumberLongType serial,
+    final long next,
+    final int capacity,
+    final long seq)
+  {
+    if (!serial.inRange(seq)) {
+      return false;
+    }
+    final long d = serial.distance(next, seq);
+    return d >= 0L && d < capacity;
+  }
+
+  /**
+   * @param serial The serial number arithmetic
+   * @param next   The next serial number expected by the ring buffer
+   * @param seq    A serial number
+   *
+   * @return The number of serial numbers the window moves over when
+   * {@code next} advances to {@code seq}, or {@code 0} if {@code seq} is not
+   * valid or is not newer than {@code next}
+   */
+
+  static long advanceDistance(
+    final SerialNumberLongType serial,
+    final long next,
+    final long seq)
+  {
+    if (!serial.inRange(seq)) {
+      return 0L;
+    }
+    return Math.max(0L, serial.distance(next, seq));
+  }
+}
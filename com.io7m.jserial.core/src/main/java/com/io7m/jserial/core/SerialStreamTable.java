@@ -0,0 +1,562 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * <p>A hash table from {@code long} stream identifiers to per-stream serial
+ * number state.</p>
+ *
+ * <p>Each stream has three serial numbers: the next expected serial number,
+ * the highest serial number seen, and the base of the stream's receive
+ * window. The table stores keys and state inline in a single flat
+ * {@code long[]} using open addressing with linear probing, so a lookup
+ * touches one contiguous run of memory and nothing is boxed. Removal uses
+ * backward-shift deletion, so no tombstones accumulate. The table only
+ * allocates when it grows. Instances are not thread-safe.</p>
+ */
+
+public final class SerialStreamTable
+{
+  static final int NEXT = 1;
+  static final int HIGHEST = 2;
+  static final int BASE = 3;
+
+  private static final int STRIDE = 4;
+  private static final int SLOTS_MIN = 16;
+  private static final int SLOTS_MAX = 1 << 28;
+
+  private final SerialNumberLongType serial;
+  private long[] table;
+  private int mask;
+  private int size;
+  private boolean hasZeroKey;
+
+  private SerialStreamTable(
+    final SerialNumberLongType inSerial,
+    final int slots)
+  {
+    this.serial = inSerial;
+    this.allocate(slots);
+  }
+
+  /**
+   * Create a table.
+   *
+   * @param serial          The serial number arithmetic
+   * @param expectedStreams The number of streams the table should hold
+   *                        without growing
+   *
+   * @return A table
+   *
+   * @throws IllegalArgumentException If {@code expectedStreams} is out of
+   *                                  range
+   */
+
+  public static SerialStreamTable create(
+    final SerialNumberLongType serial,
+    final int expectedStreams)
+  {
+    Objects.requireNonNull(serial, "serial");
+    if (expectedStreams < 0 || expectedStreams > SLOTS_MAX / 2) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Expected stream count %d must be in the range [0, %d]",
+          Integer.valueOf(expectedStreams),
+          Integer.valueOf(SLOTS_MAX / 2)));
+    }
+
+    int slots = SLOTS_MIN;
+    while (slots < expectedStreams * 2) {
+      slots <<= 1;
+    }
+    return new SerialStreamTable(serial, slots);
+  }
+
+  /**
+   * Create a table.
+   *
+   * @param serial          The serial number arithmetic
+   * @param expectedStreams The number of streams the table should hold
+   *                        without growing
+   *
+   * @return A table
+   *
+   * @throws IllegalArgumentException If {@code expectedStreams} is out of
+   *                                  range
+   */
+
+  public static SerialStreamTable create(
+    final SerialNumberIntType serial,
+    final int expectedStreams)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(SerialNumbers.ofBitsLong(serial.bits()), expectedStreams);
+  }
+
+  private void allocate(
+    final int slots)
+  {
+    /*
+     * The stride after the last slot holds the state for the key 0, which
+     * cannot be stored in the table because 0 marks an empty slot.
+     */
+
+    this.table = new long[(slots + 1) * STRIDE];
+    this.mask = slots - 1;
+  }
+
+  private static int hash(
+    final long key)
+  {
+    final long h = key * 0x9e37_79b9_7f4a_7c15L;
+    return (int) (h ^ (h >>> 32));
+  }
+
+  private int zeroOffset()
+  {
+    return (this.mask + 1) * STRIDE;
+  }
+
+  private int find(
+    final long key)
+  {
+    return this.find(this.table, key);
+  }
+
+  /**
+   * Find the offset of the state for {@code key} in {@code t}. The table
+   * geometry is derived from {@code t} alone, and the probe sequence is
+   * bounded, so that a reader racing with a writer (such as an optimistic
+   * reader in {@link SerialStreamTableConcurrent}) sees at worst a
+   * meaningless result rather than an exception or an endless loop.
+   *
+   * @param t   The table
+   * @param key The key
+   *
+   * @return The offset of the state for {@code key}, or {@code -1}
+   */
+
+  private int find(
+    final long[] t,
+    final long key)
+  {
+    final int slots = t.length / STRIDE - 1;
+    if (key == 0L) {
+      return this.hasZeroKey ? slots * STRIDE : -1;
+    }
+
+    final int m = slots - 1;
+    int slot = hash(key) & m;
+    for (int probe = 0; probe < slots; ++probe) {
+      final int offset = slot * STRIDE;
+      final long k = t[offset];
+      if (k == key) {
+        return offset;
+      }
+      if (k == 0L) {
+        return -1;
+      }
+      slot = (slot + 1) & m;
+    }
+    return -1;
+  }
+
+  /**
+   * Read a field of the state for {@code key} without throwing if the stream
+   * is not present. This is safe to call while racing with a writer,
+   * although the result is then meaningless.
+   *
+   * @param key   The key
+   * @param field One of {@link #NEXT}, {@link #HIGHEST}, or {@link #BASE}
+   *
+   * @return The field value, or {@code -1} if the stream is not present
+   */
+
+  long peek(
+    final long key,
+    final int field)
+  {
+    final long[] t = this.table;
+    final int offset = this.find(t, key);
+    return offset < 0 ? -1L : t[offset + field];
+  }
+
+  private int require(
+    final long key)
+  {
+    final int offset = this.find(key);
+    if (offset < 0) {
+      throw new NoSuchElementException(
+        String.format("No stream with identifier %d", Long.valueOf(key)));
+    }
+    return offset;
+  }
+
+  private long checkSerial(
+    final long value)
+  {
+    if (!this.serial.inRange(value)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Serial number %d is not a valid %d-bit serial number",
+          Long.valueOf(value),
+          Integer.valueOf(this.serial.bits())));
+    }
+    return value;
+  }
+
+  /**
+   * @return The number of streams in the table
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return {@code true} if the table contains no streams
+   */
+
+  public boolean isEmpty()
+  {
+    return this.size == 0;
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return {@code true} if the table contains the stream
+   */
+
+  public boolean contains(
+    final long key)
+  {
+    return this.find(key) >= 0;
+  }
+
+  /**
+   * Add a stream to the table, if it is not already present. The next
+   * expected serial number and the window base of a new stream are set to
+   * {@code initial}, and the highest serial number seen is set to the serial
+   * number before {@code initial}.
+   *
+   * @param key     The stream identifier
+   * @param initial The first serial number expected on the stream
+   *
+   * @return {@code true} if the stream was added
+   *
+   * @throws IllegalArgumentException If {@code initial} is not a valid
+   *                                  serial number
+   * @throws IllegalStateException    If the table cannot grow any further
+   */
+
+  public boolean open(
+    final long key,
+    final long initial)
+  {
+    this.checkSerial(initial);
+
+    final int offset;
+    if (key == 0L) {
+      if (this.hasZeroKey) {
+        return false;
+      }
+      this.hasZeroKey = true;
+      offset = this.zeroOffset();
+    } else {
+      if (this.find(key) >= 0) {
+        return false;
+      }
+      if ((this.size + 1) * 2 > this.mask + 1) {
+        this.grow();
+      }
+      offset = this.insertSlot(key);
+    }
+
+    this.table[offset + NEXT] = initial;
+    this.table[offset + HIGHEST] = this.serial.add(initial, -1L);
+    this.table[offset + BASE] = initial;
+    ++this.size;
+    return true;
+  }
+
+  private int insertSlot(
+    final long key)
+  {
+    final long[] t = this.table;
+    int slot = hash(key) & this.mask;
+    while (t[slot * STRIDE] != 0L) {
+      slot = (slot + 1) & this.mask;
+    }
+    final int offset = slot * STRIDE;
+    t[offset] = key;
+    return offset;
+  }
+
+  private void grow()
+  {
+    final int slots = this.mask + 1;
+    if (slots >= SLOTS_MAX) {
+      throw new IllegalStateException(
+        String.format(
+          "Stream table cannot grow beyond %d slots",
+          Integer.valueOf(SLOTS_MAX)));
+    }
+
+    final long[] old = this.table;
+    final int zero = slots * STRIDE;
+    this.allocate(slots * 2);
+    System.arraycopy(old, zero, this.table, this.zeroOffset(), STRIDE);
+
+    for (int offset = 0; offset < zero; offset += STRIDE) {
+      final long key = old[offset];
+      if (key != 0L) {
+        final int target = this.insertSlot(key);
+        System.arraycopy(old, offset + 1, this.table, target + 1, STRIDE - 1);
+      }
+    }
+  }
+
+  /**
+   * Remove a stream from the table.
+   *
+   * @param key The stream identifier
+   *
+   * @return {@code true} if the stream was present
+   */
+
+  public boolean remove(
+    final long key)
+  {
+    if (key == 0L) {
+      if (!this.hasZeroKey) {
+        return false;
+      }
+      this.hasZeroKey = false;
+      final int zero = this.zeroOffset();
+      Arrays.fill(this.table, zero, zero + STRIDE, 0L);
+      --this.size;
+      return true;
+    }
+
+    final int offset = this.find(key);
+    if (offset < 0) {
+      return false;
+    }
+    this.shiftBack(offset / STRIDE);
+    --this.size;
+    return true;
+  }
+
+  /**
+   * Delete the entry at {@code start} by moving later entries of the same
+   * probe sequence back into the hole, so that lookups never need to skip
+   * deleted entries.
+   */
+
+  private void shiftBack(
+    final int start)
+  {
+    final long[] t = this.table;
+    int hole = start;
+    int slot = (start + 1) & this.mask;
+    while (true) {
+      final long key = t[slot * STRIDE];
+      if (key == 0L) {
+        break;
+      }
+      final int home = hash(key) & this.mask;
+      if (((slot - home) & this.mask) >= ((slot - hole) & this.mask)) {
+        System.arraycopy(t, slot * STRIDE, t, hole * STRIDE, STRIDE);
+        hole = slot;
+      }
+      slot = (slot + 1) & this.mask;
+    }
+    Arrays.fill(t, hole * STRIDE, hole * STRIDE + STRIDE, 0L);
+  }
+
+  /**
+   * Remove all streams from the table.
+   */
+
+  public void clear()
+  {
+    Arrays.fill(this.table, 0L);
+    this.hasZeroKey = false;
+    this.size = 0;
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The next expected serial number of the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long nextExpected(
+    final long key)
+  {
+    return this.table[this.require(key) + NEXT];
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The highest serial number seen on the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long highestSeen(
+    final long key)
+  {
+    return this.table[this.require(key) + HIGHEST];
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The window base of the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long windowBase(
+    final long key)
+  {
+    return this.table[this.require(key) + BASE];
+  }
+
+  /**
+   * Set the next expected serial number of a stream.
+   *
+   * @param key   The stream identifier
+   * @param value The serial number
+   *
+   * @throws NoSuchElementException   If the stream is not present
+   * @throws IllegalArgumentException If {@code value} is not a valid serial
+   *                                  number
+   */
+
+  public void setNextExpected(
+    final long key,
+    final long value)
+  {
+    this.table[this.require(key) + NEXT] = this.checkSerial(value);
+  }
+
+  /**
+   * Set the window base of a stream.
+   *
+   * @param key   The stream identifier
+   * @param value The serial number
+   *
+   * @throws NoSuchElementException   If the stream is not present
+   * @throws IllegalArgumentException If {@code value} is not a valid serial
+   *                                  number
+   */
+
+  public void setWindowBase(
+    final long key,
+    final long value)
+  {
+    this.table[this.require(key) + BASE] = this.checkSerial(value);
+  }
+
+  /**
+   * Return the next expected serial number of a stream, and advance it by
+   * {@code delta}.
+   *
+   * @param key   The stream identifier
+   * @param delta The amount to add
+   *
+   * @return The next expected serial number before the update
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long getAndAddNextExpected(
+    final long key,
+    final long delta)
+  {
+    final int offset = this.require(key) + NEXT;
+    final long value = this.table[offset];
+    this.table[offset] = this.serial.add(value, delta);
+    return value;
+  }
+
+  /**
+   * Advance the window base of a stream by {@code delta}.
+   *
+   * @param key   The stream identifier
+   * @param delta The amount to add
+   *
+   * @return The window base after the update
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long addWindowBase(
+    final long key,
+    final long delta)
+  {
+    final int offset = this.require(key) + BASE;
+    final long value = this.serial.add(this.table[offset], delta);
+    this.table[offset] = value;
+    return value;
+  }
+
+  /**
+   * Record the arrival of {@code seq} on a stream. If {@code seq} is newer
+   * than the highest serial number seen on the stream, it becomes the
+   * highest serial number seen. If {@code seq} is the next expected serial
+   * number, the next expected serial number advances past it.
+   *
+   * @param key The stream identifier
+   * @param seq The serial number
+   *
+   * @return {@code true} if {@code seq} is the new highest serial number
+   *
+   * @throws NoSuchElementException   If the stream is not present
+   * @throws IllegalArgumentException If {@code seq} is not a valid serial
+   *                                  number
+   */
+
+  public boolean observe(
+    final long key,
+    final long seq)
+  {
+    this.checkSerial(seq);
+
+    final long[] t = this.table;
+    final int offset = this.require(key);
+    if (t[offset + NEXT] == seq) {
+      t[offset + NEXT] = this.serial.add(seq, 1L);
+    }
+    if (this.serial.compare(seq, t[offset + HIGHEST]) > 0L) {
+      t[offset + HIGHEST] = seq;
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,456 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * <p>A thread-safe table from {@code long} stream identifiers to per-stream
+ * serial number state.</p>
+ *
+ * <p>The table is divided into a power-of-two number of shards, each of
+ * which is a {@link SerialStreamTable} guarded by its own
+ * {@link StampedLock}. Threads that work on streams in different shards do
+ * not contend. Reads use optimistic stamps and only fall back to taking a
+ * read lock if a writer intervened. {@link #observe(long, long)} first checks
+ * optimistically whether the serial number would change anything, and only
+ * takes the write lock if it would, so that the common case of duplicate and
+ * reordered arrivals does not serialize readers.</p>
+ *
+ * @see SerialStreamTable
+ */
+
+public final class SerialStreamTableConcurrent
+{
+  /**
+   * The largest supported number of shards.
+   */
+
+  public static final int SHARDS_MAX = 65536;
+
+  private final SerialNumberLongType serial;
+  private final SerialStreamTableShard[] shards;
+  private final int shardShift;
+
+  private SerialStreamTableConcurrent(
+    final SerialNumberLongType inSerial,
+    final int inShards,
+    final int expectedStreams)
+  {
+    this.serial = inSerial;
+    this.shards = new SerialStreamTableShard[inShards];
+    this.shardShift = Long.SIZE - Integer.numberOfTrailingZeros(inShards);
+
+    final int perShard = (expectedStreams + inShards - 1) / inShards;
+    for (int index = 0; index < inShards; ++index) {
+      final SerialStreamTable table =
+        SerialStreamTable.create(inSerial, perShard);
+      this.shards[index] = new SerialStreamTableShard(table);
+    }
+  }
+
+  /**
+   * Create a table.
+   *
+   * @param serial          The serial number arithmetic
+   * @param shards          The number of shards; a power of two in the range
+   *                        {@code [1, 65536]}
+   * @param expectedStreams The number of streams the table should hold
+   *                        without growing
+   *
+   * @return A table
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static SerialStreamTableConcurrent create(
+    final SerialNumberLongType serial,
+    final int shards,
+    final int expectedStreams)
+  {
+    Objects.requireNonNull(serial, "serial");
+    if (shards < 1 || shards > SHARDS_MAX || Integer.bitCount(shards) != 1) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Shard count %d must be a power of two in the range [1, %d]",
+          Integer.valueOf(shards),
+          Integer.valueOf(SHARDS_MAX)));
+    }
+    if (expectedStreams < 0) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Expected stream count %d must be non-negative",
+          Integer.valueOf(expectedStreams)));
+    }
+    return new SerialStreamTableConcurrent(serial, shards, expectedStreams);
+  }
+
+  /**
+   * Create a table.
+   *
+   * @param serial          The serial number arithmetic
+   * @param shards          The number of shards; a power of two in the range
+   *                        {@code [1, 65536]}
+   * @param expectedStreams The number of streams the table should hold
+   *                        without growing
+   *
+   * @return A table
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static SerialStreamTableConcurrent create(
+    final SerialNumberIntType serial,
+    final int shards,
+    final int expectedStreams)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(
+      SerialNumbers.ofBitsLong(serial.bits()),
+      shards,
+      expectedStreams);
+  }
+
+  /**
+   * Select a shard using the high bits of a multiplicative hash. The tables
+   * themselves hash on the low bits, so the two choices are independent.
+   */
+
+  private SerialStreamTableShard shard(
+    final long key)
+  {
+    if (this.shardShift == Long.SIZE) {
+      return this.shards[0];
+    }
+    return this.shards[(int) ((key * 0xc2b2_ae3d_27d4_eb4fL) >>> this.shardShift)];
+  }
+
+  /**
+   * @return The number of shards
+   */
+
+  public int shards()
+  {
+    return this.shards.length;
+  }
+
+  /**
+   * @return The number of streams in the table; this is a snapshot of each
+   * shard in turn, rather than of the whole table at once
+   */
+
+  public int size()
+  {
+    int total = 0;
+    for (final SerialStreamTableShard shard : this.shards) {
+      final StampedLock lock = shard.lock();
+      final long stamp = lock.readLock();
+      try {
+        total += shard.table().size();
+      } finally {
+        lock.unlockRead(stamp);
+      }
+    }
+    return total;
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return {@code true} if the table contains the stream
+   */
+
+  public boolean contains(
+    final long key)
+  {
+    return this.read(key, SerialStreamTable.NEXT) >= 0L;
+  }
+
+  /**
+   * Add a stream to the table, if it is not already present.
+   *
+   * @param key     The stream identifier
+   * @param initial The first serial number expected on the stream
+   *
+   * @return {@code true} if the stream was added
+   *
+   * @see SerialStreamTable#open(long, long)
+   */
+
+  public boolean open(
+    final long key,
+    final long initial)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      return shard.table().open(key, initial);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Remove a stream from the table.
+   *
+   * @param key The stream identifier
+   *
+   * @return {@code true} if the stream was present
+   */
+
+  public boolean remove(
+    final long key)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      return shard.table().remove(key);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  private long read(
+    final long key,
+    final int field)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final SerialStreamTable table = shard.table();
+
+    final long optimistic = lock.tryOptimisticRead();
+    if (optimistic != 0L) {
+      final long value = table.peek(key, field);
+      if (lock.validate(optimistic)) {
+        return value;
+      }
+    }
+
+    final long stamp = lock.readLock();
+    try {
+      return table.peek(key, field);
+    } finally {
+      lock.unlockRead(stamp);
+    }
+  }
+
+  private long require(
+    final long key,
+    final int field)
+  {
+    final long value = this.read(key, field);
+    if (value < 0L) {
+      throw new NoSuchElementException(
+        String.format("No stream with identifier %d", Long.valueOf(key)));
+    }
+    return value;
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The next expected serial number of the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long nextExpected(
+    final long key)
+  {
+    return this.require(key, SerialStreamTable.NEXT);
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The highest serial number seen on the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long highestSeen(
+    final long key)
+  {
+    return this.require(key, SerialStreamTable.HIGHEST);
+  }
+
+  /**
+   * @param key The stream identifier
+   *
+   * @return The window base of the stream
+   *
+   * @throws NoSuchElementException If the stream is not present
+   */
+
+  public long windowBase(
+    final long key)
+  {
+    return this.require(key, SerialStreamTable.BASE);
+  }
+
+  /**
+   * Atomically record the arrival of {@code seq} on a stream.
+   *
+   * @param key The stream identifier
+   * @param seq The serial number
+   *
+   * @return {@code true} if {@code seq} is the new highest serial number
+   *
+   * @see SerialStreamTable#observe(long, long)
+   */
+
+  public boolean observe(
+    final long key,
+    final long seq)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final SerialStreamTable table = shard.table();
+
+    final long optimistic = lock.tryOptimisticRead();
+    if (optimistic != 0L && this.serial.inRange(seq)) {
+      final long next = table.peek(key, SerialStreamTable.NEXT);
+      final long highest = table.peek(key, SerialStreamTable.HIGHEST);
+      if (lock.validate(optimistic) && this.isNoOp(seq, next, highest)) {
+        return false;
+      }
+    }
+
+    final long stamp = lock.writeLock();
+    try {
+      return table.observe(key, seq);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * @return {@code true} if observing {@code seq} on a stream with the given
+   * state would change nothing
+   */
+
+  private boolean isNoOp(
+    final long seq,
+    final long next,
+    final long highest)
+  {
+    return highest >= 0L
+      && next != seq
+      && this.serial.compare(seq, highest) <= 0L;
+  }
+
+  /**
+   * Atomically return the next expected serial number of a stream, and
+   * advance it by {@code delta}.
+   *
+   * @param key   The stream identifier
+   * @param delta The amount to add
+   *
+   * @return The next expected serial number before the update
+   *
+   * @see SerialStreamTable#getAndAddNextExpected(long, long)
+   */
+
+  public long getAndAddNextExpected(
+    final long key,
+    final long delta)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      return shard.table().getAndAddNextExpected(key, delta);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Atomically advance the window base of a stream by {@code delta}.
+   *
+   * @param key   The stream identifier
+   * @param delta The amount to add
+   *
+   * @return The window base after the update
+   *
+   * @see SerialStreamTable#addWindowBase(long, long)
+   */
+
+  public long addWindowBase(
+    final long key,
+    final long delta)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      return shard.table().addWindowBase(key, delta);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Set the next expected serial number of a stream.
+   *
+   * @param key   The stream identifier
+   * @param value The serial number
+   *
+   * @see SerialStreamTable#setNextExpected(long, long)
+   */
+
+  public void setNextExpected(
+    final long key,
+    final long value)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      shard.table().setNextExpected(key, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+
+  /**
+   * Set the window base of a stream.
+   *
+   * @param key   The stream identifier
+   * @param value The serial number
+   *
+   * @see SerialStreamTable#setWindowBase(long, long)
+   */
+
+  public void setWindowBase(
+    final long key,
+    final long value)
+  {
+    final SerialStreamTableShard shard = this.shard(key);
+    final StampedLock lock = shard.lock();
+    final long stamp = lock.writeLock();
+    try {
+      shard.table().setWindowBase(key, value);
+    } finally {
+      lock.unlockWrite(stamp);
+    }
+  }
+}
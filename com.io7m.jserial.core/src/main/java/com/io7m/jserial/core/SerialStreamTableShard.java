@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+package com.io7m.jserial.core;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A shard of a {@link SerialStreamTableConcurrent}: a table, and the lock
+ * that guards it.
+ */
+
+final class SerialStreamTableShard
+{
+  private final StampedLock lock;
+  private final SerialStreamTable table;
+
+  SerialStreamTableShard(
+    final SerialStreamTable inTable)
+  {
+    this.lock = new StampedLock();
+    this.table = inTable;
+  }
+
+  /**
+   * @return The lock guarding the table
+   */
+
+  StampedLock lock()
+  {
+    return this.lock;
+  }
+
+  /**
+   * @return The table guarded by this shard
+   */
+
+  SerialStreamTable table()
+  {
+    return this.table;
+  }
+}
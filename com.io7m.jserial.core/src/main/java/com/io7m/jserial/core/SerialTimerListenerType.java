@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * A receiver of expired timers.
+ *
+ * @see SerialTimerWheel
+ */
+
+@FunctionalInterface
+public interface SerialTimerListenerType
+{
+  /**
+   * A timer expired. The handle is no longer valid when this method is
+   * called, and the listener may schedule or cancel other timers.
+   *
+   * @param handle   The handle returned when the timer was scheduled
+   * @param deadline The deadline tick given when the timer was scheduled
+   * @param payload  The payload given when the timer was scheduled
+   */
+
+  void onExpired(
+    long handle,
+    long deadline,
+    int payload);
+}
@@ -0,0 +1,424 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * <p>A hierarchical timing wheel whose tick counter is a wrapping serial
+ * number.</p>
+ *
+ * <p>Timers are scheduled for a deadline tick, and expire when the wheel is
+ * advanced to or past that tick. Deadlines are compared with the current
+ * tick using serial number arithmetic, so the tick counter may wrap any
+ * number of times; a deadline is interpreted as being at most half of the
+ * serial number space away from the current tick. Deadlines that are not
+ * newer than the current tick expire on the next tick.</p>
+ *
+ * <p>The wheel has as many levels of {@code 64} slots as the width of the
+ * tick counter requires. Timers are kept in intrusive doubly-linked lists
+ * over preallocated arrays, so scheduling and cancelling are {@code O(1)}
+ * and the wheel does not allocate after construction. Each level also keeps
+ * a bitmap of its non-empty slots, so advancing jumps directly to the next
+ * tick at which a timer expires or a higher level cascades instead of
+ * visiting every elapsed tick. Timers are identified by handles that include
+ * a generation count, so a stale handle for a timer that has expired or been
+ * cancelled is never confused with a timer that later reuses the same
+ * storage. Instances are not thread-safe.</p>
+ */
+
+public final class SerialTimerWheel
+{
+  private static final int SLOT_BITS = 6;
+  private static final int SLOTS = 1 << SLOT_BITS;
+  private static final int SLOT_MASK = SLOTS - 1;
+  private static final int NIL = -1;
+  private static final int FREE = -1;
+
+  private final SerialNumberLongType serial;
+  private final int levels;
+  private final int[] heads;
+  private final long[] occupied;
+  private final int[] next;
+  private final int[] prev;
+  private final int[] buckets;
+  private final int[] generations;
+  private final int[] payloads;
+  private final long[] deadlines;
+  private final long[] expiries;
+  private int freeHead;
+  private int size;
+  private long elapsed;
+  private long current;
+
+  private SerialTimerWheel(
+    final SerialNumberLongType inSerial,
+    final long inInitial,
+    final int capacity)
+  {
+    this.serial = inSerial;
+    this.current = inInitial;
+    this.levels = (inSerial.bits() - 1) / SLOT_BITS + 1;
+    this.heads = new int[this.levels * SLOTS];
+    Arrays.fill(this.heads, NIL);
+    this.occupied = new long[this.levels];
+
+    this.next = new int[capacity];
+    this.prev = new int[capacity];
+    this.buckets = new int[capacity];
+    this.generations = new int[capacity];
+    this.payloads = new int[capacity];
+    this.deadlines = new long[capacity];
+    this.expiries = new long[capacity];
+    for (int index = 0; index < capacity; ++index) {
+      this.next[index] = index + 1 < capacity ? index + 1 : NIL;
+    }
+    Arrays.fill(this.buckets, FREE);
+    this.freeHead = 0;
+  }
+
+  /**
+   * Create a timer wheel.
+   *
+   * @param serial   The serial number arithmetic used for ticks
+   * @param initial  The initial tick
+   * @param capacity The maximum number of pending timers
+   *
+   * @return A timer wheel
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static SerialTimerWheel create(
+    final SerialNumberLongType serial,
+    final long initial,
+    final int capacity)
+  {
+    Objects.requireNonNull(serial, "serial");
+    if (!serial.inRange(initial)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Initial tick %d is not a valid %d-bit serial number",
+          Long.valueOf(initial),
+          Integer.valueOf(serial.bits())));
+    }
+    if (capacity < 1) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Capacity %d must be positive",
+          Integer.valueOf(capacity)));
+    }
+    return new SerialTimerWheel(serial, initial, capacity);
+  }
+
+  /**
+   * Create a timer wheel.
+   *
+   * @param serial   The serial number arithmetic used for ticks
+   * @param initial  The initial tick
+   * @param capacity The maximum number of pending timers
+   *
+   * @return A timer wheel
+   *
+   * @throws IllegalArgumentException If any argument is out of range
+   */
+
+  public static SerialTimerWheel create(
+    final SerialNumberIntType serial,
+    final int initial,
+    final int capacity)
+  {
+    Objects.requireNonNull(serial, "serial");
+    return create(
+      SerialNumbers.ofBitsLong(serial.bits()),
+      Integer.toUnsignedLong(initial),
+      capacity);
+  }
+
+  /**
+   * @return The current tick
+   */
+
+  public long now()
+  {
+    return this.current;
+  }
+
+  /**
+   * @return The number of pending timers
+   */
+
+  public int size()
+  {
+    return this.size;
+  }
+
+  /**
+   * @return The maximum number of pending timers
+   */
+
+  public int capacity()
+  {
+    return this.next.length;
+  }
+
+  /**
+   * Schedule a timer.
+   *
+   * @param deadline The tick at which the timer expires
+   * @param payload  A value passed to the listener when the timer expires
+   *
+   * @return A handle that can be used to cancel the timer
+   *
+   * @throws IllegalArgumentException If {@code deadline} is not a valid
+   *                                  serial number
+   * @throws IllegalStateException    If the wheel is full
+   */
+
+  public long schedule(
+    final long deadline,
+    final int payload)
+  {
+    if (!this.serial.inRange(deadline)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Deadline %d is not a valid %d-bit serial number",
+          Long.valueOf(deadline),
+          Integer.valueOf(this.serial.bits())));
+    }
+
+    final int index = this.freeHead;
+    if (index == NIL) {
+      throw new IllegalStateException(
+        String.format(
+          "Timer wheel is full (%d timers)",
+          Integer.valueOf(this.next.length)));
+    }
+    this.freeHead = this.next[index];
+
+    final long delay = this.serial.distance(this.current, deadline);
+    this.deadlines[index] = deadline;
+    this.payloads[index] = payload;
+    this.expiries[index] = this.elapsed + Math.max(delay, 1L);
+    this.link(index);
+    ++this.size;
+    return ((long) this.generations[index] << 32) | index;
+  }
+
+  /**
+   * @param handle A timer handle
+   *
+   * @return {@code true} if the timer is still pending
+   */
+
+  public boolean isScheduled(
+    final long handle)
+  {
+    final int index = (int) handle;
+    return index >= 0
+      && index < this.next.length
+      && this.buckets[index] != FREE
+      && this.generations[index] == (int) (handle >>> 32);
+  }
+
+  /**
+   * Cancel a timer. Cancelling a timer that has already expired or been
+   * cancelled has no effect.
+   *
+   * @param handle A timer handle
+   *
+   * @return {@code true} if the timer was pending and is now cancelled
+   */
+
+  public boolean cancel(
+    final long handle)
+  {
+    if (!this.isScheduled(handle)) {
+      return false;
+    }
+    final int index = (int) handle;
+    this.unlink(index);
+    this.release(index);
+    return true;
+  }
+
+  /**
+   * Advance the wheel to {@code tick}, expiring every timer whose deadline
+   * is not newer than {@code tick}. Timers expire in deadline order. If
+   * {@code tick} is not newer than the current tick, nothing happens.
+   * Advancing costs {@code O(levels)} per tick at which a timer expires or a
+   * non-empty slot cascades, independent of the number of elapsed ticks.
+   *
+   * @param tick     The new current tick
+   * @param listener The receiver of expired timers
+   *
+   * @return The number of timers that expired
+   *
+   * @throws IllegalArgumentException If {@code tick} is not a valid serial
+   *                                  number
+   */
+
+  public int advanceTo(
+    final long tick,
+    final SerialTimerListenerType listener)
+  {
+    Objects.requireNonNull(listener, "listener");
+    if (!this.serial.inRange(tick)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Tick %d is not a valid %d-bit serial number",
+          Long.valueOf(tick),
+          Integer.valueOf(this.serial.bits())));
+    }
+
+    final long ticks = this.serial.distance(this.current, tick);
+    if (ticks <= 0L) {
+      return 0;
+    }
+
+    final long origin = this.elapsed;
+    final long start = this.current;
+    final long target = origin + ticks;
+    int expired = 0;
+    while (this.size > 0) {
+      final long event = this.nextEvent();
+      if (event > target) {
+        break;
+      }
+      this.elapsed = event;
+      this.current = this.serial.add(start, event - origin);
+      this.cascade();
+      expired += this.expire(listener);
+    }
+    this.elapsed = target;
+    this.current = tick;
+    return expired;
+  }
+
+  /**
+   * @return The earliest tick after the current tick at which either a
+   * level 0 slot holds timers that expire, or a non-empty slot of a higher
+   * level cascades; {@link Long#MAX_VALUE} if no slot is occupied
+   */
+
+  private long nextEvent()
+  {
+    final long now = this.elapsed;
+    long event = Long.MAX_VALUE;
+    for (int level = 0; level < this.levels; ++level) {
+      final long occupancy = this.occupied[level];
+      if (occupancy != 0L) {
+        final int shift = level * SLOT_BITS;
+        final long boundary = (now >>> shift) + 1L;
+        final int slot = (int) (boundary & SLOT_MASK);
+        final int skip =
+          Long.numberOfTrailingZeros(Long.rotateRight(occupancy, slot));
+        event = Math.min(event, (boundary + skip) << shift);
+      }
+    }
+    return event;
+  }
+
+  private void cascade()
+  {
+    final long now = this.elapsed;
+    for (int level = 1; level < this.levels; ++level) {
+      final int shift = level * SLOT_BITS;
+      if ((now & ((1L << shift) - 1L)) != 0L) {
+        return;
+      }
+
+      final int bucket = level * SLOTS + (int) ((now >>> shift) & SLOT_MASK);
+      int index = this.heads[bucket];
+      this.heads[bucket] = NIL;
+      this.occupied[level] &= ~(1L << (bucket & SLOT_MASK));
+      while (index != NIL) {
+        final int following = this.next[index];
+        this.link(index);
+        index = following;
+      }
+    }
+  }
+
+  private int expire(
+    final SerialTimerListenerType listener)
+  {
+    final int bucket = (int) (this.elapsed & SLOT_MASK);
+    int expired = 0;
+    while (this.heads[bucket] != NIL) {
+      final int index = this.heads[bucket];
+      final long handle = ((long) this.generations[index] << 32) | index;
+      final long deadline = this.deadlines[index];
+      final int payload = this.payloads[index];
+      this.unlink(index);
+      this.release(index);
+      ++expired;
+      listener.onExpired(handle, deadline, payload);
+    }
+    return expired;
+  }
+
+  private void link(
+    final int index)
+  {
+    final long delay = this.expiries[index] - this.elapsed;
+    final int highBit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(delay | 1L);
+    final int level = highBit / SLOT_BITS;
+    final int slot = (int) ((this.expiries[index] >>> (level * SLOT_BITS)) & SLOT_MASK);
+    final int bucket = level * SLOTS + slot;
+
+    final int head = this.heads[bucket];
+    this.next[index] = head;
+    this.prev[index] = NIL;
+    if (head != NIL) {
+      this.prev[head] = index;
+    }
+    this.heads[bucket] = index;
+    this.buckets[index] = bucket;
+    this.occupied[level] |= 1L << slot;
+  }
+
+  private void unlink(
+    final int index)
+  {
+    final int before = this.prev[index];
+    final int after = this.next[index];
+    if (before == NIL) {
+      final int bucket = this.buckets[index];
+      this.heads[bucket] = after;
+      if (after == NIL) {
+        this.occupied[bucket >>> SLOT_BITS] &= ~(1L << (bucket & SLOT_MASK));
+      }
+    } else {
+      this.next[before] = after;
+    }
+    if (after != NIL) {
+      this.prev[after] = before;
+    }
+  }
+
+  private void release(
+    final int index)
+  {
+    this.buckets[index] = FREE;
+    ++this.generations[index];
+    this.next[index] = this.freeHead;
+    this.freeHead = index;
+    --this.size;
+  }
+}
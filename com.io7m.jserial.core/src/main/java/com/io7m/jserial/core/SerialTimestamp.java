@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+/**
+ * <p>Arithmetic on compact wrapping timestamps, in the manner of RTP and TCP
+ * timestamps.</p>
+ *
+ * <p>A timestamp is a tick count truncated to {@code 32} or {@code 48} bits.
+ * Two timestamps are compared using serial number arithmetic, so elapsed
+ * times are correct across wrap-around provided the true interval between
+ * the timestamps is less than half of the timestamp space. The arithmetic is
+ * delegated to {@link SerialNumber32} and {@link SerialNumber48}. All
+ * operations work on primitive {@code long} values and do not allocate.</p>
+ */
+
+public final class SerialTimestamp
+{
+  private static final SerialTimestamp BITS_32 =
+    new SerialTimestamp(SerialNumber32.get());
+  private static final SerialTimestamp BITS_48 =
+    new SerialTimestamp(SerialNumber48.get());
+
+  private final SerialNumberLongType serial;
+
+  private SerialTimestamp(
+    final SerialNumberLongType inSerial)
+  {
+    this.serial = inSerial;
+  }
+
+  /**
+   * @return Arithmetic for 32-bit timestamps
+   */
+
+  public static SerialTimestamp bits32()
+  {
+    return BITS_32;
+  }
+
+  /**
+   * @return Arithmetic for 48-bit timestamps
+   */
+
+  public static SerialTimestamp bits48()
+  {
+    return BITS_48;
+  }
+
+  /**
+   * @return The number of bits in a timestamp
+   */
+
+  public int bits()
+  {
+    return this.serial.bits();
+  }
+
+  private void check(
+    final long timestamp)
+  {
+    if (!this.serial.inRange(timestamp)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Timestamp %d is not a valid %d-bit timestamp",
+          Long.valueOf(timestamp),
+          Integer.valueOf(this.serial.bits())));
+    }
+  }
+
+  /**
+   * Truncate a full tick count to a timestamp.
+   *
+   * @param ticks A tick count, such as a scaled {@link System#nanoTime()}
+   *              value
+   *
+   * @return The low {@link #bits()} bits of {@code ticks}
+   */
+
+  public long fromTicks(
+    final long ticks)
+  {
+    return this.serial.add(0L, ticks);
+  }
+
+  /**
+   * Calculate the signed number of ticks from {@code start} to {@code end}.
+   * The result is negative if {@code end} is before {@code start}.
+   *
+   * @param start The earlier timestamp
+   * @param end   The later timestamp
+   *
+   * @return The number of ticks elapsed
+   *
+   * @throws IllegalArgumentException If either timestamp is out of range
+   */
+
+  public long elapsed(
+    final long start,
+    final long end)
+  {
+    this.check(start);
+    this.check(end);
+    return this.serial.distance(start, end);
+  }
+
+  /**
+   * @param t0 A timestamp
+   * @param t1 A timestamp
+   *
+   * @return {@code true} if {@code t0} is strictly before {@code t1}
+   *
+   * @throws IllegalArgumentException If either timestamp is out of range
+   */
+
+  public boolean isBefore(
+    final long t0,
+    final long t1)
+  {
+    return this.elapsed(t0, t1) > 0L;
+  }
+
+  /**
+   * @param t0 A timestamp
+   * @param t1 A timestamp
+   *
+   * @return {@code true} if {@code t0} is strictly after {@code t1}
+   *
+   * @throws IllegalArgumentException If either timestamp is out of range
+   */
+
+  public boolean isAfter(
+    final long t0,
+    final long t1)
+  {
+    return this.elapsed(t0, t1) < 0L;
+  }
+
+  /**
+   * Add a duration to a timestamp, wrapping around as necessary.
+   *
+   * @param timestamp A timestamp
+   * @param duration  A number of ticks, which may be negative
+   *
+   * @return {@code timestamp + duration}
+   *
+   * @throws IllegalArgumentException If {@code timestamp} is out of range
+   */
+
+  public long addDuration(
+    final long timestamp,
+    final long duration)
+  {
+    this.check(timestamp);
+    return this.serial.add(timestamp, duration);
+  }
+}
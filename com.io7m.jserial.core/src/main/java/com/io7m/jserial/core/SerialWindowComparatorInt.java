@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.core;
+
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * <p>A comparator that orders serial numbers by their position relative to a
+ * fixed anchor serial number.</p>
+ *
+ * <p>The {@link SerialNumberIntType#compare(int, int)} function is not
+ * transitive over the whole serial number space, and so cannot be used to
+ * sort collections. This comparator instead maps each serial number
+ * {@code s} to the linear position {@code distance(anchor, s)}, and compares
+ * positions. The resulting order is a total order, and agrees with serial
+ * number order for all serial numbers within half of the serial number space
+ * of the anchor. A typical anchor is the oldest outstanding serial number in
+ * a window.</p>
+ *
+ * <p>The {@link #compare(int, int)} method compares unboxed values and
+ * should be preferred where possible.</p>
+ */
+
+public final class SerialWindowComparatorInt implements Comparator<Integer>
+{
+  private final SerialNumberIntType serial;
+  private final int anchor;
+
+  private SerialWindowComparatorInt(
+    final SerialNumberIntType inSerial,
+    final int inAnchor)
+  {
+    this.serial = inSerial;
+    this.anchor = inAnchor;
+  }
+
+  /**
+   * Create a comparator.
+   *
+   * @param serial The serial number arithmetic
+   * @param anchor The anchor serial number
+   *
+   * @return A comparator
+   *
+   * @throws IllegalArgumentException If {@code anchor} is not a valid serial
+   *                                  number
+   */
+
+  public static SerialWindowComparatorInt create(
+    final SerialNumberIntType serial,
+    final int anchor)
+  {
+    Objects.requireNonNull(serial, "serial");
+    if (!serial.inRange(anchor)) {
+      throw new IllegalArgumentException(
+        String.format(
+          "Anchor %d is not a valid %d-bit serial number",
+          Integer.valueOf(anchor),
+          Integer.valueOf(serial.bits())));
+    }
+    return new SerialWindowComparatorInt(serial, anchor);
+  }
+
+  /**
+   * @param newAnchor The new anchor serial number
+   *
+   * @return A comparator using the same arithmetic with a different anchor
+   *
+   * @throws IllegalArgumentException If {@code newAnchor} is not a valid
+   *                                  serial number
+   */
+
+  public SerialWindowComparatorInt withAnchor(
+    final int newAnchor)
+  {
+    return create(this.serial, newAnchor);
+  }
+
+  /**
+   * @return The anchor serial number
+   */
+
+  public int anchor()
+  {
+    return this.anchor;
+  }
+
+  /**
+   * @param s A serial number
+   *
+   * @return The linear position of {@code s} relative to the anchor
+   */
+
+  public int position(
+    final int s)
+  {
+    return this.serial.distance(this.anchor, s);
+  }
+
+  /**
+   * Compare serial numbers by their positions relative to the anchor.
+   *
+   * @param s0 A serial number
+   * @param s1 A serial number
+   *
+   * @return A negative value, zero, or a positive value if {@code s0} is
+   * positioned before, at, or after {@code s1}, respectively
+   */
+
+  public int compare(
+    final int s0,
+    final int s1)
+  {
+    return Integer.compare(this.position(s0), this.position(s1));
+  }
+
+  @Override
+  public int compare(
+    final Integer s0,
+    final Integer s1)
+  {
+    return this.compare(s0.intValue(), s1.intValue());
+  }
+}
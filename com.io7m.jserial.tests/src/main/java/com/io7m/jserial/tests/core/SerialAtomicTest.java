@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialAtomicInt;
+import com.io7m.jserial.core.SerialAtomicLong;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumbers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class SerialAtomicTest
+{
+  @Test
+  public void testIntWrap()
+  {
+    final SerialAtomicInt c = SerialAtomicInt.create(SerialNumber8.get(), 254);
+
+    Assert.assertEquals(254, c.getAndIncrement());
+    Assert.assertEquals(255, c.getAndIncrement());
+    Assert.assertEquals(0, c.get());
+    Assert.assertEquals(1, c.incrementAndGet());
+    Assert.assertEquals(1, c.getAndAdd(255));
+    Assert.assertEquals(0, c.get());
+  }
+
+  @Test
+  public void testLongWrap()
+  {
+    final SerialAtomicLong c =
+      SerialAtomicLong.create(SerialNumber32.get(), 0xffff_fffeL);
+
+    Assert.assertEquals(0xffff_fffeL, c.getAndIncrement());
+    Assert.assertEquals(0xffff_ffffL, c.getAndIncrement());
+    Assert.assertEquals(0L, c.get());
+    Assert.assertEquals(0L, c.getAndAdd(10L));
+    Assert.assertEquals(11L, c.incrementAndGet());
+  }
+
+  @Test
+  public void testLongWrapFullWidth()
+  {
+    final SerialAtomicLong c =
+      SerialAtomicLong.create(SerialNumbers.ofBitsLong(63), Long.MAX_VALUE);
+
+    Assert.assertEquals(Long.MAX_VALUE, c.getAndIncrement());
+    Assert.assertEquals(0L, c.get());
+  }
+
+  @Test
+  public void testAdvanceIfNewer()
+  {
+    final SerialAtomicInt c = SerialAtomicInt.create(SerialNumber8.get(), 250);
+
+    Assert.assertFalse(c.compareAndAdvanceIfNewer(250));
+    Assert.assertFalse(c.compareAndAdvanceIfNewer(200));
+    Assert.assertTrue(c.compareAndAdvanceIfNewer(3));
+    Assert.assertEquals(3, c.get());
+    Assert.assertFalse(c.compareAndAdvanceIfNewer(255));
+
+    final SerialAtomicLong d =
+      SerialAtomicLong.create(SerialNumber32.get(), 0xffff_fff0L);
+
+    Assert.assertTrue(d.compareAndAdvanceIfNewer(5L));
+    Assert.assertFalse(d.compareAndAdvanceIfNewer(0xffff_fff0L));
+    Assert.assertEquals(5L, d.get());
+  }
+
+  @Test
+  public void testSet()
+  {
+    final SerialAtomicInt c = SerialAtomicInt.create(SerialNumber8.get(), 0);
+    c.set(100);
+    Assert.assertEquals(100, c.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateOutOfRange()
+  {
+    SerialAtomicInt.create(SerialNumber8.get(), 256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddOutOfRange()
+  {
+    SerialAtomicLong.create(SerialNumber32.get(), 0L).getAndAdd(-1L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdvanceOutOfRange()
+  {
+    SerialAtomicInt.create(SerialNumber8.get(), 0).compareAndAdvanceIfNewer(-1);
+  }
+
+  @Test
+  public void testConcurrentIncrementAcrossWrap()
+    throws Exception
+  {
+    final int initial = 0xff_ff00;
+    final SerialAtomicInt c =
+      SerialAtomicInt.create(SerialNumber24.get(), initial);
+
+    final int threadCount = 4;
+    final int perThread = 50000;
+    final AtomicIntegerArray seen = new AtomicIntegerArray(threadCount * perThread);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(threadCount);
+
+    for (int t = 0; t < threadCount; ++t) {
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int index = 0; index < perThread; ++index) {
+          final int value = c.getAndIncrement();
+          seen.incrementAndGet(
+            SerialNumber24.get().distance(initial, value));
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int index = 0; index < seen.length(); ++index) {
+      Assert.assertEquals(Integer.toString(index), 1L, seen.get(index));
+    }
+    Assert.assertEquals(
+      SerialNumber24.get().add(initial, threadCount * perThread),
+      c.get());
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialBitmap;
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumbers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public final class SerialBitmapTest
+{
+  private static void setRange(
+    final BitSet model,
+    final SerialNumberIntType serial,
+    final int first,
+    final int last,
+    final boolean value)
+  {
+    int current = first;
+    while (true) {
+      model.set(current, value);
+      if (current == last) {
+        return;
+      }
+      current = serial.add(current, 1);
+    }
+  }
+
+  private static int firstMissingAfter(
+    final BitSet model,
+    final int seq,
+    final int space)
+  {
+    final int next = model.nextClearBit(seq + 1);
+    if (next < space) {
+      return next;
+    }
+    return model.nextClearBit(0);
+  }
+
+  private static void checkEqual(
+    final BitSet model,
+    final SerialBitmap bitmap,
+    final int space)
+  {
+    Assert.assertEquals(model.cardinality(), bitmap.cardinality());
+    for (int value = 0; value < space; ++value) {
+      Assert.assertEquals(
+        Integer.toString(value),
+        Boolean.valueOf(model.get(value)),
+        Boolean.valueOf(bitmap.contains(value)));
+    }
+  }
+
+  @Test
+  public void testWrappedWindow()
+  {
+    final SerialBitmap b = SerialBitmap.create(SerialNumber16.get());
+
+    b.addRange(65530, 5);
+    Assert.assertEquals(12L, b.cardinality());
+    Assert.assertTrue(b.contains(65535));
+    Assert.assertTrue(b.contains(0));
+    Assert.assertFalse(b.contains(6));
+    Assert.assertEquals(6, b.firstMissingAfter(65531));
+
+    b.remove(65535);
+    Assert.assertEquals(65535, b.firstMissingAfter(65530));
+    Assert.assertEquals(65529, b.firstMissingAfter(65528));
+  }
+
+  @Test
+  public void testFirstMissingWrapsToStart()
+  {
+    final SerialBitmap b = SerialBitmap.create(SerialNumber24.get());
+
+    b.addRange(0xff_fff0, 0xff_ffff);
+    Assert.assertEquals(0, b.firstMissingAfter(0xff_fff0));
+    b.addRange(0, 100);
+    Assert.assertEquals(101, b.firstMissingAfter(0xff_fff0));
+    Assert.assertEquals(0xff_ffef, b.firstMissingAfter(0xff_ffee));
+  }
+
+  @Test
+  public void testFull()
+  {
+    final SerialBitmap b = SerialBitmap.create(SerialNumber8.get());
+
+    b.addRange(0, 127);
+    b.addRange(128, 255);
+    Assert.assertEquals(256L, b.cardinality());
+    b.remove(7);
+    Assert.assertEquals(7, b.firstMissingAfter(7));
+    b.add(7);
+
+    try {
+      b.firstMissingAfter(7);
+      Assert.fail();
+    } catch (final NoSuchElementException e) {
+      // Expected
+    }
+  }
+
+  @Test
+  public void testSetOperations()
+  {
+    final SerialBitmap a = SerialBitmap.create(SerialNumber16.get());
+    final SerialBitmap b = SerialBitmap.create(SerialNumber16.get());
+
+    a.addRange(65500, 100);
+    b.addRange(50, 200);
+
+    final SerialBitmap union = SerialBitmap.create(SerialNumber16.get());
+    union.or(a);
+    union.or(b);
+    Assert.assertEquals(36L + 201L, union.cardinality());
+
+    final SerialBitmap inter = SerialBitmap.create(SerialNumber16.get());
+    inter.or(a);
+    inter.and(b);
+    Assert.assertEquals(51L, inter.cardinality());
+    Assert.assertTrue(inter.contains(50));
+    Assert.assertFalse(inter.contains(49));
+
+    a.andNot(b);
+    Assert.assertEquals(36L + 50L, a.cardinality());
+    Assert.assertFalse(a.contains(50));
+    Assert.assertTrue(a.contains(49));
+    Assert.assertTrue(a.contains(65500));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIncompatibleWidths()
+  {
+    SerialBitmap.create(SerialNumber16.get())
+      .or(SerialBitmap.create(SerialNumber24.get()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddOutOfRange()
+  {
+    SerialBitmap.create(SerialNumber8.get()).add(256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testRangeBackwards()
+  {
+    SerialBitmap.create(SerialNumber16.get()).addRange(10, 5);
+  }
+
+  @Test
+  public void testContainerConversions()
+  {
+    final Random random = new Random(0x5eed_0015L);
+    final SerialBitmap b = SerialBitmap.create(SerialNumber24.get());
+    final BitSet model = new BitSet();
+
+    for (int index = 0; index < 10000; ++index) {
+      final int value = 0x1_0000 + random.nextInt(0x1_0000);
+      Assert.assertEquals(
+        Boolean.valueOf(!model.get(value)),
+        Boolean.valueOf(b.add(value)));
+      model.set(value);
+    }
+    for (int index = 0; index < 9000; ++index) {
+      final int value = 0x1_0000 + random.nextInt(0x1_0000);
+      Assert.assertEquals(
+        Boolean.valueOf(model.get(value)),
+        Boolean.valueOf(b.remove(value)));
+      model.clear(value);
+    }
+    for (int value = 0x3_0000; value < 0x3_8000; ++value) {
+      b.add(value);
+      model.set(value);
+    }
+    b.optimize();
+    b.remove(0x3_4000);
+    model.clear(0x3_4000);
+    b.add(0x3_8000);
+    model.set(0x3_8000);
+    b.add(0x3_4000);
+    model.set(0x3_4000);
+
+    Assert.assertEquals(model.cardinality(), b.cardinality());
+    for (int value = 0x1_0000; value < 0x4_0000; ++value) {
+      Assert.assertEquals(
+        Boolean.valueOf(model.get(value)),
+        Boolean.valueOf(b.contains(value)));
+    }
+  }
+
+  @Test
+  public void testMatchesModel()
+  {
+    final Random random = new Random(0x5eed_0115L);
+    final int bits = 18;
+    final int space = 1 << bits;
+    final SerialNumberIntType serial = SerialNumbers.ofBitsInt(bits);
+
+    final SerialBitmap b = SerialBitmap.create(serial);
+    final SerialBitmap other = SerialBitmap.create(serial);
+    final BitSet model = new BitSet(space);
+    final BitSet otherModel = new BitSet(space);
+
+    for (int index = 0; index < 3000; ++index) {
+      final int first = random.nextInt(space);
+      final int last = serial.add(first, random.nextInt(100000));
+
+      switch (random.nextInt(9)) {
+        case 0 -> {
+          b.addRange(first, last);
+          setRange(model, serial, first, last, true);
+        }
+        case 1 -> {
+          b.removeRange(first, last);
+          setRange(model, serial, first, last, false);
+        }
+        case 2 -> {
+          other.clear();
+          otherModel.clear();
+          for (int value = 0; value < 50; ++value) {
+            final int v = random.nextInt(space);
+            other.add(v);
+            otherModel.set(v);
+          }
+          other.addRange(first, last);
+          setRange(otherModel, serial, first, last, true);
+        }
+        case 3 -> {
+          b.or(other);
+          model.or(otherModel);
+        }
+        case 4 -> {
+          b.and(other);
+          model.and(otherModel);
+        }
+        case 5 -> {
+          b.andNot(other);
+          model.andNot(otherModel);
+        }
+        case 6 -> {
+          Assert.assertEquals(
+            Boolean.valueOf(model.get(first)),
+            Boolean.valueOf(b.remove(first)));
+          model.clear(first);
+        }
+        default -> {
+          Assert.assertEquals(
+            Boolean.valueOf(!model.get(first)),
+            Boolean.valueOf(b.add(first)));
+          model.set(first);
+        }
+      }
+
+      Assert.assertEquals(model.cardinality(), b.cardinality());
+      if (model.cardinality() < space) {
+        final int probe = random.nextInt(space);
+        Assert.assertEquals(
+          firstMissingAfter(model, probe, space),
+          b.firstMissingAfter(probe));
+      }
+    }
+
+    checkEqual(model, b, space);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialBlock;
+import com.io7m.jserial.core.SerialBlockAllocator;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber48;
+import com.io7m.jserial.core.SerialNumber8;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+
+public final class SerialBlockAllocatorTest
+{
+  @Test
+  public void testClaimWraps()
+  {
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber8.get(), 250L, 4L, false);
+    final SerialBlock b = a.newBlock();
+
+    Assert.assertFalse(b.hasNext());
+    a.claim(b);
+    Assert.assertEquals(4L, b.remaining());
+    Assert.assertEquals(250L, b.next());
+    Assert.assertEquals(251L, b.next());
+    Assert.assertEquals(252L, b.next());
+    Assert.assertEquals(253L, b.next());
+    Assert.assertFalse(b.hasNext());
+
+    a.claim(b);
+    Assert.assertEquals(254L, b.next());
+    Assert.assertEquals(255L, b.next());
+    Assert.assertEquals(0L, b.next());
+    Assert.assertEquals(1L, b.next());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testExhausted()
+  {
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber8.get(), 0L, 1L, false);
+    final SerialBlock b = a.newBlock();
+    a.claim(b);
+    b.next();
+    b.next();
+  }
+
+  @Test
+  public void testReleaseTail()
+  {
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber32.get(), 0xffff_fffeL, 8L, false);
+    final SerialBlock b = a.newBlock();
+
+    a.claim(b);
+    Assert.assertEquals(0xffff_fffeL, b.next());
+    Assert.assertTrue(a.release(b));
+    Assert.assertFalse(b.hasNext());
+
+    a.claim(b);
+    Assert.assertEquals(0xffff_ffffL, b.next());
+    Assert.assertEquals(0L, b.next());
+  }
+
+  @Test
+  public void testReleaseNotTailDiscarded()
+  {
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber32.get(), 0L, 8L, false);
+    final SerialBlock b0 = a.newBlock();
+    final SerialBlock b1 = a.newBlock();
+
+    a.claim(b0);
+    a.claim(b1);
+    Assert.assertEquals(0L, b0.next());
+    Assert.assertFalse(a.release(b0));
+    Assert.assertFalse(a.release(b0));
+
+    a.claim(b0);
+    Assert.assertEquals(16L, b0.next());
+  }
+
+  @Test
+  public void testReleaseNotTailReused()
+  {
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber32.get(), 0L, 8L, true);
+    final SerialBlock b0 = a.newBlock();
+    final SerialBlock b1 = a.newBlock();
+
+    a.claim(b0);
+    a.claim(b1);
+    Assert.assertEquals(0L, b0.next());
+    Assert.assertEquals(1L, b0.next());
+    Assert.assertFalse(a.release(b0));
+
+    a.claim(b0);
+    Assert.assertEquals(6L, b0.remaining());
+    Assert.assertEquals(2L, b0.next());
+
+    Assert.assertFalse(a.release(b0));
+    a.claim(b0);
+    Assert.assertEquals(3L, b0.next());
+    Assert.assertFalse(a.release(b0));
+    a.claim(b0);
+    Assert.assertEquals(4L, b0.next());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBlockSizeZero()
+  {
+    SerialBlockAllocator.create(SerialNumber8.get(), 0L, 0L, false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBlockSizeTooLarge()
+  {
+    SerialBlockAllocator.create(SerialNumber8.get(), 0L, 129L, false);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInitialOutOfRange()
+  {
+    SerialBlockAllocator.create(SerialNumber8.get(), 256L, 1L, false);
+  }
+
+  @Test
+  public void testConcurrentUnique()
+    throws Exception
+  {
+    final long initial = (1L << 48) - 10_000L;
+    final SerialBlockAllocator a =
+      SerialBlockAllocator.create(SerialNumber48.get(), initial, 64L, true);
+
+    final int threadCount = 8;
+    final int perThread = 20000;
+    final long[][] results = new long[threadCount][perThread];
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(threadCount);
+
+    for (int t = 0; t < threadCount; ++t) {
+      final long[] out = results[t];
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int index = 0; index < perThread; ++index) {
+          out[index] = a.next();
+          if (index % 1000 == 999) {
+            a.releaseLocal();
+          }
+        }
+        a.releaseLocal();
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    final long[] all =
+      Arrays.stream(results).flatMapToLong(Arrays::stream).sorted().toArray();
+    for (int index = 1; index < all.length; ++index) {
+      Assert.assertNotEquals(all[index - 1], all[index]);
+    }
+    for (final long value : all) {
+      Assert.assertTrue(SerialNumber48.get().inRange(value));
+    }
+  }
+}
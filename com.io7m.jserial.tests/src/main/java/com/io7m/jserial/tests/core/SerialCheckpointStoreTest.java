@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialCheckpointStore;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber48;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.OptionalLong;
+
+public final class SerialCheckpointStoreTest
+{
+  private Path directory;
+  private Path file;
+
+  @Before
+  public void setup()
+    throws IOException
+  {
+    this.directory = Files.createTempDirectory("jserial-");
+    this.file = this.directory.resolve("checkpoints.bin");
+  }
+
+  @After
+  public void tearDown()
+    throws IOException
+  {
+    Files.deleteIfExists(this.file);
+    Files.deleteIfExists(this.directory);
+  }
+
+  @Test
+  public void testPersistAcrossReopen()
+    throws IOException
+  {
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber48.get(), 64)) {
+      Assert.assertEquals(OptionalLong.empty(), store.get(1L));
+      for (long key = 0L; key < 40L; ++key) {
+        store.put(key, key * 1000L);
+      }
+      store.put(7L, 123L);
+      store.flush();
+    }
+
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber48.get(), 64)) {
+      Assert.assertEquals(64, store.slotCount());
+      for (long key = 0L; key < 40L; ++key) {
+        final long expected = key == 7L ? 123L : key * 1000L;
+        Assert.assertEquals(OptionalLong.of(expected), store.get(key));
+      }
+      Assert.assertEquals(OptionalLong.empty(), store.get(40L));
+    }
+  }
+
+  @Test
+  public void testResumeJumpsAcrossWrap()
+    throws IOException
+  {
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 8)) {
+      Assert.assertEquals(100L, store.resume(5L, 1000L, 100L));
+      store.put(5L, 0xffff_ff00L);
+    }
+
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 8)) {
+      Assert.assertEquals(0x2e8L, store.resume(5L, 1000L, 100L));
+      Assert.assertEquals(OptionalLong.of(0x2e8L), store.get(5L));
+    }
+  }
+
+  @Test
+  public void testTornWriteFallsBack()
+    throws IOException
+  {
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 1)) {
+      store.put(9L, 10L);
+      store.put(9L, 20L);
+      Assert.assertEquals(OptionalLong.of(20L), store.get(9L));
+    }
+
+    /*
+     * The second update went to the first copy of the only slot. Corrupt
+     * its value as if the write had been torn.
+     */
+
+    try (FileChannel channel =
+           FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+      channel.write(ByteBuffer.wrap(new byte[]{1, 2, 3}), 64L + 16L);
+    }
+
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 1)) {
+      Assert.assertEquals(OptionalLong.of(10L), store.get(9L));
+      store.put(9L, 30L);
+      Assert.assertEquals(OptionalLong.of(30L), store.get(9L));
+      store.put(9L, 40L);
+      Assert.assertEquals(OptionalLong.of(40L), store.get(9L));
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFull()
+    throws IOException
+  {
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 2)) {
+      store.put(1L, 1L);
+      store.put(2L, 2L);
+      store.put(1L, 3L);
+      store.put(3L, 3L);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueOutOfRange()
+    throws IOException
+  {
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 2)) {
+      store.put(1L, 0x1_0000_0000L);
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testSlotCountNotPowerOfTwo()
+    throws IOException
+  {
+    SerialCheckpointStore.open(this.file, SerialNumber32.get(), 3);
+  }
+
+  @Test(expected = IOException.class)
+  public void testIncompatibleWidth()
+    throws IOException
+  {
+    SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4).close();
+    SerialCheckpointStore.open(this.file, SerialNumber48.get(), 4).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testIncompatibleSize()
+    throws IOException
+  {
+    SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4).close();
+    SerialCheckpointStore.open(this.file, SerialNumber32.get(), 8).close();
+  }
+
+  @Test(expected = IOException.class)
+  public void testBadMagic()
+    throws IOException
+  {
+    final byte[] data = new byte[64 + 64 * 4];
+    data[0] = 0x55;
+    Files.write(this.file, data);
+    SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4).close();
+  }
+
+  @Test
+  public void testInterruptedCreationZeroFilled()
+    throws IOException
+  {
+    Files.write(this.file, new byte[64 + 64 * 4]);
+
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4)) {
+      Assert.assertEquals(OptionalLong.empty(), store.get(1L));
+      store.put(1L, 10L);
+    }
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4)) {
+      Assert.assertEquals(OptionalLong.of(10L), store.get(1L));
+    }
+  }
+
+  @Test
+  public void testInterruptedCreationClearsSlots()
+    throws IOException
+  {
+    final byte[] data = new byte[64 + 64 * 4];
+    for (int index = 64; index < data.length; ++index) {
+      data[index] = (byte) 0xff;
+    }
+    Files.write(this.file, data);
+
+    try (SerialCheckpointStore store =
+           SerialCheckpointStore.open(this.file, SerialNumber32.get(), 4)) {
+      for (long key = 0L; key < 4L; ++key) {
+        store.put(key, key);
+      }
+      for (long key = 0L; key < 4L; ++key) {
+        Assert.assertEquals(OptionalLong.of(key), store.get(key));
+      }
+    }
+  }
+}
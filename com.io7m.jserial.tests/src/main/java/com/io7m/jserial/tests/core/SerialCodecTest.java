@@ -0,0 +1,202 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialCodec;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber40;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+public final class SerialCodecTest
+{
+  private static final ByteOrder[] ORDERS = {
+    ByteOrder.BIG_ENDIAN,
+    ByteOrder.LITTLE_ENDIAN,
+  };
+
+  private static long read(
+    final ByteBuffer buffer,
+    final int offset,
+    final int bits)
+  {
+    return switch (bits) {
+      case 8 -> SerialCodec.get8(buffer, offset);
+      case 16 -> SerialCodec.get16(buffer, offset);
+      case 24 -> SerialCodec.get24(buffer, offset);
+      case 32 -> SerialCodec.get32(buffer, offset);
+      case 40 -> SerialCodec.get40(buffer, offset);
+      case 48 -> SerialCodec.get48(buffer, offset);
+      case 56 -> SerialCodec.get56(buffer, offset);
+      default -> SerialCodec.get62(buffer, offset);
+    };
+  }
+
+  private static void write(
+    final ByteBuffer buffer,
+    final int offset,
+    final int bits,
+    final long value)
+  {
+    switch (bits) {
+      case 8 -> SerialCodec.put8(buffer, offset, (int) value);
+      case 16 -> SerialCodec.put16(buffer, offset, (int) value);
+      case 24 -> SerialCodec.put24(buffer, offset, (int) value);
+      case 32 -> SerialCodec.put32(buffer, offset, value);
+      case 40 -> SerialCodec.put40(buffer, offset, value);
+      case 48 -> SerialCodec.put48(buffer, offset, value);
+      case 56 -> SerialCodec.put56(buffer, offset, value);
+      default -> SerialCodec.put62(buffer, offset, value);
+    }
+  }
+
+  @Test
+  public void testFixedWidthsRoundTrip()
+  {
+    final Random random = new Random(0x5eed_0018L);
+    final int[] widths = {8, 16, 24, 32, 40, 48, 56, 62};
+
+    for (final ByteOrder order : ORDERS) {
+      final ByteBuffer buffer = ByteBuffer.allocate(16).order(order);
+      for (final int bits : widths) {
+        final long mask = -1L >>> (Long.SIZE - bits);
+        final int bytes = SerialCodec.bytesFor(bits);
+        for (int index = 0; index < 1000; ++index) {
+          final long value = random.nextLong() & mask;
+          final int offset = random.nextInt(16 - bytes + 1);
+          write(buffer, offset, bits, value);
+          Assert.assertEquals(value, read(buffer, offset, bits));
+          Assert.assertEquals(value, SerialCodec.getBits(buffer, offset, bits));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testLayoutBigEndian()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.BIG_ENDIAN);
+    SerialCodec.put24(buffer, 1, 0x010203);
+    Assert.assertEquals(0, buffer.get(0));
+    Assert.assertEquals(1, buffer.get(1));
+    Assert.assertEquals(2, buffer.get(2));
+    Assert.assertEquals(3, buffer.get(3));
+    Assert.assertEquals(0, buffer.get(4));
+
+    SerialCodec.put56(buffer, 0, 0x01020304050607L);
+    for (int index = 0; index < 7; ++index) {
+      Assert.assertEquals(index + 1, buffer.get(index));
+    }
+    Assert.assertEquals(0, buffer.get(7));
+  }
+
+  @Test
+  public void testLayoutLittleEndian()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+    SerialCodec.put40(buffer, 2, 0x0102030405L);
+    Assert.assertEquals(0, buffer.get(1));
+    Assert.assertEquals(5, buffer.get(2));
+    Assert.assertEquals(4, buffer.get(3));
+    Assert.assertEquals(3, buffer.get(4));
+    Assert.assertEquals(2, buffer.get(5));
+    Assert.assertEquals(1, buffer.get(6));
+    Assert.assertEquals(0, buffer.get(7));
+
+    SerialCodec.put48(buffer, 0, 0x060504030201L);
+    for (int index = 0; index < 6; ++index) {
+      Assert.assertEquals(index + 1, buffer.get(index));
+    }
+  }
+
+  @Test
+  public void testArbitraryWidthsRoundTrip()
+  {
+    final Random random = new Random(0x5eed_0118L);
+    for (final ByteOrder order : ORDERS) {
+      final ByteBuffer buffer = ByteBuffer.allocate(16).order(order);
+      for (int bits = 1; bits <= 63; ++bits) {
+        final long mask = -1L >>> (Long.SIZE - bits);
+        for (int index = 0; index < 100; ++index) {
+          final long value = random.nextLong() & mask;
+          SerialCodec.putBits(buffer, 3, bits, value);
+          Assert.assertEquals(value, SerialCodec.getBits(buffer, 3, bits));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testUnusedHighBitsIgnored()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocate(8);
+    buffer.putLong(0, -1L);
+    Assert.assertEquals(0x3fff_ffff_ffff_ffffL, SerialCodec.get62(buffer, 0));
+    Assert.assertEquals(0xfffL, SerialCodec.getBits(buffer, 0, 12));
+  }
+
+  @Test
+  public void testCalculatorWidths()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocate(8);
+    SerialCodec.put(SerialNumber24.get(), buffer, 0, 0xabcdef);
+    Assert.assertEquals(0xabcdef, SerialCodec.get(SerialNumber24.get(), buffer, 0));
+    Assert.assertEquals(0xab, buffer.get(0) & 0xff);
+
+    SerialCodec.put(SerialNumber40.get(), buffer, 1, 0xff_0000_0001L);
+    Assert.assertEquals(
+      0xff_0000_0001L,
+      SerialCodec.get(SerialNumber40.get(), buffer, 1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueTooLarge()
+  {
+    SerialCodec.put24(ByteBuffer.allocate(4), 0, 0x100_0000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testValueTooLargeBits()
+  {
+    SerialCodec.putBits(ByteBuffer.allocate(4), 0, 12, 0x1000L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBitsInvalid()
+  {
+    SerialCodec.getBits(ByteBuffer.allocate(8), 0, 64);
+  }
+
+  @Test
+  public void testOutOfBoundsWritesNothing()
+  {
+    final ByteBuffer buffer = ByteBuffer.allocate(6);
+    try {
+      SerialCodec.put56(buffer, 0, 0x01020304050607L);
+      Assert.fail();
+    } catch (final IndexOutOfBoundsException e) {
+      // Expected
+    }
+    for (int index = 0; index < 6; ++index) {
+      Assert.assertEquals(0, buffer.get(index));
+    }
+  }
+}
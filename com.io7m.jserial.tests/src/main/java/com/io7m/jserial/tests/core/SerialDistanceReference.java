@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * A straightforward reference implementation of serial number distance,
+ * used to check the optimized implementations.
+ */
+
+final class SerialDistanceReference
+{
+  private SerialDistanceReference()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  static int distance(
+    final int s0,
+    final int s1,
+    final int max)
+  {
+    final int lower = Math.min(s0, s1);
+    final int higher = Math.max(s0, s1);
+    final int inner = higher - lower;
+    final int outer = lower + (max - higher);
+
+    if (Math.abs(inner) <= Math.abs(outer)) {
+      return s1 - s0 > 0 ? inner : -inner;
+    }
+    return s0 - s1 > 0 ? outer : -outer;
+  }
+
+  static long distance(
+    final long s0,
+    final long s1,
+    final long max)
+  {
+    final long lower = Math.min(s0, s1);
+    final long higher = Math.max(s0, s1);
+    final long inner = higher - lower;
+    final long outer = lower + (max - higher);
+
+    if (Math.abs(inner) <= Math.abs(outer)) {
+      return s1 - s0 > 0L ? inner : -inner;
+    }
+    return s0 - s1 > 0L ? outer : -outer;
+  }
+}
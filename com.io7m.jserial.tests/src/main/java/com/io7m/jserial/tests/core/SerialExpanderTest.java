@@ -0,0 +1,259 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialExpander;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class SerialExpanderTest
+{
+  private static final long FULL_MAX = (1L << 62) - 1L;
+
+  @Test
+  public void testRFC9000Decoding()
+  {
+    Assert.assertEquals(
+      0xa82f9b32L,
+      SerialExpander.expand(0xa82f30eaL, 0x9b32L, 16));
+  }
+
+  /**
+   * The decoding algorithm of RFC 9000, appendix A.3, transcribed directly.
+   */
+
+  private static long rfcDecode(
+    final long largest,
+    final long truncated,
+    final int bits)
+  {
+    final long expected = largest + 1L;
+    final long window = 1L << bits;
+    final long halfWindow = window / 2L;
+    final long mask = window - 1L;
+    final long candidate = (expected & ~mask) | truncated;
+    if (candidate <= expected - halfWindow && candidate < (1L << 62) - window) {
+      return candidate + window;
+    }
+    if (candidate > expected + halfWindow && candidate >= window) {
+      return candidate - window;
+    }
+    return candidate;
+  }
+
+  @Test
+  public void testMatchesRFC9000()
+  {
+    final Random random = new Random(0x5eed_0119L);
+    for (final int bits : new int[]{8, 16, 24, 32}) {
+      final long mask = (1L << bits) - 1L;
+      for (int index = 0; index < 100_000; ++index) {
+        final long largest = switch (index % 3) {
+          case 0 -> random.nextLong() & FULL_MAX;
+          case 1 -> random.nextLong(1L << (bits + 1));
+          default -> FULL_MAX - random.nextLong(1L << (bits + 1));
+        };
+        final long truncated = random.nextLong() & mask;
+        final long expected = rfcDecode(largest, truncated, bits);
+        if (expected <= FULL_MAX) {
+          Assert.assertEquals(
+            expected,
+            SerialExpander.expand(largest, truncated, bits));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testRFC9000Encoding()
+  {
+    Assert.assertEquals(16, SerialExpander.truncatedBits(0xac5c02L, 0xabe8b3L));
+    Assert.assertEquals(24, SerialExpander.truncatedBits(0xace8feL, 0xabe8b3L));
+  }
+
+  @Test
+  public void testExpandWrapsAcrossWindow()
+  {
+    Assert.assertEquals(0x100L, SerialExpander.expand(0xffL, 0x00L, 8));
+    Assert.assertEquals(0xffL, SerialExpander.expand(0x100L, 0xffL, 8));
+    Assert.assertEquals(0x17fL, SerialExpander.expand(0xffL, 0x7fL, 8));
+    Assert.assertEquals(0x180L, SerialExpander.expand(0xffL, 0x80L, 8));
+    Assert.assertEquals(0x81L, SerialExpander.expand(0xffL, 0x81L, 8));
+  }
+
+  @Test
+  public void testExpandAtLimits()
+  {
+    Assert.assertEquals(0xffL, SerialExpander.expand(0L, 0xffL, 8));
+    Assert.assertEquals(
+      FULL_MAX,
+      SerialExpander.expand(FULL_MAX - 1L, 0xffL, 8));
+    Assert.assertEquals(
+      FULL_MAX - 0xffL,
+      SerialExpander.expand(FULL_MAX, 0x00L, 8));
+  }
+
+  @Test
+  public void testRoundTrip()
+  {
+    final Random random = new Random(0x5eed_0019L);
+    for (int index = 0; index < 100_000; ++index) {
+      final long acknowledged = random.nextLong() & (FULL_MAX >>> 1);
+      final long full = acknowledged + 1L + random.nextInt(Integer.MAX_VALUE);
+      final int bits = SerialExpander.truncatedBits(full, acknowledged);
+      final long truncated = SerialExpander.truncate(full, bits);
+      Assert.assertEquals(
+        full,
+        SerialExpander.expand(acknowledged, truncated, bits));
+    }
+  }
+
+  @Test
+  public void testMinimalWidths()
+  {
+    Assert.assertEquals(8, SerialExpander.truncatedBits(1001L, 1000L));
+    Assert.assertEquals(8, SerialExpander.truncatedBits(1127L, 1000L));
+    Assert.assertEquals(8, SerialExpander.truncatedBits(1128L, 1000L));
+    Assert.assertEquals(16, SerialExpander.truncatedBits(1129L, 1000L));
+    Assert.assertEquals(16, SerialExpander.truncatedBits(1000L + 32767L, 1000L));
+    Assert.assertEquals(16, SerialExpander.truncatedBits(1000L + 32768L, 1000L));
+    Assert.assertEquals(24, SerialExpander.truncatedBits(1000L + 32769L, 1000L));
+    Assert.assertEquals(8, SerialExpander.truncatedBitsUnacknowledged(126L));
+    Assert.assertEquals(8, SerialExpander.truncatedBitsUnacknowledged(127L));
+    Assert.assertEquals(16, SerialExpander.truncatedBitsUnacknowledged(128L));
+    Assert.assertEquals(
+      32,
+      SerialExpander.truncatedBits(1000L + (1L << 31), 1000L));
+  }
+
+  @Test
+  public void testMinimalWidthsRoundTrip()
+  {
+    for (final long unacknowledged : new long[]{127L, 128L, 32767L, 32768L}) {
+      final long acknowledged = 0x1234_5678L;
+      final long full = acknowledged + unacknowledged;
+      final int bits = SerialExpander.truncatedBits(full, acknowledged);
+      Assert.assertEquals(
+        full,
+        SerialExpander.expand(
+          acknowledged,
+          SerialExpander.truncate(full, bits),
+          bits));
+    }
+  }
+
+  @Test
+  public void testBatchMatchesSequential()
+  {
+    final Random random = new Random(0x5eed_0020L);
+    for (final int bits : new int[]{8, 16, 24, 32}) {
+      final long window = 1L << bits;
+      final long[] full = new long[64];
+      final long[] truncated = new long[64];
+      long next = random.nextLong() & (FULL_MAX >>> 1);
+      for (int index = 0; index < full.length; ++index) {
+        next += random.nextLong(window / 4L) - window / 16L;
+        full[index] = next;
+        truncated[index] = SerialExpander.truncate(next, bits);
+      }
+
+      final long start = full[0] - 1L;
+      long largest = start;
+      final long[] expected = new long[full.length];
+      for (int index = 0; index < full.length; ++index) {
+        expected[index] = SerialExpander.expand(largest, truncated[index], bits);
+        largest = Math.max(largest, expected[index]);
+      }
+
+      final long[] output = new long[full.length + 2];
+      final long result = SerialExpander.expandAll(
+        start, truncated, 0, bits, output, 2, truncated.length);
+      Assert.assertEquals(largest, result);
+      for (int index = 0; index < full.length; ++index) {
+        Assert.assertEquals(full[index], expected[index]);
+        Assert.assertEquals(full[index], output[index + 2]);
+      }
+    }
+  }
+
+  @Test
+  public void testBatchWholeArrays()
+  {
+    final long[] output = new long[3];
+    final long largest = SerialExpander.expandAll(
+      0xfeL, new long[]{0xffL, 0x00L, 0xfeL}, 8, output);
+    Assert.assertArrayEquals(new long[]{0xffL, 0x100L, 0xfeL}, output);
+    Assert.assertEquals(0x100L, largest);
+  }
+
+  @Test
+  public void testBatchInvalidWritesNothing()
+  {
+    final long[] output = new long[3];
+    try {
+      SerialExpander.expandAll(0L, new long[]{1L, 2L, 0x100L}, 8, output);
+      Assert.fail();
+    } catch (final IllegalArgumentException e) {
+      // Expected
+    }
+    Assert.assertArrayEquals(new long[3], output);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testBatchOutputTooSmall()
+  {
+    SerialExpander.expandAll(0L, new long[4], 8, new long[3]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedBitsTooFar()
+  {
+    SerialExpander.truncatedBits(1000L + (1L << 31) + 1L, 1000L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncatedBitsNotNewer()
+  {
+    SerialExpander.truncatedBits(10L, 10L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExpandBadWidth()
+  {
+    SerialExpander.expand(0L, 0L, 12);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExpandTruncatedTooLarge()
+  {
+    SerialExpander.expand(0L, 0x100L, 8);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testExpandLargestOutOfRange()
+  {
+    SerialExpander.expand(1L << 62, 0L, 8);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testTruncateOutOfRange()
+  {
+    SerialExpander.truncate(-1L, 8);
+  }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialReplayWindow;
+import com.io7m.jserial.core.SerialReplayWindowFlyweight;
+import com.io7m.jserial.core.SerialRingBufferLong;
+import com.io7m.jserial.core.SerialRingBufferLongFlyweight;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public final class SerialFlyweightTest
+{
+  @Test
+  public void testReplayWindowsMatchOnHeap()
+  {
+    final Random random = new Random(0x5eed_0016L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(16);
+    final int windowBits = 128;
+    final int windows = 64;
+    final int size = SerialReplayWindowFlyweight.sizeInBytes(windowBits);
+
+    final ByteBuffer buffer =
+      ByteBuffer.allocateDirect(size * windows)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    final SerialReplayWindowFlyweight flyweight =
+      SerialReplayWindowFlyweight.create(serial, windowBits, buffer);
+
+    final SerialReplayWindow[] expected = new SerialReplayWindow[windows];
+    final long[] bases = new long[windows];
+    for (int index = 0; index < windows; ++index) {
+      expected[index] = SerialReplayWindow.create(serial, windowBits);
+      bases[index] = random.nextInt(65536);
+    }
+
+    for (int step = 0; step < 100000; ++step) {
+      final int window = random.nextInt(windows);
+      bases[window] = serial.add(bases[window], random.nextInt(4));
+      final long seq;
+      if (random.nextInt(200) == 0) {
+        seq = serial.add(bases[window], random.nextInt(1000));
+      } else {
+        seq = serial.add(bases[window], 65536L - random.nextInt(windowBits + 32));
+      }
+
+      flyweight.wrap(window * size);
+      Assert.assertEquals(
+        Boolean.valueOf(expected[window].check(seq)),
+        Boolean.valueOf(flyweight.check(seq)));
+      Assert.assertEquals(
+        Boolean.valueOf(expected[window].acceptAndMark(seq)),
+        Boolean.valueOf(flyweight.acceptAndMark(seq)));
+      Assert.assertEquals(expected[window].highest(), flyweight.highest());
+    }
+
+    flyweight.wrap(0);
+    flyweight.reset();
+    Assert.assertTrue(flyweight.isEmpty());
+    flyweight.wrap(size);
+    Assert.assertFalse(flyweight.isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testReplayWindowHighestEmpty()
+  {
+    SerialReplayWindowFlyweight.create(
+      SerialNumber32.get(),
+      64,
+      ByteBuffer.allocate(SerialReplayWindowFlyweight.sizeInBytes(64)))
+      .highest();
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testReplayWindowWrapOutOfBounds()
+  {
+    final int size = SerialReplayWindowFlyweight.sizeInBytes(64);
+    SerialReplayWindowFlyweight.create(
+      SerialNumber32.get(), 64, ByteBuffer.allocate(size * 2))
+      .wrap(size + 1);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testReplayWindowBufferTooSmall()
+  {
+    SerialReplayWindowFlyweight.create(
+      SerialNumber32.get(), 64, ByteBuffer.allocate(8));
+  }
+
+  @Test
+  public void testReplayWindowMapped()
+    throws IOException
+  {
+    final Path file = Files.createTempFile("jserial-", ".bin");
+    try {
+      final int size = SerialReplayWindowFlyweight.sizeInBytes(64);
+      try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        final MappedByteBuffer map =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0L, size * 4L);
+        final SerialReplayWindowFlyweight flyweight =
+          SerialReplayWindowFlyweight.create(SerialNumber16.get(), 64, map);
+
+        flyweight.wrap(size * 3);
+        Assert.assertTrue(flyweight.isEmpty());
+        Assert.assertTrue(flyweight.acceptAndMark(100L));
+        map.force();
+      }
+
+      try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+        final MappedByteBuffer map =
+          channel.map(FileChannel.MapMode.READ_WRITE, 0L, size * 4L);
+        final SerialReplayWindowFlyweight flyweight =
+          SerialReplayWindowFlyweight.create(SerialNumber16.get(), 64, map);
+
+        flyweight.wrap(size * 3);
+        Assert.assertEquals(100L, flyweight.highest());
+        Assert.assertFalse(flyweight.acceptAndMark(100L));
+      }
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  @Test
+  public void testRingBuffersMatchOnHeap()
+  {
+    final Random random = new Random(0x5eed_0116L);
+    final SerialNumberLongType serial = SerialNumber32.get();
+    final int capacity = 32;
+    final int buffers = 16;
+    final int size = SerialRingBufferLongFlyweight.sizeInBytes(capacity);
+
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(size * buffers);
+    final SerialRingBufferLongFlyweight flyweight =
+      SerialRingBufferLongFlyweight.create(serial, capacity, buffer);
+
+    final SerialRingBufferLong[] expected = new SerialRingBufferLong[buffers];
+    for (int index = 0; index < buffers; ++index) {
+      final long initial = 0xffff_ff00L + index;
+      expected[index] = SerialRingBufferLong.create(serial, capacity, initial);
+      flyweight.wrap(index * size).reset(initial);
+    }
+
+    for (int step = 0; step < 100000; ++step) {
+      final int index = random.nextInt(buffers);
+      final SerialRingBufferLong e = expected[index];
+      flyweight.wrap(index * size);
+
+      final long seq = serial.add(e.next(), random.nextInt(capacity + 4));
+      switch (random.nextInt(4)) {
+        case 0, 1 -> {
+          final long value = random.nextLong();
+          Assert.assertEquals(
+            Boolean.valueOf(e.insert(seq, value)),
+            Boolean.valueOf(flyweight.insert(seq, value)));
+        }
+        case 2 -> {
+          Assert.assertEquals(
+            Boolean.valueOf(e.isReady()),
+            Boolean.valueOf(flyweight.isReady()));
+          if (e.isReady()) {
+            Assert.assertEquals(e.poll(), flyweight.poll());
+          }
+        }
+        default -> {
+          final long target = serial.add(e.next(), random.nextInt(40));
+          Assert.assertEquals(e.advanceTo(target), flyweight.advanceTo(target));
+        }
+      }
+
+      Assert.assertEquals(e.size(), flyweight.size());
+      Assert.assertEquals(e.next(), flyweight.next());
+      Assert.assertEquals(
+        Boolean.valueOf(e.contains(seq)),
+        Boolean.valueOf(flyweight.contains(seq)));
+      if (e.contains(seq)) {
+        Assert.assertEquals(e.peek(seq), flyweight.peek(seq));
+      }
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testRingBufferPollEmpty()
+  {
+    SerialRingBufferLongFlyweight.create(
+      SerialNumber32.get(),
+      8,
+      ByteBuffer.allocate(SerialRingBufferLongFlyweight.sizeInBytes(8)))
+      .poll();
+  }
+}
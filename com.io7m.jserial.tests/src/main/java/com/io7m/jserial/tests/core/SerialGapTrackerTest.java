@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialGapTracker;
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumbers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public final class SerialGapTrackerTest
+{
+  @Test
+  public void testStatistics()
+  {
+    final SerialGapTracker tracker =
+      SerialGapTracker.create(SerialNumbers.ofBitsLong(32), 64);
+    Assert.assertTrue(tracker.isEmpty());
+
+    Assert.assertTrue(tracker.receive(10L));
+    Assert.assertTrue(tracker.receive(11L));
+    Assert.assertTrue(tracker.receive(15L));
+    Assert.assertEquals(3L, tracker.missing());
+    Assert.assertTrue(tracker.receive(13L));
+    Assert.assertEquals(2L, tracker.missing());
+    Assert.assertEquals(1L, tracker.reordered());
+    Assert.assertEquals(2L, tracker.maxReorderDepth());
+    Assert.assertFalse(tracker.receive(13L));
+    Assert.assertFalse(tracker.receive(15L));
+    Assert.assertEquals(2L, tracker.duplicates());
+
+    final List<String> gaps = new ArrayList<>();
+    tracker.forEachOpenGap((f, l) -> gaps.add(f + "-" + l));
+    Assert.assertEquals(List.of("12-12", "14-14"), gaps);
+
+    Assert.assertTrue(tracker.receive(75L));
+    Assert.assertEquals(0L, tracker.lost());
+    Assert.assertTrue(tracker.receive(76L));
+    Assert.assertEquals(1L, tracker.lost());
+    Assert.assertFalse(tracker.receive(12L));
+    Assert.assertEquals(1L, tracker.late());
+
+    Assert.assertTrue(tracker.receive(1000L));
+    Assert.assertEquals(7L, tracker.received());
+    Assert.assertEquals(
+      1000L - 10L + 1L,
+      tracker.received() + tracker.missing() + tracker.lost());
+    Assert.assertEquals(1000L, tracker.highest());
+
+    tracker.reset();
+    Assert.assertTrue(tracker.isEmpty());
+    Assert.assertEquals(0L, tracker.lost());
+  }
+
+  @Test
+  public void testGapAcrossWrap()
+  {
+    final SerialGapTracker tracker =
+      SerialGapTracker.create(SerialNumber16.get(), 64);
+    tracker.receive(0xfffdL);
+    tracker.receive(0x0002L);
+
+    final List<long[]> gaps = new ArrayList<>();
+    tracker.forEachOpenGap((f, l) -> gaps.add(new long[]{f, l}));
+    Assert.assertEquals(1, gaps.size());
+    Assert.assertArrayEquals(new long[]{0xfffeL, 0x0001L}, gaps.get(0));
+    Assert.assertEquals(4L, tracker.missing());
+  }
+
+  @Test
+  public void testMatchesReference()
+  {
+    final Random random = new Random(0x5eed_0023L);
+    final int window = 128;
+    final SerialGapTracker tracker =
+      SerialGapTracker.create(SerialNumbers.ofBitsLong(16), window);
+
+    final Set<Long> arrived = new HashSet<>();
+    final long first = 40_000L;
+    long earliest = first;
+    long highest = first;
+    long position = first;
+    long received = 1L;
+    long duplicates = 0L;
+    long reordered = 0L;
+    long late = 0L;
+    long depth = 0L;
+    arrived.add(Long.valueOf(first));
+    Assert.assertTrue(tracker.receive(first & 0xffffL));
+
+    for (int index = 0; index < 200_000; ++index) {
+      final int choice = random.nextInt(100);
+      if (choice < 2) {
+        position = highest + 1L + random.nextInt(400);
+      } else if (choice < 20) {
+        position = highest - random.nextInt(200);
+      } else {
+        position = highest + 1L + random.nextInt(3);
+      }
+
+      final boolean expected;
+      if (position > highest) {
+        highest = position;
+        arrived.add(Long.valueOf(position));
+        ++received;
+        expected = true;
+      } else if (position <= highest - window) {
+        ++late;
+        expected = false;
+      } else if (arrived.contains(Long.valueOf(position))) {
+        ++duplicates;
+        expected = false;
+      } else {
+        earliest = Math.min(earliest, position);
+        arrived.add(Long.valueOf(position));
+        ++received;
+        ++reordered;
+        depth = Math.max(depth, highest - position);
+        expected = true;
+      }
+
+      Assert.assertEquals(expected, tracker.receive(position & 0xffffL));
+      Assert.assertEquals(received, tracker.received());
+      Assert.assertEquals(duplicates, tracker.duplicates());
+      Assert.assertEquals(reordered, tracker.reordered());
+      Assert.assertEquals(late, tracker.late());
+      Assert.assertEquals(depth, tracker.maxReorderDepth());
+
+      if (index % 97 == 0) {
+        final long start = Math.max(earliest, highest - window + 1L);
+        long missing = 0L;
+        final List<Long> expectedGaps = new ArrayList<>();
+        for (long p = start; p <= highest; ++p) {
+          if (!arrived.contains(Long.valueOf(p))) {
+            ++missing;
+            if (p == start || arrived.contains(Long.valueOf(p - 1L))) {
+              expectedGaps.add(Long.valueOf(p & 0xffffL));
+            }
+          }
+        }
+        Assert.assertEquals(missing, tracker.missing());
+        Assert.assertEquals(
+          highest - earliest + 1L,
+          tracker.received() + tracker.missing() + tracker.lost());
+
+        final List<Long> gaps = new ArrayList<>();
+        tracker.forEachOpenGap((f, l) -> gaps.add(Long.valueOf(f)));
+        Assert.assertEquals(expectedGaps, gaps);
+      }
+    }
+  }
+
+  @Test
+  public void testOlderThanFirstBeforeWindowFills()
+  {
+    final SerialGapTracker tracker =
+      SerialGapTracker.create(SerialNumbers.ofBitsLong(32), 64);
+    Assert.assertTrue(tracker.receive(100L));
+    Assert.assertTrue(tracker.receive(101L));
+    Assert.assertTrue(tracker.receive(95L));
+    Assert.assertEquals(1L, tracker.reordered());
+    Assert.assertEquals(6L, tracker.maxReorderDepth());
+    Assert.assertEquals(4L, tracker.missing());
+    Assert.assertEquals(0L, tracker.late());
+    Assert.assertFalse(tracker.receive(95L));
+    Assert.assertEquals(1L, tracker.duplicates());
+
+    final List<String> gaps = new ArrayList<>();
+    tracker.forEachOpenGap((f, l) -> gaps.add(f + "-" + l));
+    Assert.assertEquals(List.of("96-99"), gaps);
+
+    Assert.assertFalse(tracker.receive(37L));
+    Assert.assertEquals(1L, tracker.late());
+
+    Assert.assertTrue(tracker.receive(160L));
+    Assert.assertEquals(1L, tracker.lost());
+    Assert.assertEquals(
+      160L - 95L + 1L,
+      tracker.received() + tracker.missing() + tracker.lost());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfRange()
+  {
+    SerialGapTracker.create(SerialNumber16.get(), 64).receive(0x1_0000L);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHighestEmpty()
+  {
+    SerialGapTracker.create(SerialNumber16.get(), 64).highest();
+  }
+}
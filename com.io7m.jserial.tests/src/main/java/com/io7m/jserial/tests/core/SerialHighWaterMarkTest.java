@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialHighWaterMarkInt;
+import com.io7m.jserial.core.SerialHighWaterMarkLong;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+
+public final class SerialHighWaterMarkTest
+{
+  @Test
+  public void testIntAdvanceWrap()
+  {
+    final SerialHighWaterMarkInt m =
+      SerialHighWaterMarkInt.create(SerialNumber8.get(), 250);
+
+    Assert.assertEquals(250, m.get());
+    Assert.assertFalse(m.advanceTo(250));
+    Assert.assertFalse(m.advanceTo(249));
+    Assert.assertTrue(m.isNewer(2));
+    Assert.assertTrue(m.advanceTo(2));
+    Assert.assertEquals(2, m.get());
+    Assert.assertFalse(m.isNewer(255));
+    Assert.assertFalse(m.advanceTo(255));
+    Assert.assertTrue(m.advanceTo(100));
+    Assert.assertEquals(100, m.get());
+  }
+
+  @Test
+  public void testLongAdvanceWrap()
+  {
+    final SerialHighWaterMarkLong m =
+      SerialHighWaterMarkLong.create(SerialNumber32.get(), 0xffff_fff0L);
+
+    Assert.assertTrue(m.advanceTo(0xffff_ffffL));
+    Assert.assertTrue(m.advanceTo(3L));
+    Assert.assertFalse(m.advanceTo(0xffff_fff8L));
+    Assert.assertEquals(3L, m.get());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCreateOutOfRange()
+  {
+    SerialHighWaterMarkInt.create(SerialNumber8.get(), 256);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAdvanceOutOfRange()
+  {
+    SerialHighWaterMarkLong.create(SerialNumber32.get(), 0L).advanceTo(-1L);
+  }
+
+  @Test
+  public void testConcurrentAdvance()
+    throws Exception
+  {
+    final SerialNumberIntType serial = SerialNumber24.get();
+    final int initial = 0xff_f000;
+    final int count = 100000;
+    final SerialHighWaterMarkInt m =
+      SerialHighWaterMarkInt.create(serial, initial);
+
+    final int threadCount = 4;
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(threadCount);
+
+    for (int t = 0; t < threadCount; ++t) {
+      final Random random = new Random(t);
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int index = 0; index <= count; ++index) {
+          final int jitter = random.nextInt(64);
+          final int offset = Math.max(0, index - jitter);
+          m.advanceTo(serial.add(initial, offset));
+          Assert.assertTrue(serial.distance(initial, m.get()) >= offset);
+        }
+        m.advanceTo(serial.add(initial, count));
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(serial.add(initial, count), m.get());
+  }
+}
@@ -23,8 +23,6 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.slf4j.Logger;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Random;
 
 public abstract class SerialNumberIntContract
@@ -270,4 +268,92 @@ public abstract class SerialNumberIntContract
       this.log().debug("--");
     }
   }
+
+  @Test
+  public final void testDistanceReferenceEquivalence()
+  {
+    final SerialNumberIntType s = this.get();
+    final int max = 1 << this.integerBits();
+    final int half = max >>> 1;
+    final int[] edges = {0, 1, half - 1, half, half + 1, max - 2, max - 1};
+
+    for (final int s0 : edges) {
+      for (final int s1 : edges) {
+        final int expected = SerialDistanceReference.distance(s0, s1, max);
+        Assert.assertEquals(expected, s.distance(s0, s1));
+        Assert.assertEquals(-expected, s.compare(s0, s1));
+      }
+    }
+
+    final Random random = new Random(0x5e7a1L);
+    for (int index = 0; index < 100_000; ++index) {
+      final int s0 = random.nextInt(max);
+      final int s1 = random.nextInt(max);
+      final int expected = SerialDistanceReference.distance(s0, s1, max);
+      Assert.assertEquals(expected, s.distance(s0, s1));
+      Assert.assertEquals(-expected, s.compare(s0, s1));
+    }
+  }
+
+  @Test
+  public final void testAddReferenceEquivalence()
+  {
+    final SerialNumberIntType s = this.get();
+    final int max = 1 << this.integerBits();
+
+    final Random random = new Random(0x5e7a1L);
+    for (int index = 0; index < 100_000; ++index) {
+      final int s0 = random.nextInt(max);
+      final int delta = random.nextInt(max) - (max >>> 1);
+      final int r = s.add(s0, delta);
+      Assert.assertEquals(Math.floorMod(s0 + delta, max), r);
+      Assert.assertTrue(s.inRange(r));
+    }
+  }
+
+  @Test
+  public final void testBulkMatchesScalar()
+  {
+    final SerialNumberIntType s = this.get();
+    final int max = 1 << this.integerBits();
+
+    final Random random = new Random(0x5e7a1L);
+    final int[] a = new int[1000];
+    final int[] b = new int[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = random.nextInt(max);
+      b[index] = random.nextInt(max);
+    }
+
+    final int base = random.nextInt(max);
+    final int delta = random.nextInt(max);
+    final int[] added = new int[a.length];
+    final int[] distances = new int[a.length];
+    final int[] comparisons = new int[a.length];
+    final int offset = 3;
+    final int length = a.length - 10;
+    s.add(a, delta, added, offset, length);
+    s.distance(base, a, distances, offset, length);
+    s.compare(a, b, comparisons, offset, length);
+
+    for (int index = 0; index < a.length; ++index) {
+      if (index >= offset && index < offset + length) {
+        Assert.assertEquals(s.add(a[index], delta), added[index]);
+        Assert.assertEquals(s.distance(base, a[index]), distances[index]);
+        Assert.assertEquals(s.compare(a[index], b[index]), comparisons[index]);
+      } else {
+        Assert.assertEquals(0, added[index]);
+        Assert.assertEquals(0, distances[index]);
+        Assert.assertEquals(0, comparisons[index]);
+      }
+    }
+  }
+
+  @Test
+  public final void testBulkOutOfBounds()
+  {
+    final SerialNumberIntType s = this.get();
+    this.expected.expect(IndexOutOfBoundsException.class);
+    s.distance(0, new int[10], new int[9], 0, 10);
+  }
 }
@@ -23,6 +23,8 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 import org.slf4j.Logger;
 
+import java.util.Random;
+
 public abstract class SerialNumberLongContract
 {
   @Rule public final ExpectedException expected = ExpectedException.none();
@@ -250,4 +252,92 @@ public abstract class SerialNumberLongContract
       this.log().debug("--");
     }
   }
+
+  @Test
+  public final void testDistanceReferenceEquivalence()
+  {
+    final SerialNumberLongType s = this.get();
+    final long max = 1L << this.integerBits();
+    final long half = max >>> 1;
+    final long[] edges = {0L, 1L, half - 1L, half, half + 1L, max - 2L, max - 1L};
+
+    for (final long s0 : edges) {
+      for (final long s1 : edges) {
+        final long expected = SerialDistanceReference.distance(s0, s1, max);
+        Assert.assertEquals(expected, s.distance(s0, s1));
+        Assert.assertEquals(-expected, s.compare(s0, s1));
+      }
+    }
+
+    final Random random = new Random(0x5e7a1L);
+    for (int index = 0; index < 100_000; ++index) {
+      final long s0 = random.nextLong(max);
+      final long s1 = random.nextLong(max);
+      final long expected = SerialDistanceReference.distance(s0, s1, max);
+      Assert.assertEquals(expected, s.distance(s0, s1));
+      Assert.assertEquals(-expected, s.compare(s0, s1));
+    }
+  }
+
+  @Test
+  public final void testAddReferenceEquivalence()
+  {
+    final SerialNumberLongType s = this.get();
+    final long max = 1L << this.integerBits();
+
+    final Random random = new Random(0x5e7a1L);
+    for (int index = 0; index < 100_000; ++index) {
+      final long s0 = random.nextLong(max);
+      final long delta = random.nextLong(max) - (max >>> 1);
+      final long r = s.add(s0, delta);
+      Assert.assertEquals(Math.floorMod(s0 + delta, max), r);
+      Assert.assertTrue(s.inRange(r));
+    }
+  }
+
+  @Test
+  public final void testBulkMatchesScalar()
+  {
+    final SerialNumberLongType s = this.get();
+    final long max = 1L << this.integerBits();
+
+    final Random random = new Random(0x5e7a1L);
+    final long[] a = new long[1000];
+    final long[] b = new long[1000];
+    for (int index = 0; index < a.length; ++index) {
+      a[index] = random.nextLong(max);
+      b[index] = random.nextLong(max);
+    }
+
+    final long base = random.nextLong(max);
+    final long delta = random.nextLong(max);
+    final long[] added = new long[a.length];
+    final long[] distances = new long[a.length];
+    final long[] comparisons = new long[a.length];
+    final int offset = 3;
+    final int length = a.length - 10;
+    s.add(a, delta, added, offset, length);
+    s.distance(base, a, distances, offset, length);
+    s.compare(a, b, comparisons, offset, length);
+
+    for (int index = 0; index < a.length; ++index) {
+      if (index >= offset && index < offset + length) {
+        Assert.assertEquals(s.add(a[index], delta), added[index]);
+        Assert.assertEquals(s.distance(base, a[index]), distances[index]);
+        Assert.assertEquals(s.compare(a[index], b[index]), comparisons[index]);
+      } else {
+        Assert.assertEquals(0L, added[index]);
+        Assert.assertEquals(0L, distances[index]);
+        Assert.assertEquals(0L, comparisons[index]);
+      }
+    }
+  }
+
+  @Test
+  public final void testBulkOutOfBounds()
+  {
+    final SerialNumberLongType s = this.get();
+    this.expected.expect(IndexOutOfBoundsException.class);
+    s.distance(0L, new long[10], new long[9], 0, 10);
+  }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber40;
+import com.io7m.jserial.core.SerialNumber48;
+import com.io7m.jserial.core.SerialNumber56;
+import com.io7m.jserial.core.SerialNumber62;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumberLongType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntPredicate;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongPredicate;
+
+public final class SerialNumberStaticTest
+{
+  private static void checkInt(
+    final SerialNumberIntType s,
+    final IntBinaryOperator add,
+    final IntBinaryOperator distance,
+    final IntBinaryOperator compare,
+    final IntPredicate inRange)
+  {
+    final Random random = new Random(0x5e7a1L);
+    final int max = 1 << s.bits();
+    for (int index = 0; index < 10_000; ++index) {
+      final int s0 = random.nextInt(max);
+      final int s1 = random.nextInt(max);
+      Assert.assertEquals(s.add(s0, s1), add.applyAsInt(s0, s1));
+      Assert.assertEquals(s.distance(s0, s1), distance.applyAsInt(s0, s1));
+      Assert.assertEquals(s.compare(s0, s1), compare.applyAsInt(s0, s1));
+      Assert.assertTrue(inRange.test(s0));
+      Assert.assertFalse(inRange.test(s0 + max));
+      Assert.assertFalse(inRange.test(-1 - s0));
+    }
+  }
+
+  private static void checkLong(
+    final SerialNumberLongType s,
+    final LongBinaryOperator add,
+    final LongBinaryOperator distance,
+    final LongBinaryOperator compare,
+    final LongPredicate inRange)
+  {
+    final Random random = new Random(0x5e7a1L);
+    final long max = 1L << s.bits();
+    for (int index = 0; index < 10_000; ++index) {
+      final long s0 = random.nextLong(max);
+      final long s1 = random.nextLong(max);
+      Assert.assertEquals(s.add(s0, s1), add.applyAsLong(s0, s1));
+      Assert.assertEquals(s.distance(s0, s1), distance.applyAsLong(s0, s1));
+      Assert.assertEquals(s.compare(s0, s1), compare.applyAsLong(s0, s1));
+      Assert.assertTrue(inRange.test(s0));
+      Assert.assertFalse(inRange.test(s0 + max));
+      Assert.assertFalse(inRange.test(-1L - s0));
+    }
+  }
+
+  @Test
+  public void testSealed()
+  {
+    Assert.assertTrue(SerialNumberIntType.class.isSealed());
+    Assert.assertTrue(SerialNumberLongType.class.isSealed());
+  }
+
+  @Test
+  public void testStaticMatchesInstance()
+  {
+    checkInt(
+      SerialNumber8.get(),
+      SerialNumber8::addStatic,
+      SerialNumber8::distanceStatic,
+      SerialNumber8::compareStatic,
+      SerialNumber8::inRangeStatic);
+    checkInt(
+      SerialNumber16.get(),
+      SerialNumber16::addStatic,
+      SerialNumber16::distanceStatic,
+      SerialNumber16::compareStatic,
+      SerialNumber16::inRangeStatic);
+    checkInt(
+      SerialNumber24.get(),
+      SerialNumber24::addStatic,
+      SerialNumber24::distanceStatic,
+      SerialNumber24::compareStatic,
+      SerialNumber24::inRangeStatic);
+    checkLong(
+      SerialNumber32.get(),
+      SerialNumber32::addStatic,
+      SerialNumber32::distanceStatic,
+      SerialNumber32::compareStatic,
+      SerialNumber32::inRangeStatic);
+    checkLong(
+      SerialNumber40.get(),
+      SerialNumber40::addStatic,
+      SerialNumber40::distanceStatic,
+      SerialNumber40::compareStatic,
+      SerialNumber40::inRangeStatic);
+    checkLong(
+      SerialNumber48.get(),
+      SerialNumber48::addStatic,
+      SerialNumber48::distanceStatic,
+      SerialNumber48::compareStatic,
+      SerialNumber48::inRangeStatic);
+    checkLong(
+      SerialNumber56.get(),
+      SerialNumber56::addStatic,
+      SerialNumber56::distanceStatic,
+      SerialNumber56::compareStatic,
+      SerialNumber56::inRangeStatic);
+    checkLong(
+      SerialNumber62.get(),
+      SerialNumber62::addStatic,
+      SerialNumber62::distanceStatic,
+      SerialNumber62::compareStatic,
+      SerialNumber62::inRangeStatic);
+  }
+}
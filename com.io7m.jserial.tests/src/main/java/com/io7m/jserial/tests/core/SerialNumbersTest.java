@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber40;
+import com.io7m.jserial.core.SerialNumber48;
+import com.io7m.jserial.core.SerialNumber56;
+import com.io7m.jserial.core.SerialNumber62;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class SerialNumbersTest
+{
+  @Test
+  public void testDedicatedImplementations()
+  {
+    Assert.assertSame(SerialNumber8.get(), SerialNumbers.ofBitsInt(8));
+    Assert.assertSame(SerialNumber16.get(), SerialNumbers.ofBitsInt(16));
+    Assert.assertSame(SerialNumber24.get(), SerialNumbers.ofBitsInt(24));
+    Assert.assertSame(SerialNumber32.get(), SerialNumbers.ofBitsLong(32));
+    Assert.assertSame(SerialNumber40.get(), SerialNumbers.ofBitsLong(40));
+    Assert.assertSame(SerialNumber48.get(), SerialNumbers.ofBitsLong(48));
+    Assert.assertSame(SerialNumber56.get(), SerialNumbers.ofBitsLong(56));
+    Assert.assertSame(SerialNumber62.get(), SerialNumbers.ofBitsLong(62));
+  }
+
+  @Test
+  public void testCached()
+  {
+    for (int bits = 1; bits <= 31; ++bits) {
+      final SerialNumberIntType s = SerialNumbers.ofBitsInt(bits);
+      Assert.assertSame(s, SerialNumbers.ofBitsInt(bits));
+      Assert.assertEquals(bits, s.bits());
+    }
+    for (int bits = 1; bits <= 63; ++bits) {
+      final SerialNumberLongType s = SerialNumbers.ofBitsLong(bits);
+      Assert.assertSame(s, SerialNumbers.ofBitsLong(bits));
+      Assert.assertEquals(bits, s.bits());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIntZero()
+  {
+    SerialNumbers.ofBitsInt(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIntTooLarge()
+  {
+    SerialNumbers.ofBitsInt(32);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLongZero()
+  {
+    SerialNumbers.ofBitsLong(0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLongTooLarge()
+  {
+    SerialNumbers.ofBitsLong(64);
+  }
+
+  @Test
+  public void testIntReferenceEquivalence()
+  {
+    final Random random = new Random(0x5e7a1L);
+    for (int bits = 1; bits <= 30; ++bits) {
+      final SerialNumberIntType s = SerialNumbers.ofBitsInt(bits);
+      final int max = 1 << bits;
+      for (int index = 0; index < 10_000; ++index) {
+        final int s0 = random.nextInt(max);
+        final int s1 = random.nextInt(max);
+        final int expected = SerialDistanceReference.distance(s0, s1, max);
+        Assert.assertEquals(expected, s.distance(s0, s1));
+        Assert.assertEquals(-expected, s.compare(s0, s1));
+        Assert.assertEquals(Math.floorMod(s0 + s1, max), s.add(s0, s1));
+        Assert.assertTrue(s.inRange(s0));
+        Assert.assertFalse(s.inRange(s0 + max));
+        Assert.assertFalse(s.inRange(-1 - s0));
+      }
+    }
+  }
+
+  @Test
+  public void testLongReferenceEquivalence()
+  {
+    final Random random = new Random(0x5e7a1L);
+    for (int bits = 1; bits <= 62; ++bits) {
+      final SerialNumberLongType s = SerialNumbers.ofBitsLong(bits);
+      final long max = 1L << bits;
+      for (int index = 0; index < 10_000; ++index) {
+        final long s0 = random.nextLong(max);
+        final long s1 = random.nextLong(max);
+        final long expected = SerialDistanceReference.distance(s0, s1, max);
+        Assert.assertEquals(expected, s.distance(s0, s1));
+        Assert.assertEquals(-expected, s.compare(s0, s1));
+        Assert.assertEquals(Math.floorMod(s0 + s1, max), s.add(s0, s1));
+        Assert.assertTrue(s.inRange(s0));
+        Assert.assertFalse(s.inRange(s0 + max));
+        Assert.assertFalse(s.inRange(-1L - s0));
+      }
+    }
+  }
+
+  @Test
+  public void testInt31()
+  {
+    final SerialNumberIntType s = SerialNumbers.ofBitsInt(31);
+    final int max = Integer.MAX_VALUE;
+    Assert.assertEquals(0, s.add(max, 1));
+    Assert.assertEquals(max, s.add(0, -1));
+    Assert.assertEquals(1, s.distance(max, 0));
+    Assert.assertEquals(-1, s.distance(0, max));
+    Assert.assertEquals(1 << 30, s.distance(0, 1 << 30));
+    Assert.assertEquals(-(1 << 30), s.distance(1 << 30, 0));
+    Assert.assertTrue(s.compare(max, 0) < 0);
+    Assert.assertTrue(s.inRange(max));
+    Assert.assertFalse(s.inRange(-1));
+  }
+
+  @Test
+  public void testLong63()
+  {
+    final SerialNumberLongType s = SerialNumbers.ofBitsLong(63);
+    final long max = Long.MAX_VALUE;
+    Assert.assertEquals(0L, s.add(max, 1L));
+    Assert.assertEquals(max, s.add(0L, -1L));
+    Assert.assertEquals(max - 1L, s.add(max, max));
+    Assert.assertEquals(1L, s.distance(max, 0L));
+    Assert.assertEquals(-1L, s.distance(0L, max));
+    Assert.assertEquals(1L << 62, s.distance(0L, 1L << 62));
+    Assert.assertEquals(-(1L << 62), s.distance(1L << 62, 0L));
+    Assert.assertEquals(-(1L << 62) + 1L, s.distance(0L, (1L << 62) + 1L));
+    Assert.assertTrue(s.compare(max, 0L) < 0L);
+    Assert.assertTrue(s.compare(0L, max) > 0L);
+    Assert.assertTrue(s.inRange(max));
+    Assert.assertFalse(s.inRange(-1L));
+  }
+}
@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialRangeSet;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+public final class SerialRangeSetTest
+{
+  private static List<String> ranges(
+    final SerialRangeSet set)
+  {
+    final List<String> out = new ArrayList<>();
+    set.forEachRange((first, last) -> out.add(first + "-" + last));
+    return out;
+  }
+
+  private static List<String> gaps(
+    final SerialRangeSet set)
+  {
+    final List<String> out = new ArrayList<>();
+    set.forEachGap((first, last) -> out.add(first + "-" + last));
+    return out;
+  }
+
+  @Test
+  public void testMergeAcrossWrap()
+  {
+    final SerialRangeSet set = SerialRangeSet.create(SerialNumber8.get(), 250L);
+
+    Assert.assertTrue(set.add(252L));
+    Assert.assertTrue(set.add(1L));
+    Assert.assertTrue(set.add(255L));
+    Assert.assertTrue(set.add(0L));
+    Assert.assertFalse(set.add(0L));
+    Assert.assertFalse(set.add(249L));
+
+    Assert.assertEquals(List.of("252-252", "255-1"), ranges(set));
+    Assert.assertEquals(List.of("250-251", "253-254"), gaps(set));
+    Assert.assertEquals(4L, set.cardinality());
+
+    Assert.assertTrue(set.add(253L));
+    Assert.assertTrue(set.add(254L));
+    Assert.assertEquals(List.of("252-1"), ranges(set));
+    Assert.assertEquals(1, set.rangeCount());
+    Assert.assertTrue(set.contains(253L));
+    Assert.assertFalse(set.contains(251L));
+    Assert.assertFalse(set.contains(2L));
+  }
+
+  @Test
+  public void testAddRange()
+  {
+    final SerialRangeSet set = SerialRangeSet.create(SerialNumber32.get(), 100L);
+
+    Assert.assertTrue(set.addRange(110L, 120L));
+    Assert.assertTrue(set.addRange(130L, 140L));
+    Assert.assertTrue(set.addRange(150L, 160L));
+    Assert.assertFalse(set.addRange(112L, 118L));
+    Assert.assertTrue(set.addRange(115L, 155L));
+    Assert.assertEquals(List.of("110-160"), ranges(set));
+    Assert.assertTrue(set.addRange(90L, 105L));
+    Assert.assertEquals(List.of("100-105", "110-160"), ranges(set));
+    Assert.assertEquals(List.of("106-109"), gaps(set));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddRangeBackwards()
+  {
+    SerialRangeSet.create(SerialNumber32.get(), 100L).addRange(120L, 110L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddOutOfRange()
+  {
+    SerialRangeSet.create(SerialNumber8.get(), 0L).add(256L);
+  }
+
+  @Test
+  public void testRemoveBefore()
+  {
+    final SerialRangeSet set = SerialRangeSet.create(SerialNumber8.get(), 250L);
+
+    set.addRange(252L, 254L);
+    set.addRange(0L, 3L);
+    set.removeBefore(253L);
+    Assert.assertEquals(253L, set.base());
+    Assert.assertEquals(List.of("253-254", "0-3"), ranges(set));
+    Assert.assertEquals(List.of("255-255"), gaps(set));
+
+    set.removeBefore(2L);
+    Assert.assertEquals(List.of("2-3"), ranges(set));
+    Assert.assertTrue(gaps(set).isEmpty());
+
+    set.removeBefore(100L);
+    Assert.assertTrue(set.isEmpty());
+
+    set.removeBefore(50L);
+    Assert.assertEquals(100L, set.base());
+
+    set.add(101L);
+    set.reset(7L);
+    Assert.assertTrue(set.isEmpty());
+    Assert.assertEquals(7L, set.base());
+  }
+
+  @Test
+  public void testMatchesModel()
+  {
+    final Random random = new Random(0x5eed_0014L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(16);
+    long base = 65000L;
+    final SerialRangeSet set = SerialRangeSet.create(serial, base);
+    final TreeSet<Long> model = new TreeSet<>();
+
+    for (int index = 0; index < 20000; ++index) {
+      switch (random.nextInt(10)) {
+        case 0 -> {
+          final long shift = random.nextInt(64);
+          base = serial.add(base, shift);
+          model.headSet(Long.valueOf(shift)).clear();
+          final TreeSet<Long> shifted = new TreeSet<>();
+          for (final Long offset : model) {
+            shifted.add(Long.valueOf(offset.longValue() - shift));
+          }
+          model.clear();
+          model.addAll(shifted);
+          set.removeBefore(base);
+        }
+        case 1, 2 -> {
+          final long start = random.nextInt(1000) - 20;
+          final long length = random.nextInt(40);
+          boolean added = false;
+          for (long offset = start; offset <= start + length; ++offset) {
+            if (offset >= 0L) {
+              added |= model.add(Long.valueOf(offset));
+            }
+          }
+          Assert.assertEquals(
+            Boolean.valueOf(added),
+            Boolean.valueOf(set.addRange(
+              serial.add(base, start & 0xffffL),
+              serial.add(base, (start + length) & 0xffffL))));
+        }
+        default -> {
+          final long offset = random.nextInt(1000) - 20;
+          final boolean added = offset >= 0L && model.add(Long.valueOf(offset));
+          Assert.assertEquals(
+            Boolean.valueOf(added),
+            Boolean.valueOf(set.add(serial.add(base, offset & 0xffffL))));
+        }
+      }
+
+      Assert.assertEquals(model.size(), set.cardinality());
+      final long probe = random.nextInt(1100) - 50;
+      Assert.assertEquals(
+        Boolean.valueOf(probe >= 0L && model.contains(Long.valueOf(probe))),
+        Boolean.valueOf(set.contains(serial.add(base, probe & 0xffffL))));
+    }
+
+    final List<String> expected = new ArrayList<>();
+    final List<String> expectedGaps = new ArrayList<>();
+    long runStart = -1L;
+    long previous = -2L;
+    long nextMissing = 0L;
+    for (final Long boxed : model) {
+      final long offset = boxed.longValue();
+      if (offset != previous + 1L) {
+        if (runStart >= 0L) {
+          expected.add(
+            serial.add(base, runStart) + "-" + serial.add(base, previous));
+        }
+        if (offset > nextMissing) {
+          expectedGaps.add(
+            serial.add(base, nextMissing) + "-" + serial.add(base, offset - 1L));
+        }
+        runStart = offset;
+      }
+      previous = offset;
+      nextMissing = offset + 1L;
+    }
+    if (runStart >= 0L) {
+      expected.add(serial.add(base, runStart) + "-" + serial.add(base, previous));
+    }
+
+    Assert.assertEquals(expected, ranges(set));
+    Assert.assertEquals(expectedGaps, gaps(set));
+    Assert.assertEquals(expected.size(), set.rangeCount());
+  }
+
+  @Test
+  public void testMatchesModelManyChunks()
+  {
+    final Random random = new Random(0x5eed_1014L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(32);
+    final long mask = 0xffff_ffffL;
+    long base = mask - 50_000L;
+    final SerialRangeSet set = SerialRangeSet.create(serial, base);
+    final TreeSet<Long> model = new TreeSet<>();
+
+    for (int index = 0; index < 40_000; ++index) {
+      final int choice = random.nextInt(1000);
+      if (choice < 2) {
+        final long shift = random.nextInt(20_000);
+        base = serial.add(base, shift);
+        final TreeSet<Long> shifted = new TreeSet<>();
+        for (final Long offset : model.tailSet(Long.valueOf(shift))) {
+          shifted.add(Long.valueOf(offset.longValue() - shift));
+        }
+        model.clear();
+        model.addAll(shifted);
+        set.removeBefore(base);
+      } else if (choice < 10) {
+        final long start = random.nextInt(200_000);
+        final long length = random.nextInt(5_000);
+        boolean added = false;
+        for (long offset = start; offset <= start + length; ++offset) {
+          added |= model.add(Long.valueOf(offset));
+        }
+        Assert.assertEquals(
+          Boolean.valueOf(added),
+          Boolean.valueOf(set.addRange(
+            serial.add(base, start),
+            serial.add(base, start + length))));
+      } else {
+        final long offset = random.nextInt(200_000);
+        Assert.assertEquals(
+          Boolean.valueOf(model.add(Long.valueOf(offset))),
+          Boolean.valueOf(set.add(serial.add(base, offset))));
+      }
+
+      final long probe = random.nextInt(200_000);
+      Assert.assertEquals(
+        Boolean.valueOf(model.contains(Long.valueOf(probe))),
+        Boolean.valueOf(set.contains(serial.add(base, probe))));
+    }
+
+    final List<String> expected = new ArrayList<>();
+    long runStart = -1L;
+    long previous = -2L;
+    for (final Long boxed : model) {
+      final long offset = boxed.longValue();
+      if (offset != previous + 1L) {
+        if (runStart >= 0L) {
+          expected.add(
+            serial.add(base, runStart) + "-" + serial.add(base, previous));
+        }
+        runStart = offset;
+      }
+      previous = offset;
+    }
+    if (runStart >= 0L) {
+      expected.add(serial.add(base, runStart) + "-" + serial.add(base, previous));
+    }
+
+    Assert.assertTrue(expected.size() > 1000);
+    Assert.assertEquals(model.size(), set.cardinality());
+    Assert.assertEquals(expected.size(), set.rangeCount());
+    Assert.assertEquals(expected, ranges(set));
+  }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialReplayWindow;
+import com.io7m.jserial.core.SerialReplayWindowConcurrent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public final class SerialReplayWindowConcurrentTest
+{
+  @Test
+  public void testBasic()
+  {
+    final SerialReplayWindowConcurrent w =
+      SerialReplayWindowConcurrent.create(SerialNumber32.get(), 64);
+
+    Assert.assertTrue(w.isEmpty());
+    Assert.assertTrue(w.acceptAndMark(100L));
+    Assert.assertFalse(w.acceptAndMark(100L));
+    Assert.assertTrue(w.acceptAndMark(90L));
+    Assert.assertFalse(w.acceptAndMark(90L));
+    Assert.assertTrue(w.acceptAndMark(37L));
+    Assert.assertFalse(w.acceptAndMark(36L));
+    Assert.assertEquals(100L, w.highest());
+
+    w.reset();
+    Assert.assertTrue(w.isEmpty());
+    Assert.assertTrue(w.acceptAndMark(100L));
+  }
+
+  @Test
+  public void testAcceptsPredecessorOfFirst()
+  {
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(16);
+    final SerialReplayWindowConcurrent w =
+      SerialReplayWindowConcurrent.create(serial, 64);
+    final SerialReplayWindow expected = SerialReplayWindow.create(serial, 64);
+
+    Assert.assertTrue(expected.acceptAndMark(0L));
+    Assert.assertTrue(expected.acceptAndMark(65535L));
+    Assert.assertTrue(w.acceptAndMark(0L));
+    Assert.assertTrue(w.acceptAndMark(65535L));
+    Assert.assertFalse(w.acceptAndMark(65535L));
+    Assert.assertTrue(w.acceptAndMark(65534L));
+    Assert.assertEquals(0L, w.highest());
+  }
+
+  @Test
+  public void testWraps63Bit()
+  {
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(63);
+    final SerialReplayWindowConcurrent w =
+      SerialReplayWindowConcurrent.create(serial, 64);
+    final SerialReplayWindow expected = SerialReplayWindow.create(serial, 64);
+
+    final long last = Long.MAX_VALUE;
+    final long[] sequence = {
+      last - 1L, last, 0L, last, last - 1L, last - 2L, 1L, 0L, 100L, last,
+      37L, 36L, 37L, 200L, 150L, 136L, 137L,
+    };
+    for (final long seq : sequence) {
+      Assert.assertEquals(
+        Long.toString(seq),
+        expected.acceptAndMark(seq),
+        w.acceptAndMark(seq));
+    }
+    Assert.assertEquals(200L, w.highest());
+    Assert.assertFalse(w.isEmpty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHighestEmpty()
+  {
+    SerialReplayWindowConcurrent.create(SerialNumber32.get(), 64).highest();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowLargerThanHalfSpace()
+  {
+    SerialReplayWindowConcurrent.create(SerialNumber8.get(), 256);
+  }
+
+  @Test
+  public void testOutOfRangeRejected()
+  {
+    final SerialReplayWindowConcurrent w =
+      SerialReplayWindowConcurrent.create(SerialNumber8.get(), 64);
+
+    Assert.assertFalse(w.acceptAndMark(256L));
+    Assert.assertTrue(w.isEmpty());
+  }
+
+  @Test
+  public void testMatchesSingleThreaded()
+  {
+    final Random random = new Random(0x5eed_0009L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(16);
+
+    for (final int windowBits : new int[]{64, 128, 1024, 32768}) {
+      final SerialReplayWindow expected =
+        SerialReplayWindow.create(serial, windowBits);
+      final SerialReplayWindowConcurrent w =
+        SerialReplayWindowConcurrent.create(serial, windowBits);
+      long base = 65000L;
+
+      for (int index = 0; index < 50000; ++index) {
+        base = serial.add(base, random.nextInt(8));
+        final long seq;
+        if (random.nextInt(100) == 0) {
+          seq = serial.add(base, random.nextInt(32768));
+        } else {
+          seq = serial.add(base, 65536L - random.nextInt(windowBits + 64));
+        }
+        Assert.assertEquals(
+          Long.toUnsignedString(seq),
+          Boolean.valueOf(expected.acceptAndMark(seq)),
+          Boolean.valueOf(w.acceptAndMark(seq)));
+      }
+    }
+  }
+
+  @Test
+  public void testEachAcceptedOnceAcrossThreads()
+    throws Exception
+  {
+    final SerialNumberLongType serial = SerialNumber32.get();
+    final SerialReplayWindowConcurrent w =
+      SerialReplayWindowConcurrent.create(serial, 65536);
+
+    final int count = 60000;
+    final long base = 0xffff_f000L;
+    final int threadCount = 4;
+    final AtomicIntegerArray accepted = new AtomicIntegerArray(count);
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> threads = new ArrayList<>(threadCount);
+
+    for (int t = 0; t < threadCount; ++t) {
+      final Random random = new Random(t);
+      final Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        } catch (final InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        for (int index = 0; index < count; ++index) {
+          final int offset =
+            Math.min(count - 1, index + random.nextInt(16));
+          if (w.acceptAndMark(serial.add(base, offset))) {
+            accepted.incrementAndGet(offset);
+          }
+          if (w.acceptAndMark(serial.add(base, index))) {
+            accepted.incrementAndGet(index);
+          }
+        }
+      });
+      threads.add(thread);
+      thread.start();
+    }
+
+    start.countDown();
+    for (final Thread thread : threads) {
+      thread.join();
+    }
+
+    for (int index = 0; index < count; ++index) {
+      Assert.assertEquals(
+        Integer.toString(index),
+        1L,
+        accepted.get(index));
+    }
+  }
+}
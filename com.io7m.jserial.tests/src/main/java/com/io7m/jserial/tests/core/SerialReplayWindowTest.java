@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialReplayWindow;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+public final class SerialReplayWindowTest
+{
+  @Test
+  public void testFirstAccepted()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber32.get(), 64);
+
+    Assert.assertTrue(w.isEmpty());
+    Assert.assertTrue(w.acceptAndMark(1000L));
+    Assert.assertFalse(w.isEmpty());
+    Assert.assertEquals(1000L, w.highest());
+    Assert.assertFalse(w.acceptAndMark(1000L));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testHighestEmpty()
+  {
+    SerialReplayWindow.create(SerialNumber32.get(), 64).highest();
+  }
+
+  @Test
+  public void testWithinWindow()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber32.get(), 64);
+
+    Assert.assertTrue(w.acceptAndMark(100L));
+    Assert.assertTrue(w.acceptAndMark(90L));
+    Assert.assertFalse(w.acceptAndMark(90L));
+    Assert.assertTrue(w.acceptAndMark(37L));
+    Assert.assertFalse(w.acceptAndMark(36L));
+    Assert.assertEquals(100L, w.highest());
+  }
+
+  @Test
+  public void testAdvanceClearsWindow()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber32.get(), 128);
+
+    for (long index = 0L; index < 128L; ++index) {
+      Assert.assertTrue(w.acceptAndMark(index));
+    }
+    Assert.assertTrue(w.acceptAndMark(200L));
+    Assert.assertFalse(w.acceptAndMark(72L));
+    for (long index = 73L; index < 128L; ++index) {
+      Assert.assertFalse(w.acceptAndMark(index));
+    }
+    for (long index = 128L; index < 200L; ++index) {
+      Assert.assertTrue(w.acceptAndMark(index));
+    }
+  }
+
+  @Test
+  public void testLargeJump()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber32.get(), 1024);
+
+    for (long index = 0L; index < 1024L; ++index) {
+      Assert.assertTrue(w.acceptAndMark(index));
+    }
+    Assert.assertTrue(w.acceptAndMark(1_000_000L));
+    for (long index = 1_000_000L - 1023L; index < 1_000_000L; ++index) {
+      Assert.assertTrue(w.acceptAndMark(index));
+    }
+  }
+
+  @Test
+  public void testWrap()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber8.get(), 64);
+
+    Assert.assertTrue(w.acceptAndMark(250L));
+    Assert.assertTrue(w.acceptAndMark(3L));
+    Assert.assertTrue(w.acceptAndMark(255L));
+    Assert.assertTrue(w.acceptAndMark(0L));
+    Assert.assertFalse(w.acceptAndMark(250L));
+    Assert.assertFalse(w.acceptAndMark(0L));
+    Assert.assertFalse(w.acceptAndMark(195L));
+    Assert.assertTrue(w.acceptAndMark(196L));
+    Assert.assertEquals(3L, w.highest());
+  }
+
+  @Test
+  public void testOutOfRangeRejected()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber8.get(), 64);
+
+    Assert.assertFalse(w.check(256L));
+    Assert.assertFalse(w.acceptAndMark(256L));
+    Assert.assertFalse(w.acceptAndMark(-1L));
+    Assert.assertTrue(w.isEmpty());
+  }
+
+  @Test
+  public void testReset()
+  {
+    final SerialReplayWindow w =
+      SerialReplayWindow.create(SerialNumber32.get(), 64);
+
+    Assert.assertTrue(w.acceptAndMark(10L));
+    w.reset();
+    Assert.assertTrue(w.isEmpty());
+    Assert.assertTrue(w.acceptAndMark(10L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowNotPowerOfTwo()
+  {
+    SerialReplayWindow.create(SerialNumber32.get(), 100);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowTooSmall()
+  {
+    SerialReplayWindow.create(SerialNumber32.get(), 32);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowTooLarge()
+  {
+    SerialReplayWindow.create(SerialNumber32.get(), 131072);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testWindowLargerThanHalfSpace()
+  {
+    SerialReplayWindow.create(SerialNumber8.get(), 256);
+  }
+
+  @Test
+  public void testMatchesModel()
+  {
+    final Random random = new Random(0x5eed_0008L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(16);
+
+    for (final int windowBits : new int[]{64, 128, 1024, 32768}) {
+      final SerialReplayWindow w =
+        SerialReplayWindow.create(SerialNumber16.get(), windowBits);
+      final Set<Long> seen = new HashSet<>();
+      long highest = -1L;
+      long base = 65000L;
+
+      for (int index = 0; index < 20000; ++index) {
+        base = serial.add(base, random.nextInt(8));
+        final long seq =
+          serial.add(base, 65536L - random.nextInt(windowBits + 64));
+
+        final boolean expected;
+        if (highest == -1L) {
+          expected = true;
+        } else {
+          final long d = serial.distance(highest, seq);
+          if (d > 0L) {
+            expected = true;
+          } else if (-d >= windowBits) {
+            expected = false;
+          } else {
+            expected = !seen.contains(Long.valueOf(seq));
+          }
+        }
+
+        Assert.assertEquals(expected, w.check(seq));
+        Assert.assertEquals(expected, w.acceptAndMark(seq));
+
+        if (expected) {
+          if (highest == -1L || serial.distance(highest, seq) > 0L) {
+            final long newest = seq;
+            seen.removeIf(s -> {
+              final long age = serial.distance(s, newest);
+              return age < 0L || age >= windowBits;
+            });
+            highest = seq;
+          }
+          seen.add(Long.valueOf(seq));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialRingBuffer;
+import com.io7m.jserial.core.SerialRingBufferInt;
+import com.io7m.jserial.core.SerialRingBufferLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public final class SerialRingBufferTest
+{
+  @Test
+  public void testReorder()
+  {
+    final SerialRingBuffer<String> b =
+      SerialRingBuffer.create(SerialNumber8.get(), 8, 254);
+
+    Assert.assertTrue(b.insert(0L, "c"));
+    Assert.assertTrue(b.insert(255L, "b"));
+    Assert.assertFalse(b.isReady());
+    Assert.assertTrue(b.insert(254L, "a"));
+    Assert.assertEquals(3, b.size());
+    Assert.assertEquals("b", b.peek(255L));
+
+    Assert.assertEquals("a", b.poll());
+    Assert.assertEquals("b", b.poll());
+    Assert.assertEquals("c", b.poll());
+    Assert.assertFalse(b.isReady());
+    Assert.assertEquals(1L, b.next());
+    Assert.assertTrue(b.isEmpty());
+  }
+
+  @Test
+  public void testRejected()
+  {
+    final SerialRingBuffer<String> b =
+      SerialRingBuffer.create(SerialNumber8.get(), 8, 10);
+
+    Assert.assertTrue(b.insert(10L, "a"));
+    Assert.assertFalse(b.insert(10L, "b"));
+    Assert.assertFalse(b.insert(9L, "c"));
+    Assert.assertFalse(b.insert(18L, "d"));
+    Assert.assertFalse(b.insert(256L, "e"));
+    Assert.assertTrue(b.insert(17L, "f"));
+    Assert.assertFalse(b.contains(18L));
+    Assert.assertEquals("a", b.peek(10L));
+    Assert.assertEquals(2, b.size());
+  }
+
+  @Test
+  public void testAdvanceTo()
+  {
+    final SerialRingBuffer<String> b =
+      SerialRingBuffer.create(SerialNumber32.get(), 16, 0xffff_fffeL);
+
+    Assert.assertTrue(b.insert(0xffff_fffeL, "a"));
+    Assert.assertTrue(b.insert(1L, "b"));
+    Assert.assertTrue(b.insert(3L, "c"));
+
+    Assert.assertEquals(0, b.advanceTo(0xffff_fff0L));
+    Assert.assertEquals(2, b.advanceTo(2L));
+    Assert.assertEquals(2L, b.next());
+    Assert.assertFalse(b.isReady());
+    Assert.assertEquals(0, b.advanceTo(3L));
+    Assert.assertEquals("c", b.poll());
+
+    Assert.assertTrue(b.insert(10L, "d"));
+    Assert.assertEquals(1, b.advanceTo(1000L));
+    Assert.assertTrue(b.isEmpty());
+    Assert.assertEquals(1000L, b.next());
+  }
+
+  @Test
+  public void testReset()
+  {
+    final SerialRingBuffer<String> b =
+      SerialRingBuffer.create(SerialNumber32.get(), 16, 0L);
+
+    Assert.assertTrue(b.insert(0L, "a"));
+    b.reset(100L);
+    Assert.assertTrue(b.isEmpty());
+    Assert.assertEquals(100L, b.next());
+    Assert.assertFalse(b.contains(0L));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testPollEmpty()
+  {
+    SerialRingBuffer.create(SerialNumber8.get(), 4, 0).poll();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityNotPowerOfTwo()
+  {
+    SerialRingBuffer.create(SerialNumber32.get(), 12, 0L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCapacityTooLarge()
+  {
+    SerialRingBuffer.create(SerialNumber8.get(), 256, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInitialOutOfRange()
+  {
+    SerialRingBuffer.create(SerialNumber32.get(), 16, 0x1_0000_0000L);
+  }
+
+  @Test
+  public void testLongReorder()
+  {
+    final SerialRingBufferLong b =
+      SerialRingBufferLong.create(SerialNumber8.get(), 4, 255);
+
+    Assert.assertFalse(b.isReady());
+    Assert.assertTrue(b.insert(1L, 300L));
+    Assert.assertTrue(b.insert(255L, 100L));
+    Assert.assertFalse(b.insert(255L, 101L));
+    Assert.assertTrue(b.insert(0L, 200L));
+    Assert.assertTrue(b.contains(0L));
+    Assert.assertEquals(200L, b.peek(0L));
+
+    Assert.assertEquals(100L, b.poll());
+    Assert.assertEquals(200L, b.poll());
+    Assert.assertEquals(300L, b.poll());
+    Assert.assertFalse(b.isReady());
+    Assert.assertTrue(b.isEmpty());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testLongPollEmpty()
+  {
+    SerialRingBufferLong.create(SerialNumber8.get(), 4, 0).poll();
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testLongPeekMissing()
+  {
+    SerialRingBufferLong.create(SerialNumber8.get(), 4, 0).peek(1L);
+  }
+
+  @Test
+  public void testIntReorder()
+  {
+    final SerialRingBufferInt b =
+      SerialRingBufferInt.create(SerialNumber16.get(), 128, 65500);
+
+    for (int index = 127; index >= 0; --index) {
+      Assert.assertTrue(b.insert((65500L + index) & 0xffffL, index));
+    }
+    Assert.assertFalse(b.insert((65500L + 128L) & 0xffffL, 128));
+    for (int index = 0; index < 128; ++index) {
+      Assert.assertTrue(b.isReady());
+      Assert.assertEquals(index, b.poll());
+    }
+    Assert.assertEquals((65500L + 128L) & 0xffffL, b.next());
+  }
+
+  @Test
+  public void testMatchesModel()
+  {
+    for (final int capacity : new int[]{4, 16, 64, 256}) {
+      checkMatchesModel(capacity);
+    }
+  }
+
+  private static void checkMatchesModel(
+    final int capacity)
+  {
+    final Random random = new Random(0x5eed_0010L + capacity);
+    final SerialNumberLongType serial = SerialNumber32.get();
+    final SerialRingBuffer<Long> b =
+      SerialRingBuffer.create(serial, capacity, 0xffff_ff00L);
+    final SerialRingBufferLong bl =
+      SerialRingBufferLong.create(serial, capacity, 0xffff_ff00L);
+    final Map<Long, Long> model = new HashMap<>();
+    long next = 0xffff_ff00L;
+
+    for (int index = 0; index < 100000; ++index) {
+      final long seq = serial.add(next, random.nextInt(capacity + 8));
+      switch (random.nextInt(4)) {
+        case 0, 1 -> {
+          final long d = serial.distance(next, seq);
+          final Long key = Long.valueOf(seq);
+          final boolean expected = d < capacity && !model.containsKey(key);
+          Assert.assertEquals(expected, b.insert(seq, key));
+          Assert.assertEquals(expected, bl.insert(seq, seq));
+          if (expected) {
+            model.put(key, key);
+          }
+        }
+        case 2 -> {
+          final Long expected = model.remove(Long.valueOf(next));
+          Assert.assertEquals(expected != null, b.isReady());
+          Assert.assertEquals(expected != null, bl.isReady());
+          if (expected != null) {
+            Assert.assertEquals(expected, b.poll());
+            Assert.assertEquals(expected.longValue(), bl.poll());
+            next = serial.add(next, 1L);
+          }
+        }
+        default -> {
+          final long target = serial.add(next, random.nextInt(8));
+          final long from = next;
+          final int before = model.size();
+          model.keySet().removeIf(
+            k -> serial.distance(k.longValue(), target) > 0L
+              && serial.distance(from, k.longValue()) >= 0L);
+          final int discarded = before - model.size();
+          Assert.assertEquals(discarded, b.advanceTo(target));
+          Assert.assertEquals(discarded, bl.advanceTo(target));
+          next = target;
+        }
+      }
+      Assert.assertEquals(model.size(), b.size());
+      Assert.assertEquals(model.size(), bl.size());
+      Assert.assertEquals(next, b.next());
+    }
+  }
+}
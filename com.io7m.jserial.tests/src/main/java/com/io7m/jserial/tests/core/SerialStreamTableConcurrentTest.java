@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialStreamTableConcurrent;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public final class SerialStreamTableConcurrentTest
+{
+  @Test
+  public void testBasic()
+  {
+    final SerialStreamTableConcurrent table =
+      SerialStreamTableConcurrent.create(SerialNumber16.get(), 8, 100);
+    Assert.assertEquals(8, table.shards());
+
+    for (long key = 0L; key < 100L; ++key) {
+      Assert.assertTrue(table.open(key, key));
+    }
+    Assert.assertFalse(table.open(5L, 0L));
+    Assert.assertEquals(100, table.size());
+
+    Assert.assertTrue(table.observe(5L, 5L));
+    Assert.assertFalse(table.observe(5L, 5L));
+    Assert.assertFalse(table.observe(5L, 4L));
+    Assert.assertEquals(6L, table.nextExpected(5L));
+    Assert.assertEquals(5L, table.highestSeen(5L));
+
+    Assert.assertEquals(6L, table.getAndAddNextExpected(5L, 2L));
+    Assert.assertEquals(7L, table.addWindowBase(5L, 2L));
+    table.setNextExpected(5L, 20L);
+    table.setWindowBase(5L, 10L);
+    Assert.assertEquals(20L, table.nextExpected(5L));
+    Assert.assertEquals(10L, table.windowBase(5L));
+
+    Assert.assertTrue(table.remove(5L));
+    Assert.assertFalse(table.contains(5L));
+    Assert.assertTrue(table.contains(0L));
+    Assert.assertEquals(99, table.size());
+  }
+
+  @Test
+  public void testSingleShard()
+  {
+    final SerialStreamTableConcurrent table =
+      SerialStreamTableConcurrent.create(SerialNumbers.ofBitsLong(32), 1, 0);
+    table.open(1L, 0L);
+    Assert.assertTrue(table.observe(1L, 10L));
+    Assert.assertEquals(10L, table.highestSeen(1L));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testMissing()
+  {
+    SerialStreamTableConcurrent.create(SerialNumber16.get(), 4, 0)
+      .windowBase(3L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testShardsInvalid()
+  {
+    SerialStreamTableConcurrent.create(SerialNumber16.get(), 3, 0);
+  }
+
+  @Test
+  public void testConcurrentUpdates()
+    throws Exception
+  {
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(32);
+    final SerialStreamTableConcurrent table =
+      SerialStreamTableConcurrent.create(serial, 16, 16);
+    final int threads = 8;
+    final int streams = 64;
+    final int perThread = 20_000;
+
+    for (long key = 0L; key < streams; ++key) {
+      table.open(key, 0L);
+    }
+
+    final ConcurrentHashMap<Long, Boolean> allocated = new ConcurrentHashMap<>();
+    final AtomicBoolean failed = new AtomicBoolean();
+    final CountDownLatch start = new CountDownLatch(1);
+    final List<Thread> workers = new ArrayList<>();
+
+    for (int thread = 0; thread < threads; ++thread) {
+      final int id = thread;
+      final Thread worker = new Thread(() -> {
+        try {
+          start.await();
+          for (int index = 0; index < perThread; ++index) {
+            final long key = (index + id) % streams;
+            table.observe(key, (long) index * threads + id);
+            if (key == 0L) {
+              final long value = table.getAndAddNextExpected(1000L % streams, 1L);
+              if (allocated.put(Long.valueOf(value), Boolean.TRUE) != null) {
+                failed.set(true);
+              }
+            }
+            if (table.size() != streams) {
+              failed.set(true);
+            }
+          }
+        } catch (final Exception e) {
+          failed.set(true);
+        }
+      });
+      workers.add(worker);
+      worker.start();
+    }
+
+    start.countDown();
+    for (final Thread worker : workers) {
+      worker.join();
+    }
+
+    Assert.assertFalse(failed.get());
+    long highest = 0L;
+    for (long key = 0L; key < streams; ++key) {
+      highest = Math.max(highest, table.highestSeen(key));
+    }
+    Assert.assertEquals((long) (perThread - 1) * threads + threads - 1, highest);
+
+    for (long key = 0L; key < streams; ++key) {
+      long expected = 0L;
+      for (int thread = 0; thread < threads; ++thread) {
+        for (int index = perThread - 1; index >= 0; --index) {
+          if ((index + thread) % streams == key) {
+            expected = Math.max(expected, (long) index * threads + thread);
+            break;
+          }
+        }
+      }
+      Assert.assertEquals(expected, table.highestSeen(key));
+    }
+  }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialStreamTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public final class SerialStreamTableTest
+{
+  @Test
+  public void testOpenObserve()
+  {
+    final SerialStreamTable table =
+      SerialStreamTable.create(SerialNumber16.get(), 4);
+    Assert.assertTrue(table.isEmpty());
+    Assert.assertTrue(table.open(7L, 0xfffeL));
+    Assert.assertFalse(table.open(7L, 0L));
+    Assert.assertEquals(1, table.size());
+
+    Assert.assertEquals(0xfffeL, table.nextExpected(7L));
+    Assert.assertEquals(0xfffdL, table.highestSeen(7L));
+    Assert.assertEquals(0xfffeL, table.windowBase(7L));
+
+    Assert.assertTrue(table.observe(7L, 0xfffeL));
+    Assert.assertEquals(0xffffL, table.nextExpected(7L));
+    Assert.assertTrue(table.observe(7L, 0x0001L));
+    Assert.assertEquals(0xffffL, table.nextExpected(7L));
+    Assert.assertFalse(table.observe(7L, 0xffffL));
+    Assert.assertEquals(0x0000L, table.nextExpected(7L));
+    Assert.assertEquals(0x0001L, table.highestSeen(7L));
+
+    Assert.assertEquals(0x0000L, table.getAndAddNextExpected(7L, 3L));
+    Assert.assertEquals(0x0003L, table.nextExpected(7L));
+    Assert.assertEquals(0x0002L, table.addWindowBase(7L, 4L));
+    table.setWindowBase(7L, 0x10L);
+    table.setNextExpected(7L, 0x20L);
+    Assert.assertEquals(0x10L, table.windowBase(7L));
+    Assert.assertEquals(0x20L, table.nextExpected(7L));
+
+    Assert.assertTrue(table.remove(7L));
+    Assert.assertFalse(table.remove(7L));
+    Assert.assertFalse(table.contains(7L));
+  }
+
+  @Test
+  public void testZeroKey()
+  {
+    final SerialStreamTable table =
+      SerialStreamTable.create(SerialNumbers.ofBitsLong(32), 0);
+    Assert.assertFalse(table.contains(0L));
+    Assert.assertTrue(table.open(0L, 5L));
+    Assert.assertTrue(table.contains(0L));
+    Assert.assertEquals(5L, table.nextExpected(0L));
+    for (long key = 1L; key < 100L; ++key) {
+      table.open(key, key);
+    }
+    Assert.assertEquals(5L, table.nextExpected(0L));
+    Assert.assertEquals(100, table.size());
+    Assert.assertTrue(table.remove(0L));
+    Assert.assertFalse(table.contains(0L));
+    Assert.assertEquals(99, table.size());
+    table.clear();
+    Assert.assertTrue(table.isEmpty());
+    Assert.assertFalse(table.contains(1L));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void testMissing()
+  {
+    SerialStreamTable.create(SerialNumber16.get(), 4).highestSeen(1L);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSerial()
+  {
+    final SerialStreamTable table =
+      SerialStreamTable.create(SerialNumber16.get(), 4);
+    table.open(1L, 0L);
+    table.observe(1L, 0x1_0000L);
+  }
+
+  @Test
+  public void testMatchesReference()
+  {
+    final Random random = new Random(0x5eed_0024L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(24);
+    final SerialStreamTable table = SerialStreamTable.create(serial, 8);
+    final Map<Long, long[]> reference = new HashMap<>();
+    final List<Long> keys = new ArrayList<>();
+
+    for (int index = 0; index < 500_000; ++index) {
+      final long key = random.nextInt(4) == 0
+        ? random.nextInt(64) * 1024L
+        : random.nextInt(5000) - 100L;
+      final Long boxed = Long.valueOf(key);
+      final long[] state = reference.get(boxed);
+
+      switch (random.nextInt(6)) {
+        case 0, 1 -> {
+          final long initial = random.nextInt(1 << 24);
+          Assert.assertEquals(state == null, table.open(key, initial));
+          if (state == null) {
+            reference.put(boxed, new long[]{
+              initial, serial.add(initial, -1L), initial,
+            });
+            keys.add(boxed);
+          }
+        }
+        case 2 -> {
+          Assert.assertEquals(state != null, table.remove(key));
+          reference.remove(boxed);
+        }
+        case 3 -> {
+          if (state != null) {
+            final long seq = serial.add(state[1], random.nextInt(64) - 32L);
+            boolean newer = false;
+            if (state[0] == seq) {
+              state[0] = serial.add(seq, 1L);
+            }
+            if (serial.compare(seq, state[1]) > 0L) {
+              state[1] = seq;
+              newer = true;
+            }
+            Assert.assertEquals(newer, table.observe(key, seq));
+          }
+        }
+        case 4 -> {
+          if (state != null) {
+            final long delta = random.nextInt(10);
+            Assert.assertEquals(state[0], table.getAndAddNextExpected(key, delta));
+            state[0] = serial.add(state[0], delta);
+            state[2] = serial.add(state[2], delta);
+            Assert.assertEquals(state[2], table.addWindowBase(key, delta));
+          }
+        }
+        default -> {
+          Assert.assertEquals(state != null, table.contains(key));
+        }
+      }
+      Assert.assertEquals(reference.size(), table.size());
+    }
+
+    for (final Long key : keys) {
+      final long[] state = reference.get(key);
+      final long k = key.longValue();
+      Assert.assertEquals(state != null, table.contains(k));
+      if (state != null) {
+        Assert.assertEquals(state[0], table.nextExpected(k));
+        Assert.assertEquals(state[1], table.highestSeen(k));
+        Assert.assertEquals(state[2], table.windowBase(k));
+      }
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.core.SerialNumbers;
+import com.io7m.jserial.core.SerialTimerWheel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public final class SerialTimerWheelTest
+{
+  @Test
+  public void testExpiresAtDeadline()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(32), 100L, 16);
+    final List<Integer> fired = new ArrayList<>();
+
+    wheel.schedule(105L, 1);
+    wheel.schedule(103L, 2);
+    wheel.schedule(5000L, 3);
+    Assert.assertEquals(3, wheel.size());
+
+    Assert.assertEquals(0, wheel.advanceTo(102L, (h, d, p) -> fired.add(p)));
+    Assert.assertEquals(1, wheel.advanceTo(104L, (h, d, p) -> fired.add(p)));
+    Assert.assertEquals(List.of(2), fired);
+    Assert.assertEquals(1, wheel.advanceTo(4999L, (h, d, p) -> fired.add(p)));
+    Assert.assertEquals(List.of(2, 1), fired);
+    Assert.assertEquals(1, wheel.advanceTo(5000L, (h, d, p) -> {
+      Assert.assertEquals(5000L, d);
+      fired.add(p);
+    }));
+    Assert.assertEquals(List.of(2, 1, 3), fired);
+    Assert.assertEquals(0, wheel.size());
+    Assert.assertEquals(5000L, wheel.now());
+  }
+
+  @Test
+  public void testPastDeadlineExpiresNextTick()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(32), 100L, 4);
+    final List<Integer> fired = new ArrayList<>();
+    wheel.schedule(90L, 1);
+    wheel.schedule(100L, 2);
+    Assert.assertEquals(2, wheel.advanceTo(101L, (h, d, p) -> fired.add(p)));
+    Assert.assertEquals(2, fired.size());
+  }
+
+  @Test
+  public void testWrapsAround()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumber16.get(), 0xfff0, 4);
+    final List<Long> fired = new ArrayList<>();
+    wheel.schedule(0x0010L, 7);
+    Assert.assertEquals(0, wheel.advanceTo(0x000fL, (h, d, p) -> fired.add(d)));
+    Assert.assertEquals(1, wheel.advanceTo(0x0010L, (h, d, p) -> fired.add(d)));
+    Assert.assertEquals(List.of(0x0010L), fired);
+    Assert.assertEquals(0x0010L, wheel.now());
+  }
+
+  @Test
+  public void testCancel()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(32), 0L, 2);
+    final long a = wheel.schedule(10L, 1);
+    final long b = wheel.schedule(10L, 2);
+    Assert.assertTrue(wheel.isScheduled(a));
+    Assert.assertTrue(wheel.cancel(a));
+    Assert.assertFalse(wheel.isScheduled(a));
+    Assert.assertFalse(wheel.cancel(a));
+
+    final long c = wheel.schedule(20L, 3);
+    Assert.assertFalse(wheel.isScheduled(a));
+    Assert.assertTrue(wheel.isScheduled(c));
+    Assert.assertNotEquals(a, c);
+
+    final List<Integer> fired = new ArrayList<>();
+    Assert.assertEquals(2, wheel.advanceTo(30L, (h, d, p) -> fired.add(p)));
+    Assert.assertEquals(List.of(2, 3), fired);
+    Assert.assertFalse(wheel.isScheduled(b));
+    Assert.assertFalse(wheel.cancel(c));
+  }
+
+  @Test
+  public void testListenerReschedules()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(32), 0L, 1);
+    final int[] count = new int[1];
+    wheel.schedule(1L, 0);
+    final int expired = wheel.advanceTo(100L, (h, d, p) -> {
+      ++count[0];
+      wheel.schedule(d + 10L, p);
+    });
+    Assert.assertEquals(10, expired);
+    Assert.assertEquals(10, count[0]);
+    Assert.assertEquals(1, wheel.size());
+  }
+
+  @Test(timeout = 10_000L)
+  public void testSkipsEmptyTicks()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(62), 0L, 4);
+    final List<Long> fired = new ArrayList<>();
+    final long far = 1L << 60;
+
+    wheel.schedule(1L << 40, 1);
+    wheel.schedule(far, 2);
+    wheel.schedule(far + 65L, 3);
+
+    Assert.assertEquals(1, wheel.advanceTo(far - 1L, (h, d, p) -> fired.add(d)));
+    Assert.assertEquals(List.of(Long.valueOf(1L << 40)), fired);
+    Assert.assertEquals(1, wheel.advanceTo(far, (h, d, p) -> fired.add(d)));
+    Assert.assertEquals(1, wheel.advanceTo(far + 100L, (h, d, p) -> fired.add(d)));
+    Assert.assertEquals(
+      List.of(Long.valueOf(1L << 40), Long.valueOf(far), Long.valueOf(far + 65L)),
+      fired);
+    Assert.assertEquals(0, wheel.size());
+    Assert.assertEquals(far + 100L, wheel.now());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testFull()
+  {
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(SerialNumbers.ofBitsLong(32), 0L, 1);
+    wheel.schedule(1L, 0);
+    wheel.schedule(1L, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testDeadlineOutOfRange()
+  {
+    SerialTimerWheel.create(SerialNumber16.get(), 0, 1)
+      .schedule(0x1_0000L, 0);
+  }
+
+  @Test
+  public void testMatchesReference()
+  {
+    final Random random = new Random(0x5eed_0021L);
+    final SerialNumberLongType serial = SerialNumbers.ofBitsLong(20);
+    final long mask = (1L << 20) - 1L;
+    final SerialTimerWheel wheel =
+      SerialTimerWheel.create(serial, mask - 5000L, 4096);
+
+    long elapsed = 0L;
+    final Map<Long, Long> pending = new HashMap<>();
+    final List<Long> handles = new ArrayList<>();
+
+    for (int round = 0; round < 2000; ++round) {
+      for (int index = 0; index < 20 && wheel.size() < wheel.capacity(); ++index) {
+        final long delay = random.nextInt(10) == 0
+          ? random.nextInt(300_000)
+          : random.nextInt(200);
+        final long deadline = serial.add(wheel.now(), delay);
+        final long handle = wheel.schedule(deadline, 0);
+        pending.put(Long.valueOf(handle), Long.valueOf(elapsed + Math.max(delay, 1L)));
+        handles.add(Long.valueOf(handle));
+      }
+
+      for (int index = 0; index < 5 && !handles.isEmpty(); ++index) {
+        final Long handle = handles.get(random.nextInt(handles.size()));
+        final boolean live = pending.containsKey(handle);
+        Assert.assertEquals(live, wheel.cancel(handle.longValue()));
+        pending.remove(handle);
+      }
+
+      final long step = random.nextInt(500);
+      final long target = elapsed + step;
+      final long[] last = {Long.MIN_VALUE};
+      final long tick = serial.add(wheel.now(), step);
+      final int expired = wheel.advanceTo(tick, (h, d, p) -> {
+        final Long due = pending.remove(Long.valueOf(h));
+        Assert.assertNotNull(due);
+        Assert.assertTrue(due.longValue() <= target);
+        Assert.assertTrue(due.longValue() >= last[0]);
+        last[0] = due.longValue();
+      });
+      elapsed = target;
+      Assert.assertTrue(expired >= 0);
+      for (final Long due : pending.values()) {
+        Assert.assertTrue(due.longValue() > elapsed);
+      }
+      Assert.assertEquals(pending.size(), wheel.size());
+      handles.removeIf(h -> !pending.containsKey(h));
+    }
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialTimestamp;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public final class SerialTimestampTest
+{
+  @Test
+  public void testElapsedAcrossWrap32()
+  {
+    final SerialTimestamp ts = SerialTimestamp.bits32();
+    Assert.assertEquals(32, ts.bits());
+    Assert.assertEquals(0x20L, ts.elapsed(0xffff_fff0L, 0x10L));
+    Assert.assertEquals(-0x20L, ts.elapsed(0x10L, 0xffff_fff0L));
+    Assert.assertTrue(ts.isBefore(0xffff_fff0L, 0x10L));
+    Assert.assertTrue(ts.isAfter(0x10L, 0xffff_fff0L));
+    Assert.assertFalse(ts.isBefore(5L, 5L));
+    Assert.assertFalse(ts.isAfter(5L, 5L));
+  }
+
+  @Test
+  public void testElapsedAcrossWrap48()
+  {
+    final SerialTimestamp ts = SerialTimestamp.bits48();
+    final long max = (1L << 48) - 1L;
+    Assert.assertEquals(1L, ts.elapsed(max, 0L));
+    Assert.assertEquals(0L, ts.addDuration(max, 1L));
+    Assert.assertEquals(max, ts.addDuration(0L, -1L));
+  }
+
+  @Test
+  public void testMatchesFullTicks()
+  {
+    final Random random = new Random(0x5eed_0022L);
+    for (final SerialTimestamp ts :
+      new SerialTimestamp[]{SerialTimestamp.bits32(), SerialTimestamp.bits48()}) {
+      final long half = 1L << (ts.bits() - 1);
+      for (int index = 0; index < 10_000; ++index) {
+        final long start = random.nextLong() >>> 2;
+        final long duration = random.nextLong(-half + 1L, half);
+        final long end = start + duration;
+        final long t0 = ts.fromTicks(start);
+        final long t1 = ts.fromTicks(end);
+        Assert.assertEquals(duration, ts.elapsed(t0, t1));
+        Assert.assertEquals(t1, ts.addDuration(t0, duration));
+        Assert.assertEquals(duration > 0L, ts.isBefore(t0, t1));
+        Assert.assertEquals(duration < 0L, ts.isAfter(t0, t1));
+      }
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testOutOfRange()
+  {
+    SerialTimestamp.bits32().elapsed(0L, 1L << 32);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAddOutOfRange()
+  {
+    SerialTimestamp.bits48().addDuration(-1L, 1L);
+  }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.core;
+
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialWindowComparatorInt;
+import com.io7m.jserial.core.SerialWindowComparatorLong;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+public final class SerialWindowComparatorTest
+{
+  @Test
+  public void testIntSortAcrossWrap()
+  {
+    final SerialWindowComparatorInt c =
+      SerialWindowComparatorInt.create(SerialNumber8.get(), 250);
+
+    final List<Integer> values =
+      new ArrayList<>(List.of(
+        Integer.valueOf(3),
+        Integer.valueOf(254),
+        Integer.valueOf(0),
+        Integer.valueOf(250),
+        Integer.valueOf(255),
+        Integer.valueOf(1)));
+    values.sort(c);
+
+    Assert.assertEquals(
+      List.of(
+        Integer.valueOf(250),
+        Integer.valueOf(254),
+        Integer.valueOf(255),
+        Integer.valueOf(0),
+        Integer.valueOf(1),
+        Integer.valueOf(3)),
+      values);
+  }
+
+  @Test
+  public void testIntTotalOrder()
+  {
+    final SerialWindowComparatorInt c =
+      SerialWindowComparatorInt.create(SerialNumber8.get(), 200);
+
+    for (int x = 0; x < 256; ++x) {
+      Assert.assertEquals(0L, (long) c.compare(x, x));
+      for (int y = 0; y < 256; ++y) {
+        final int xy = c.compare(x, y);
+        Assert.assertEquals(
+          (long) Integer.signum(xy),
+          (long) -Integer.signum(c.compare(y, x)));
+        Assert.assertEquals(
+          (long) xy,
+          (long) c.compare(Integer.valueOf(x), Integer.valueOf(y)));
+
+        for (int z = 0; z < 256; z += 17) {
+          if (xy < 0 && c.compare(y, z) < 0) {
+            Assert.assertTrue(c.compare(x, z) < 0);
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testIntAgreesWithSerialOrderInWindow()
+  {
+    final SerialNumberIntType s = SerialNumber8.get();
+    final SerialWindowComparatorInt c = SerialWindowComparatorInt.create(s, 240);
+
+    for (int x = 0; x < 128; ++x) {
+      for (int y = 0; y < 128; ++y) {
+        final int sx = s.add(240, x);
+        final int sy = s.add(240, y);
+        Assert.assertEquals(
+          (long) Integer.signum(s.compare(sx, sy)),
+          (long) Integer.signum(c.compare(sx, sy)));
+      }
+    }
+  }
+
+  @Test
+  public void testIntWithAnchor()
+  {
+    final SerialWindowComparatorInt c0 =
+      SerialWindowComparatorInt.create(SerialNumber8.get(), 0);
+    final SerialWindowComparatorInt c1 = c0.withAnchor(250);
+
+    Assert.assertEquals(0L, (long) c0.anchor());
+    Assert.assertEquals(250L, (long) c1.anchor());
+    Assert.assertEquals(-6L, (long) c0.position(250));
+    Assert.assertEquals(6L, (long) c1.position(0));
+    Assert.assertTrue(c1.compare(250, 0) < 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testIntAnchorOutOfRange()
+  {
+    SerialWindowComparatorInt.create(SerialNumber8.get(), 256);
+  }
+
+  @Test
+  public void testLongPriorityQueueAcrossWrap()
+  {
+    final SerialWindowComparatorLong c =
+      SerialWindowComparatorLong.create(SerialNumber32.get(), 0xfffffff0L);
+
+    final PriorityQueue<Long> queue = new PriorityQueue<>(c);
+    queue.add(Long.valueOf(0x5L));
+    queue.add(Long.valueOf(0xfffffffeL));
+    queue.add(Long.valueOf(0x0L));
+    queue.add(Long.valueOf(0xfffffff0L));
+
+    Assert.assertEquals(Long.valueOf(0xfffffff0L), queue.poll());
+    Assert.assertEquals(Long.valueOf(0xfffffffeL), queue.poll());
+    Assert.assertEquals(Long.valueOf(0x0L), queue.poll());
+    Assert.assertEquals(Long.valueOf(0x5L), queue.poll());
+  }
+
+  @Test
+  public void testLongTreeMapAcrossWrap()
+  {
+    final SerialWindowComparatorLong c =
+      SerialWindowComparatorLong.create(SerialNumber32.get(), 0xfffffff0L);
+
+    final TreeMap<Long, String> map = new TreeMap<>(c);
+    map.put(Long.valueOf(0x1L), "c");
+    map.put(Long.valueOf(0xffffffffL), "b");
+    map.put(Long.valueOf(0xfffffff1L), "a");
+
+    Assert.assertEquals(Long.valueOf(0xfffffff1L), map.firstKey());
+    Assert.assertEquals(Long.valueOf(0x1L), map.lastKey());
+    Assert.assertEquals(List.of("a", "b", "c"), List.copyOf(map.values()));
+    Assert.assertEquals(0x11L, c.position(0x1L));
+    Assert.assertEquals(0xfffffff0L, c.anchor());
+    Assert.assertTrue(c.compare(0xffffffffL, 0x1L) < 0);
+    Assert.assertEquals(0xfL, c.withAnchor(0xfffffff0L).position(0xffffffffL));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLongAnchorOutOfRange()
+  {
+    SerialWindowComparatorLong.create(SerialNumber32.get(), -1L);
+  }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.tests.vector;
+
+import com.io7m.jserial.core.SerialNumber16;
+import com.io7m.jserial.core.SerialNumber24;
+import com.io7m.jserial.core.SerialNumber32;
+import com.io7m.jserial.core.SerialNumber40;
+import com.io7m.jserial.core.SerialNumber48;
+import com.io7m.jserial.core.SerialNumber56;
+import com.io7m.jserial.core.SerialNumber62;
+import com.io7m.jserial.core.SerialNumber8;
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.jserial.vector.SerialBatchIntType;
+import com.io7m.jserial.vector.SerialBatchLongType;
+import com.io7m.jserial.vector.SerialBatches;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Random;
+
+public final class SerialBatchesTest
+{
+  private static final Logger LOG;
+
+  static {
+    LOG = LoggerFactory.getLogger(SerialBatchesTest.class);
+  }
+
+  private static final int SIZE = 1003;
+  private static final int OFFSET = 5;
+  private static final int LENGTH = 990;
+
+  private static final List<SerialNumberIntType> INTS =
+    List.of(SerialNumber8.get(), SerialNumber16.get(), SerialNumber24.get());
+
+  private static final List<SerialNumberLongType> LONGS =
+    List.of(
+      SerialNumber32.get(),
+      SerialNumber40.get(),
+      SerialNumber48.get(),
+      SerialNumber56.get(),
+      SerialNumber62.get());
+
+  private static int[] intValues(
+    final Random random,
+    final int bits)
+  {
+    final int max = 1 << bits;
+    final int[] r = new int[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      r[index] = random.nextInt(max);
+    }
+    r[OFFSET] = 0;
+    r[OFFSET + 1] = max >>> 1;
+    r[OFFSET + 2] = max - 1;
+    r[OFFSET + 3] = -1;
+    r[OFFSET + 4] = max;
+    return r;
+  }
+
+  private static long[] longValues(
+    final Random random,
+    final int bits)
+  {
+    final long max = 1L << bits;
+    final long[] r = new long[SIZE];
+    for (int index = 0; index < SIZE; ++index) {
+      r[index] = random.nextLong(max);
+    }
+    r[OFFSET] = 0L;
+    r[OFFSET + 1] = max >>> 1;
+    r[OFFSET + 2] = max - 1L;
+    r[OFFSET + 3] = -1L;
+    r[OFFSET + 4] = max;
+    return r;
+  }
+
+  private static void checkInt(
+    final SerialNumberIntType serial,
+    final SerialBatchIntType batch)
+  {
+    final Random random = new Random(0x5e7a1L);
+    final int[] a = intValues(random, serial.bits());
+    final int[] b = intValues(random, serial.bits());
+    final int base = b[OFFSET + 10];
+    final int[] out = new int[SIZE];
+    final boolean[] outB = new boolean[SIZE];
+
+    Assert.assertEquals(serial.bits(), batch.bits());
+
+    batch.add(a, base, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.add(a[index], base), out[index]);
+    }
+
+    batch.distance(base, b, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.distance(base, b[index]), out[index]);
+    }
+
+    batch.compare(a, b, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.compare(a[index], b[index]), out[index]);
+    }
+
+    batch.inRange(a, outB, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(
+        Boolean.valueOf(serial.inRange(a[index])),
+        Boolean.valueOf(outB[index]));
+    }
+
+    Assert.assertEquals(0L, (long) out[0]);
+    Assert.assertEquals(0L, (long) out[SIZE - 1]);
+    Assert.assertFalse(outB[0]);
+    Assert.assertFalse(outB[SIZE - 1]);
+  }
+
+  private static void checkLong(
+    final SerialNumberLongType serial,
+    final SerialBatchLongType batch)
+  {
+    final Random random = new Random(0x5e7a1L);
+    final long[] a = longValues(random, serial.bits());
+    final long[] b = longValues(random, serial.bits());
+    final long base = b[OFFSET + 10];
+    final long[] out = new long[SIZE];
+    final boolean[] outB = new boolean[SIZE];
+
+    Assert.assertEquals(serial.bits(), batch.bits());
+
+    batch.add(a, base, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.add(a[index], base), out[index]);
+    }
+
+    batch.distance(base, b, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.distance(base, b[index]), out[index]);
+    }
+
+    batch.compare(a, b, out, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(serial.compare(a[index], b[index]), out[index]);
+    }
+
+    batch.inRange(a, outB, OFFSET, LENGTH);
+    for (int index = OFFSET; index < OFFSET + LENGTH; ++index) {
+      Assert.assertEquals(
+        Boolean.valueOf(serial.inRange(a[index])),
+        Boolean.valueOf(outB[index]));
+    }
+
+    Assert.assertEquals(0L, out[0]);
+    Assert.assertEquals(0L, out[SIZE - 1]);
+    Assert.assertFalse(outB[0]);
+    Assert.assertFalse(outB[SIZE - 1]);
+  }
+
+  @Test
+  public void testIntBatchesMatchScalar()
+  {
+    LOG.debug(
+      "vector available: {}",
+      Boolean.valueOf(SerialBatches.isVectorAvailable()));
+
+    for (final SerialNumberIntType serial : INTS) {
+      checkInt(serial, SerialBatches.ofInt(serial));
+      checkInt(serial, SerialBatches.scalarOfInt(serial));
+    }
+  }
+
+  @Test
+  public void testLongBatchesMatchScalar()
+  {
+    for (final SerialNumberLongType serial : LONGS) {
+      checkLong(serial, SerialBatches.ofLong(serial));
+      checkLong(serial, SerialBatches.scalarOfLong(serial));
+    }
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testIntOutOfBounds()
+  {
+    SerialBatches.ofInt(SerialNumber8.get())
+      .distance(0, new int[10], new int[9], 0, 10);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testLongOutOfBounds()
+  {
+    SerialBatches.ofLong(SerialNumber32.get())
+      .inRange(new long[10], new boolean[9], 0, 10);
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.vector;
+
+/**
+ * The type of batch serial number arithmetic functions over {@code int}
+ * arrays, for serial numbers implemented using {@code 31} bits or fewer.
+ */
+
+public interface SerialBatchIntType
+{
+  /**
+   * @return The number of bits used
+   */
+
+  int bits();
+
+  /**
+   * Calculate {@code out[i] = add(in[i], delta)} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param in     The input serial numbers
+   * @param delta  The value added to each serial number
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  void add(
+    int[] in,
+    int delta,
+    int[] out,
+    int offset,
+    int length);
+
+  /**
+   * Calculate {@code out[i] = distance(base, in[i])} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param base   The serial number from which distances are measured
+   * @param in     The input serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  void distance(
+    int base,
+    int[] in,
+    int[] out,
+    int offset,
+    int length);
+
+  /**
+   * Calculate {@code out[i] = compare(a[i], b[i])} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param a      The first serial numbers
+   * @param b      The second serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in all arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for any
+   *                                   array
+   */
+
+  void compare(
+    int[] a,
+    int[] b,
+    int[] out,
+    int offset,
+    int length);
+
+  /**
+   * Calculate {@code out[i] = inRange(in[i])} for each {@code i} in
+   * {@code [offset, offset + length)}.
+   *
+   * @param in     The input serial numbers
+   * @param out    The output array
+   * @param offset The starting offset in both arrays
+   * @param length The number of elements to process
+   *
+   * @throws IndexOutOfBoundsException If the slice is out of bounds for either
+   *                                   array
+   */
+
+  void inRange(
+    int[] in,
+    boolean[] out,
+    int offset,
+    int length);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.vector;
+
+import com.io7m.jserial.core.SerialNumberIntType;
+
+import java.util.Objects;
+
+/**
+ * Batch serial number arithmetic implemented with the scalar core
+ * implementations.
+ */
+
+final class SerialBatchScalarInt implements SerialBatchIntType
+{
+  private final SerialNumberIntType serial;
+
+  SerialBatchScalarInt(
+    final SerialNumberIntType inSerial)
+  {
+    this.serial = Objects.requireNonNull(inSerial, "serial");
+  }
+
+  @Override
+  public int bits()
+  {
+    return this.serial.bits();
+  }
+
+  @Override
+  public void add(
+    final int[] in,
+    final int delta,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    this.serial.add(in, delta, out, offset, length);
+  }
+
+  @Override
+  public void distance(
+    final int base,
+    final int[] in,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    this.serial.distance(base, in, out, offset, length);
+  }
+
+  @Override
+  public void compare(
+    final int[] a,
+    final int[] b,
+    final int[] out,
+    final int offset,
+    final int length)
+  {
+    this.serial.compare(a, b, out, offset, length);
+  }
+
+  @Override
+  public void inRange(
+    final int[] in,
+    final boolean[] out,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, in.length);
+    Objects.checkFromIndexSize(offset, length, out.length);
+
+    final int end = offset + length;
+    for (int index = offset; index < end; ++index) {
+      out[index] = this.serial.inRange(in[index]);
+    }
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.vector;
+
+import com.io7m.jserial.core.SerialNumberLongType;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Objects;
+
+/**
+ * Batch serial number arithmetic implemented with {@link LongVector} lanes. The
+ * elements that do not fill a complete vector are processed by the scalar
+ * core implementation.
+ */
+
+final class SerialBatchVectorLong implements SerialBatchLongType
+{
+  private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+  private final SerialNumberLongType serial;
+  private final int shift;
+  private final long half;
+  private final long mask;
+
+  SerialBatchVectorLong(
+    final SerialNumberLongType inSerial)
+  {
+    this.serial = Objects.requireNonNull(inSerial, "serial");
+
+    final int bits = inSerial.bits();
+    this.shift = Long.SIZE - bits;
+    this.half = 1L << (bits - 1);
+    this.mask = (1L << bits) - 1L;
+  }
+
+  /**
+   * @return {@code true} if the preferred vector shape is wide enough to be
+   * worth using
+   */
+
+  static boolean isUseful()
+  {
+    return SPECIES.length() >= 2;
+  }
+
+  @Override
+  public int bits()
+  {
+    return this.serial.bits();
+  }
+
+  /**
+   * Select the shortest route around the number line for each of the given
+   * (non-serial) differences.
+   */
+
+  private LongVector shortest(
+    final LongVector inner)
+  {
+    return inner.lanewise(VectorOperators.LSHL, this.shift)
+      .lanewise(VectorOperators.ASHR, this.shift)
+      .blend(this.half, inner.eq(this.half));
+  }
+
+  @Override
+  public void add(
+    final long[] in,
+    final long delta,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, in.length);
+    Objects.checkFromIndexSize(offset, length, out.length);
+
+    final int bound = offset + SPECIES.loopBound(length);
+    int index = offset;
+    while (index < bound) {
+      LongVector.fromArray(SPECIES, in, index)
+        .add(delta)
+        .and(this.mask)
+        .intoArray(out, index);
+      index += SPECIES.length();
+    }
+
+    this.serial.add(in, delta, out, index, offset + length - index);
+  }
+
+  @Override
+  public void distance(
+    final long base,
+    final long[] in,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, in.length);
+    Objects.checkFromIndexSize(offset, length, out.length);
+
+    final int bound = offset + SPECIES.loopBound(length);
+    int index = offset;
+    while (index < bound) {
+      final LongVector inner = LongVector.fromArray(SPECIES, in, index).sub(base);
+      this.shortest(inner).intoArray(out, index);
+      index += SPECIES.length();
+    }
+
+    this.serial.distance(base, in, out, index, offset + length - index);
+  }
+
+  @Override
+  public void compare(
+    final long[] a,
+    final long[] b,
+    final long[] out,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, a.length);
+    Objects.checkFromIndexSize(offset, length, b.length);
+    Objects.checkFromIndexSize(offset, length, out.length);
+
+    final int bound = offset + SPECIES.loopBound(length);
+    int index = offset;
+    while (index < bound) {
+      final LongVector inner =
+        LongVector.fromArray(SPECIES, b, index)
+          .sub(LongVector.fromArray(SPECIES, a, index));
+      this.shortest(inner).neg().intoArray(out, index);
+      index += SPECIES.length();
+    }
+
+    this.serial.compare(a, b, out, index, offset + length - index);
+  }
+
+  @Override
+  public void inRange(
+    final long[] in,
+    final boolean[] out,
+    final int offset,
+    final int length)
+  {
+    Objects.checkFromIndexSize(offset, length, in.length);
+    Objects.checkFromIndexSize(offset, length, out.length);
+
+    final int bound = offset + SPECIES.loopBound(length);
+    int index = offset;
+    while (index < bound) {
+      LongVector.fromArray(SPECIES, in, index)
+        .and(~this.mask)
+        .eq(0L)
+        .intoArray(out, index);
+      index += SPECIES.length();
+    }
+
+    final int end = offset + length;
+    while (index < end) {
+      out[index] = this.serial.inRange(in[index]);
+      ++index;
+    }
+  }
+}
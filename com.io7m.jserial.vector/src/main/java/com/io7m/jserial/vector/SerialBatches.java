@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2026 Mark Raynsford <code@io7m.com> https://www.io7m.com
+ *
+ * Permission to use, copy, modify, and/or distribute this software for any
+ * purpose with or without fee is hereby granted, provided that the above
+ * copyright notice and this permission notice appear in all copies.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS" AND THE AUTHOR DISCLAIMS ALL WARRANTIES
+ * WITH REGARD TO THIS SOFTWARE INCLUDING ALL IMPLIED WARRANTIES OF
+ * MERCHANTABILITY AND FITNESS. IN NO EVENT SHALL THE AUTHOR BE LIABLE FOR ANY
+ * SPECIAL, DIRECT, INDIRECT, OR CONSEQUENTIAL DAMAGES OR ANY DAMAGES
+ * WHATSOEVER RESULTING FROM LOSS OF USE, DATA OR PROFITS, WHETHER IN AN
+ * ACTION OF CONTRACT, NEGLIGENCE OR OTHER TORTIOUS ACTION, ARISING OUT OF OR
+ * IN CONNECTION WITH THE USE OR PERFORMANCE OF THIS SOFTWARE.
+ */
+
+package com.io7m.jserial.vector;
+
+import com.io7m.jserial.core.SerialNumberIntType;
+import com.io7m.jserial.core.SerialNumberLongType;
+import com.io7m.junreachable.UnreachableCodeException;
+
+/**
+ * Functions to obtain batch serial number arithmetic implementations.
+ *
+ * If the {@code jdk.incubator.vector} module is present in the boot layer
+ * (for example, by running the JVM with {@code --add-modules
+ * jdk.incubator.vector}) and the platform supports sufficiently wide vectors,
+ * the returned implementations use the Vector API. Otherwise, they fall back
+ * to the scalar core implementations.
+ */
+
+public final class SerialBatches
+{
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+  private static final boolean VECTOR_AVAILABLE;
+
+  static {
+    VECTOR_AVAILABLE = vectorAvailable();
+  }
+
+  private SerialBatches()
+  {
+    throw new UnreachableCodeException();
+  }
+
+  private static boolean vectorAvailable()
+  {
+    final var present =
+      ModuleLayer.boot()
+        .findModule(VECTOR_MODULE)
+        .isPresent();
+
+    if (!present) {
+      return false;
+    }
+    return SerialBatchVectorInt.isUseful() && SerialBatchVectorLong.isUseful();
+  }
+
+  /**
+   * @return {@code true} if the Vector API is available and will be used
+   */
+
+  public static boolean isVectorAvailable()
+  {
+    return VECTOR_AVAILABLE;
+  }
+
+  /**
+   * Obtain a batch implementation for the given serial number arithmetic,
+   * using the Vector API if it is available.
+   *
+   * @param serial The serial number arithmetic
+   *
+   * @return A batch implementation
+   */
+
+  public static SerialBatchIntType ofInt(
+    final SerialNumberIntType serial)
+  {
+    if (VECTOR_AVAILABLE) {
+      return new SerialBatchVectorInt(serial);
+    }
+    return scalarOfInt(serial);
+  }
+
+  /**
+   * Obtain a batch implementation for the given serial number arithmetic,
+   * using the Vector API if it is available.
+   *
+   * @param serial The serial number arithmetic
+   *
+   * @return A batch implementation
+   */
+
+  public static SerialBatchLongType ofLong(
+    final SerialNumberLongType serial)
+  {
+    if (VECTOR_AVAILABLE) {
+      return new SerialBatchVectorLong(serial);
+    }
+    return scalarOfLong(serial);
+  }
+
+  /**
+   * Obtain a batch implementation for the given serial number arithmetic
+   * that never uses the Vector API.
+   *
+   * @param serial The serial number arithmetic
+   *
+   * @return A batch implementation
+   */
+
+  public static SerialBatchIntType scalarOfInt(
+    final SerialNumberIntType serial)
+  {
+    return new SerialBatchScalarInt(serial);
+  }
+
+  /**
+   * Obtain a batch implementation for the given serial number arithmetic
+   * that never uses the Vector API.
+   *
+   * @param serial The serial number arithmetic
+   *
+   * @return A batch implementation
+   */
+
+  public static SerialBatchLongType scalarOfLong(
+    final SerialNumberLongType serial)
+  {
+    return new SerialBatchScalarLong(serial);
+  }
+}